@@ -0,0 +1,121 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    adaptive concurrency limit 부하 테스트
+    서버는 capacity 건만 동시에 처리(injectedLatency)하고 나머지는 대기시키므로 동시 호출이 늘수록 응답 시간이 길어진다
+    concurrency 개의 virtual thread 가 동시에 getTest 를 호출하고 모두 끝날 때까지의 시간(= 가장 느린 호출)을 측정한다
+    - limiter=false : 모든 호출이 서버 대기열에 쌓여 꼬리 지연이 concurrency / capacity * injectedLatency 까지 늘어난다
+    - limiter=true  : limit 을 초과한 호출은 바로 거부(rejected)되고 성공한 호출의 지연은 injectedLatency 근처로 유지된다
+    overSlo = slo 를 넘긴 성공 호출 수 (overSlo / success 가 1% 미만이면 p99 가 slo 이내)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class AdaptiveConcurrencyBenchmark {
+
+    @Param({ApiCallers.FEIGN_CLIENT, ApiCallers.HTTP_INTERFACE})
+    public String client;
+
+    @Param({"false", "true"})
+    public boolean limiter;
+
+    @Param({"aimd", "vegas", "gradient"})
+    public String algorithm;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    @Param({"32"})
+    public int capacity;
+
+    @Param({"20ms"})
+    public String injectedLatency;
+
+    @Param({"100"})
+    public long sloMillis;
+
+    private ConfigurableApplicationContext context;
+    private ApiCaller caller;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--adaptive-concurrency.enabled=" + limiter,
+            "--adaptive-concurrency.algorithm=" + algorithm,
+            "--test-controller.injected-latency=" + injectedLatency,
+            "--test-controller.capacity=" + capacity,
+            // 고정 limit(bulkhead) 이 먼저 거부하지 않도록 한다
+            "--spring.cloud.openfeign.client.config.test.bulkhead.max-concurrent-calls=" + concurrency,
+            "--http-interface.config.test.bulkhead.max-concurrent-calls=" + concurrency);
+        caller = ApiCallers.create(client, context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void overload(Calls calls) {
+        long sloNanos = TimeUnit.MILLISECONDS.toNanos(sloMillis);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                // single-flight 로 합쳐지지 않도록 username 을 모두 다르게 한다
+                String username = "user-" + sequence.incrementAndGet();
+                executor.execute(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        caller.getTest(username);
+                        calls.success(System.nanoTime() - start > sloNanos);
+                    } catch (RuntimeException e) {
+                        calls.rejected();
+                    }
+                });
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+
+        public long success;
+        public long overSlo;
+        public long rejected;
+
+        synchronized void success(boolean slow) {
+            success++;
+            if (slow) {
+                overSlo++;
+            }
+        }
+
+        synchronized void rejected() {
+            rejected++;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+
+/*
+    TestController 의 4가지 API 를 클라이언트 종류와 상관없이 동일한 형태로 호출하기 위한 인터페이스
+*/
+public interface ApiCaller {
+
+    String getTest(String username);
+
+    String postTest(PostTestRequest request);
+
+    String postTest2(String username, String password);
+
+    String postTest3(byte[] file, String username, String password);
+}
@@ -0,0 +1,206 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.http_interface.TestHttpInterface;
+import com.sweettracker.apicallexample.open_feign.TestFeignClient;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+public final class ApiCallers {
+
+    public static final String REST_CLIENT = "restClient";
+    public static final String WEB_CLIENT = "webClient";
+    public static final String FEIGN_CLIENT = "feignClient";
+    public static final String HTTP_INTERFACE = "httpInterface";
+
+    private ApiCallers() {
+    }
+
+    public static ApiCaller create(String client, ApplicationContext context) {
+        return switch (client) {
+            // feignClient, httpInterface 와 같이 재시도, 캐시, 로그, metrics 등이 적용된 빈으로 비교한다
+            case REST_CLIENT -> new RestClientCaller(context.getBean("testRestClient", RestClient.class));
+            case WEB_CLIENT -> new WebClientCaller(context.getBean("testWebClient", WebClient.class));
+            case FEIGN_CLIENT -> new FeignClientCaller(context.getBean(TestFeignClient.class));
+            case HTTP_INTERFACE -> new HttpInterfaceCaller(context.getBean(TestHttpInterface.class));
+            default -> throw new IllegalArgumentException("지원하지 않는 클라이언트 입니다: " + client);
+        };
+    }
+
+    static Resource fileResource(byte[] file) {
+        return new ByteArrayResource(file) {
+            @Override
+            public String getFilename() {
+                return "file.txt";
+            }
+        };
+    }
+
+    static MockMultipartFile multipartFile(byte[] file) {
+        return new MockMultipartFile("file", "file.txt", "text/plain", file);
+    }
+
+    record RestClientCaller(RestClient restClient) implements ApiCaller {
+
+        @Override
+        public String getTest(String username) {
+            return restClient.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/test")
+                    .queryParam("username", username)
+                    .build())
+                .retrieve()
+                .body(String.class);
+        }
+
+        @Override
+        public String postTest(PostTestRequest request) {
+            return restClient.post()
+                .uri("/test/request-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(String.class);
+        }
+
+        @Override
+        public String postTest2(String username, String password) {
+            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+            formData.add("username", username);
+            formData.add("password", password);
+
+            return restClient.post()
+                .uri("/test/form-data")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(formData)
+                .retrieve()
+                .body(String.class);
+        }
+
+        @Override
+        public String postTest3(byte[] file, String username, String password) {
+            MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
+            formData.add("username", username);
+            formData.add("password", password);
+            formData.add("file", fileResource(file));
+
+            return restClient.post()
+                .uri("/test/multi-part")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(formData)
+                .retrieve()
+                .body(String.class);
+        }
+    }
+
+    record WebClientCaller(WebClient webClient) implements ApiCaller {
+
+        @Override
+        public String getTest(String username) {
+            return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/test")
+                    .queryParam("username", username)
+                    .build())
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+        }
+
+        @Override
+        public String postTest(PostTestRequest request) {
+            return webClient.post()
+                .uri("/test/request-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+        }
+
+        @Override
+        public String postTest2(String username, String password) {
+            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+            formData.add("username", username);
+            formData.add("password", password);
+
+            return webClient.post()
+                .uri("/test/form-data")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(formData))
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+        }
+
+        @Override
+        public String postTest3(byte[] file, String username, String password) {
+            MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
+            formData.add("username", username);
+            formData.add("password", password);
+            formData.add("file", fileResource(file));
+
+            return webClient.post()
+                .uri("/test/multi-part")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(formData))
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+        }
+    }
+
+    record FeignClientCaller(TestFeignClient testFeignClient) implements ApiCaller {
+
+        @Override
+        public String getTest(String username) {
+            return testFeignClient.getTest(username);
+        }
+
+        @Override
+        public String postTest(PostTestRequest request) {
+            return testFeignClient.postTest(request);
+        }
+
+        @Override
+        public String postTest2(String username, String password) {
+            return testFeignClient.postTest2(username, password);
+        }
+
+        @Override
+        public String postTest3(byte[] file, String username, String password) {
+            return testFeignClient.postTest3(multipartFile(file), username, password);
+        }
+    }
+
+    record HttpInterfaceCaller(TestHttpInterface testHttpInterface) implements ApiCaller {
+
+        @Override
+        public String getTest(String username) {
+            return testHttpInterface.getTest(username);
+        }
+
+        @Override
+        public String postTest(PostTestRequest request) {
+            return testHttpInterface.postTest(request);
+        }
+
+        @Override
+        public String postTest2(String username, String password) {
+            return testHttpInterface.postTest2(username, password);
+        }
+
+        @Override
+        public String postTest3(byte[] file, String username, String password) {
+            return testHttpInterface.postTest3(multipartFile(file), username, password);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.http_interface.TestHttpInterface;
+import com.sweettracker.apicallexample.open_feign.TestFeignAsyncClient;
+import com.sweettracker.apicallexample.open_feign.TestFeignClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    blocking vs non-blocking 반환 타입 처리량 비교 (초당 성공 호출 수)
+    /test 에 injectedLatency 만큼 지연을 주입한 뒤 한 번에 CALLS 개를 호출하고 모두 끝날 때까지 기다린다
+    처리량은 실패(bulkhead 거부, timeout 등)를 제외한 Calls.success 결과(getTest:success, ops/s)로 비교하고
+    기본 score 는 CALLS 개 묶음의 초당 반복 횟수이다
+    - feignClient       : TestFeignClient (String), threads 개의 platform thread 에서 호출한다
+    - feignAsync        : TestFeignAsyncClient (CompletableFuture), 벤치마크 스레드 하나에서 모두 요청한 뒤 기다린다
+    - httpInterface     : TestHttpInterface (String), threads 개의 platform thread 에서 호출한다
+    - httpInterfaceMono : TestHttpInterface (Mono), 벤치마크 스레드 하나에서 모두 subscribe 한 뒤 기다린다
+    blocking 클라이언트는 동시 호출 수가 threads 로 제한되므로 처리량이 대략 threads / injectedLatency 에서 멈추고
+    non-blocking 클라이언트는 호출 스레드 수와 상관없이 CALLS 개가 동시에 요청된다
+    서버가 처리량을 제한하지 않도록 reactive 서버 모드(TestRouter)로 실행하며 bulkhead, 커넥션 풀은 CALLS 까지 늘린다
+    (http interface 는 test 클라이언트의 pool 설정이 default 를 덮어쓰므로 test 의 pool 을 늘린다)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class AsyncClientBenchmark {
+
+    private static final int CALLS = 1000;
+
+    @Param({"feignClient", "feignAsync", "httpInterface", "httpInterfaceMono"})
+    public String client;
+
+    @Param({"8"})
+    public int threads;
+
+    @Param({"20ms"})
+    public String injectedLatency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService executor;
+    private Function<String, String> blockingCall;
+    private Function<String, CompletableFuture<String>> futureCall;
+    private Function<String, Mono<String>> monoCall;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--spring.profiles.active=reactive",
+            "--test-controller.injected-latency=" + injectedLatency,
+            // 같은 username 호출이 합쳐지지 않도록 한다
+            "--single-flight.enabled=false",
+            "--spring.cloud.openfeign.client.config.test.bulkhead.max-concurrent-calls=" + CALLS,
+            "--spring.cloud.openfeign.client.config.test.pool.max-total=" + CALLS,
+            "--spring.cloud.openfeign.client.config.test.pool.max-per-route=" + CALLS,
+            "--http-interface.config.test.bulkhead.max-concurrent-calls=" + CALLS,
+            "--http-interface.config.test.pool.max-connections=" + CALLS,
+            "--http-interface.config.test.pool.pending-acquire-max-count=" + CALLS);
+        switch (client) {
+            case "feignClient" -> blockingCall = context.getBean(TestFeignClient.class)::getTest;
+            case "feignAsync" -> futureCall = context.getBean(TestFeignAsyncClient.class)::getTest;
+            case "httpInterface" -> blockingCall = context.getBean(TestHttpInterface.class)::getTest;
+            case "httpInterfaceMono" -> monoCall = context.getBean(TestHttpInterface.class)::getTestAsync;
+            default -> throw new IllegalArgumentException("지원하지 않는 클라이언트 입니다: " + client);
+        }
+        executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("caller-", 0).factory());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void getTest(Calls calls) {
+        if (blockingCall != null) {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[CALLS];
+            for (int i = 0; i < CALLS; i++) {
+                String username = "user" + i;
+                futures[i] = CompletableFuture.runAsync(
+                    () -> count(calls, () -> blockingCall.apply(username)), executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        } else if (futureCall != null) {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[CALLS];
+            for (int i = 0; i < CALLS; i++) {
+                futures[i] = futureCall.apply("user" + i).handle((response, error) -> {
+                    if (error != null) {
+                        calls.failure();
+                    } else {
+                        calls.success();
+                    }
+                    return null;
+                });
+            }
+            CompletableFuture.allOf(futures).join();
+        } else {
+            Flux.range(0, CALLS)
+                .flatMap(i -> monoCall.apply("user" + i)
+                    .doOnNext(response -> calls.success())
+                    .onErrorResume(e -> {
+                        calls.failure();
+                        return Mono.empty();
+                    }), CALLS)
+                .then()
+                .block();
+        }
+    }
+
+    private static void count(Calls calls, Runnable call) {
+        try {
+            call.run();
+            calls.success();
+        } catch (RuntimeException e) {
+            calls.failure();
+        }
+    }
+
+    // 호출 결과 집계 (success 가 초당 성공 호출 수, failure 는 bulkhead 거부, timeout 등 실패 건수)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+
+        public long success;
+        public long failure;
+
+        synchronized void success() {
+            success++;
+        }
+
+        synchronized void failure() {
+            failure++;
+        }
+    }
+}
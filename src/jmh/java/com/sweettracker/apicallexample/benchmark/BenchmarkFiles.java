@@ -0,0 +1,32 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class BenchmarkFiles {
+
+    public static final int MB = 1024 * 1024;
+
+    private BenchmarkFiles() {
+    }
+
+    // 1MB 임의 데이터를 sizeMb 번 기록한다
+    public static Path create(Path path, int sizeMb) throws IOException {
+        byte[] block = new byte[MB];
+        ThreadLocalRandom.current().nextBytes(block);
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < sizeMb; i++) {
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.ApiCallExampleApplication;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    벤치마크용 ApiCallExampleApplication 실행기
+    클라이언트 빈(feignClient, httpInterface)이 생성 시점에 서버 주소를 알아야 하므로
+    빈 포트를 먼저 잡은 뒤 server.port 와 api.test.url 을 함께 넘겨준다
+*/
+public final class BenchmarkServer {
+
+    private BenchmarkServer() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(List.of(
+            "--server.port=" + port,
+            "--api.test.url=http://localhost:" + port,
+            "--logging.level.root=WARN",
+            "--spring.main.banner-mode=off"
+        ));
+        arguments.addAll(Arrays.asList(args));
+
+        return new SpringApplicationBuilder(ApiCallExampleApplication.class)
+            .logStartupInfo(false)
+            .run(arguments.toArray(String[]::new));
+    }
+
+    public static String baseUrl(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("api.test.url");
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    동일한 TestController API 를 4가지 클라이언트로 호출했을 때의 비용 비교
+    - Throughput : 초당 호출 수
+    - SampleTime : p0.50 / p0.99 / p0.999 응답 시간
+    - gc 프로파일러(build.gradle jmh 설정) : gc.alloc.rate.norm = 호출당 할당 바이트
+    서버와 클라이언트가 같은 JVM 에서 동작하므로 절대값보다는 클라이언트 간 상대 비교용으로 사용한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class ClientBenchmark {
+
+    @Param({
+        ApiCallers.REST_CLIENT,
+        ApiCallers.WEB_CLIENT,
+        ApiCallers.FEIGN_CLIENT,
+        ApiCallers.HTTP_INTERFACE
+    })
+    public String client;
+
+    @Param({"1024"})
+    public int fileSize;
+
+    private ConfigurableApplicationContext context;
+    private ApiCaller caller;
+    private PostTestRequest request;
+    private byte[] file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start();
+        caller = ApiCallers.create(client, context);
+        request = PostTestRequest.builder()
+            .username("test")
+            .password("1234")
+            .build();
+        file = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getTest() {
+        return caller.getTest("12345");
+    }
+
+    @Benchmark
+    public String postRequestBody() {
+        return caller.postTest(request);
+    }
+
+    @Benchmark
+    public String postFormData() {
+        return caller.postTest2("test", "1234");
+    }
+
+    @Benchmark
+    public String postMultiPart() {
+        return caller.postTest3(file, "test", "1234");
+    }
+}
@@ -0,0 +1,95 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.common.compression.ContentCodings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+    요청/응답 body 압축의 CPU 비용 vs 전송 바이트 (payload 크기별)
+    - compress   : 요청 body 압축 (클라이언트 CPU)
+    - decompress : 응답 body 해제 (클라이언트 CPU)
+    전송되는 body 크기(압축 후 크기)는 trial 시작 시 출력한다 (identity 는 원본 크기)
+    payload 는 PostTestRequest 배열 형태의 JSON 이다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"512", "4096", "65536", "1048576"})
+    public int payloadBytes;
+
+    @Param({ContentCodings.IDENTITY, ContentCodings.GZIP, ContentCodings.ZSTD})
+    public String encoding;
+
+    private byte[] payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (ContentCodings.ZSTD.equals(encoding) && !ContentCodings.isZstdAvailable()) {
+            throw new IllegalStateException("zstd native 라이브러리를 사용할 수 없는 환경입니다.");
+        }
+        payload = json(payloadBytes);
+        encoded = encode(payload);
+        System.out.printf("%n[%s %dB] wire bytes: %d (%.1f%%)%n",
+            encoding, payload.length, encoded.length, encoded.length * 100.0 / payload.length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        return encode(payload);
+    }
+
+    @Benchmark
+    public void decompress(Blackhole blackhole) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream in = ContentCodings.decode(encoding, new ByteArrayInputStream(encoded))) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                blackhole.consume(read);
+            }
+        }
+    }
+
+    private byte[] encode(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream encoder = ContentCodings.encode(encoding, -1, out)) {
+            encoder.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] json(int size) {
+        StringBuilder builder = new StringBuilder(size + 64).append('[');
+        for (int i = 0; builder.length() < size - 1; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"username\":\"user-").append(i).append("\",\"password\":\"pw-")
+                .append(Integer.toHexString(i * 31 + 7)).append("\"}");
+        }
+        builder.setLength(Math.min(builder.length(), size - 1));
+        return builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.common.logging.ExchangeLogProperties;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger.Direction;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+/*
+    요청 스레드가 로그 한 건에 쓰는 시간 (8개 스레드 동시 기록)
+    - sync     : 요청 스레드에서 문자열을 만들고 slf4j 로 바로 기록 (console appender lock 경쟁)
+    - exchange : ExchangeLogger (sample, 초당 제한 확인 + ring buffer slot 선점)
+    sampleRate=1.0 은 모든 요청이 ring buffer 에 들어가는 경우, 0.01 은 운영 기본값
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class ExchangeLoggerBenchmark {
+
+    private static final Logger SYNC_LOGGER = LoggerFactory.getLogger("exchange.sync");
+
+    @Param({"1.0", "0.01"})
+    public double sampleRate;
+
+    private ExchangeLogger exchangeLogger;
+    private HttpHeaders headers;
+
+    @Setup
+    public void setUp() {
+        ExchangeLogProperties properties = new ExchangeLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setPermitsPerSecond(Integer.MAX_VALUE);
+        exchangeLogger = new ExchangeLogger(properties);
+        headers = new HttpHeaders();
+        headers.add("key", "val");
+        headers.add("Accept", "application/json");
+    }
+
+    @TearDown
+    public void tearDown() {
+        exchangeLogger.destroy();
+    }
+
+    @Benchmark
+    public void sync() {
+        SYNC_LOGGER.info("OUTBOUND feignClient GET /test?username=12345 status=200 duration={}ms headers={}",
+            1.5, headers);
+    }
+
+    @Benchmark
+    public void exchange() {
+        if (exchangeLogger.isSampled(false)) {
+            exchangeLogger.exchange(Direction.OUTBOUND, "feignClient", "GET", "/test?username=12345", 200,
+                1_500_000, headers, null, null);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    실패 호출(GET /test 400) 1건당 비용 : stack trace 수집(stackTrace=true) vs stackless(false)
+    - gc.alloc.rate.norm : 실패 호출당 할당 바이트
+    - 4가지 클라이언트 모두 ApiCallException 으로 변환된다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class FailedCallBenchmark {
+
+    @Param({
+        ApiCallers.REST_CLIENT,
+        ApiCallers.WEB_CLIENT,
+        ApiCallers.FEIGN_CLIENT,
+        ApiCallers.HTTP_INTERFACE
+    })
+    public String client;
+
+    @Param({"false", "true"})
+    public boolean stackTrace;
+
+    private ConfigurableApplicationContext context;
+    private ApiCaller caller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start("--api-call-exception.stack-trace=" + stackTrace);
+        caller = ApiCallers.create(client, context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ApiCallException getTestError() {
+        try {
+            caller.getTest(null);
+        } catch (ApiCallException e) {
+            return e;
+        }
+        throw new IllegalStateException("에러 응답이 예외로 변환되지 않았습니다.");
+    }
+}
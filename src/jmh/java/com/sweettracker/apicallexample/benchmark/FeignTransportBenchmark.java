@@ -0,0 +1,57 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.open_feign.TestFeignClient;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    TestFeignClient.getTest 의 transport 비교
+    - pooled=false : feign 기본 HttpURLConnection 클라이언트
+    - pooled=true  : Apache HttpClient 5 커넥션 풀 (PooledFeignClient)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(32)
+@Fork(1)
+public class FeignTransportBenchmark {
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private ConfigurableApplicationContext context;
+    private TestFeignClient testFeignClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--spring.cloud.openfeign.client.config.test.pool.enabled=" + pooled);
+        testFeignClient = context.getBean(TestFeignClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getTest() {
+        return testFeignClient.getTest("12345");
+    }
+}
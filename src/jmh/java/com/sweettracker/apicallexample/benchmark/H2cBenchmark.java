@@ -0,0 +1,126 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.benchmark.ApiCallers.RestClientCaller;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+/*
+    HTTP/1.1 vs h2c 높은 동시성에서의 처리량과 서버 커넥션 수
+    concurrency 개의 virtual thread 가 동시에 getTest 를 호출하고 모두 끝날 때까지의 시간을 측정한다
+    - h2c=false : 동시 호출마다 커넥션이 필요하다 (클라이언트 풀 크기까지)
+    - h2c=true  : 몇 개의 커넥션에 stream 으로 multiplexing 한다
+    서버 커넥션 수는 tomcat.connections.current 의 최대값이며 trial 종료 시 출력한다
+    restClient 는 RestClientConfig 의 빈(JDK HttpClient)을 사용한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class H2cBenchmark {
+
+    @Param({ApiCallers.REST_CLIENT, ApiCallers.FEIGN_CLIENT, ApiCallers.HTTP_INTERFACE})
+    public String client;
+
+    @Param({"false", "true"})
+    public boolean h2c;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    @Param({"20ms"})
+    public String injectedLatency;
+
+    private ConfigurableApplicationContext context;
+    private ApiCaller caller;
+    private MeterRegistry meterRegistry;
+    private long peakConnections;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--h2c.enabled=" + h2c,
+            "--test-controller.injected-latency=" + injectedLatency,
+            // tomcat.connections.current 게이지 등록
+            "--server.tomcat.mbeanregistry.enabled=true",
+            "--server.tomcat.threads.max=" + concurrency,
+            // 동시 호출이 single-flight 로 합쳐지거나 bulkhead 에서 거부되지 않도록 한다
+            "--single-flight.enabled=false",
+            "--spring.cloud.openfeign.client.config.test.bulkhead.max-concurrent-calls=" + concurrency,
+            "--spring.cloud.openfeign.client.config.test.pool.max-total=" + concurrency,
+            "--spring.cloud.openfeign.client.config.test.pool.max-per-route=" + concurrency,
+            "--http-interface.config.test.bulkhead.max-concurrent-calls=" + concurrency,
+            "--http-interface.config.default.pool.max-connections=" + concurrency);
+        caller = ApiCallers.REST_CLIENT.equals(client)
+            ? new RestClientCaller(context.getBean(RestClient.class))
+            : ApiCallers.create(client, context);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        peakConnections = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%s h2c=%s] tomcat connections peak: %d%n", client, h2c, peakConnections);
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentGetTest(Calls calls) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    try {
+                        caller.getTest("12345");
+                        calls.success();
+                    } catch (RuntimeException e) {
+                        calls.failure();
+                    }
+                });
+            }
+        }
+        // keep-alive 커넥션은 유지되므로 호출 묶음이 끝난 뒤의 값으로 사용한 커넥션 수를 확인한다
+        peakConnections = Math.max(peakConnections, currentConnections());
+    }
+
+    private long currentConnections() {
+        Gauge gauge = meterRegistry.find("tomcat.connections.current").gauge();
+        return gauge == null ? 0 : (long) gauge.value();
+    }
+
+    // 호출 결과 집계 (HTTP/2 stream 제한, pending acquire 초과 등 실패 건수 확인용)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+
+        public long success;
+        public long failure;
+
+        synchronized void success() {
+            success++;
+        }
+
+        synchronized void failure() {
+            failure++;
+        }
+    }
+}
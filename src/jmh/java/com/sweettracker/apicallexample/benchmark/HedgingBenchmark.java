@@ -0,0 +1,88 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.http_interface.TestHttpInterface;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+/*
+    hedging tail latency 테스트
+    서버는 slowRatio 비율의 요청만 slowLatency 만큼 지연시키고 나머지는 injectedLatency 로 응답한다
+    SampleTime 결과의 p0.99, p0.999 를 비교한다
+    - hedging=false : slowRatio(2%) 만큼의 요청이 slowLatency 로 끝나므로 p99 이상이 slowLatency 가 된다
+    - hedging=true  : p95 가 지나면 두 번째 요청을 보내므로 두 요청이 모두 느린 경우(0.04%)만 slowLatency 가 된다
+    applicationContext 의 restClient, testHttpInterface 빈을 사용한다 (hedging 설정이 적용된 클라이언트)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class HedgingBenchmark {
+
+    @Param({ApiCallers.REST_CLIENT, ApiCallers.HTTP_INTERFACE})
+    public String client;
+
+    @Param({"false", "true"})
+    public boolean hedging;
+
+    @Param({"5ms"})
+    public String injectedLatency;
+
+    @Param({"0.02"})
+    public double slowRatio;
+
+    @Param({"200ms"})
+    public String slowLatency;
+
+    private ConfigurableApplicationContext context;
+    private Function<String, String> getTest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--hedging.enabled=" + hedging,
+            "--single-flight.enabled=false",
+            "--test-controller.injected-latency=" + injectedLatency,
+            "--test-controller.slow-ratio=" + slowRatio,
+            "--test-controller.slow-latency=" + slowLatency);
+        getTest = switch (client) {
+            case ApiCallers.REST_CLIENT -> {
+                RestClient restClient = context.getBean(RestClient.class);
+                yield username -> restClient.get()
+                    .uri("/test?username={username}", username)
+                    .retrieve()
+                    .body(String.class);
+            }
+            case ApiCallers.HTTP_INTERFACE -> context.getBean(TestHttpInterface.class)::getTest;
+            default -> throw new IllegalArgumentException("지원하지 않는 클라이언트 입니다: " + client);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getTest() {
+        return getTest.apply("12345");
+    }
+}
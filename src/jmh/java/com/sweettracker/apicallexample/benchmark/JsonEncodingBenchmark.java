@@ -0,0 +1,139 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweettracker.apicallexample.common.serialization.PooledJsonProperties;
+import com.sweettracker.apicallexample.common.serialization.PooledJsonWriter;
+import com.sweettracker.apicallexample.open_feign.PooledJsonFeignEncoder;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import feign.form.spring.SpringFormEncoder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.FeignEncoderProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+/*
+    요청 body JSON 직렬화의 호출당 할당량 (./gradlew jmh 의 gc 프로파일러 gc.alloc.rate.norm 으로 비교한다)
+    - feign*      : RequestTemplate 에 body 를 인코딩 (spring : SpringEncoder, pooled : PooledJsonFeignEncoder)
+    - restClient* : converter 로 요청 body 출력 stream 에 직렬화 (spring : 기본 ObjectMapper, pooled : PooledJsonWriter 의 ObjectMapper)
+    thread=virtual 은 호출마다 새 virtual thread 에서 직렬화한다 (spring.threads.virtual.enabled=true 인 경우)
+    ThreadLocal buffer 를 재사용하지 못하는 차이를 보기 위한 것이며 두 방식 모두 virtual thread 생성 비용이 포함된다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonEncodingBenchmark {
+
+    @Param({"1", "100"})
+    public int items;
+
+    @Param({"platform", "virtual"})
+    public String thread;
+
+    private Object body;
+    private Type bodyType;
+    private Encoder springEncoder;
+    private Encoder pooledEncoder;
+    private MappingJackson2HttpMessageConverter springConverter;
+    private MappingJackson2HttpMessageConverter pooledConverter;
+
+    @Setup
+    public void setUp() {
+        List<PostTestRequest> requests = IntStream.range(0, items)
+            .mapToObj(i -> PostTestRequest.builder()
+                .username("user-" + i)
+                .password("pw-" + Integer.toHexString(i * 31 + 7))
+                .build())
+            .toList();
+        body = items == 1 ? requests.getFirst() : requests;
+        bodyType = body.getClass();
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        HttpMessageConverters messageConverters = new HttpMessageConverters(
+            new MappingJackson2HttpMessageConverter(objectMapper));
+        springEncoder = new SpringEncoder(new SpringFormEncoder(), () -> messageConverters,
+            new FeignEncoderProperties(),
+            new DefaultListableBeanFactory().getBeanProvider(HttpMessageConverterCustomizer.class));
+        PooledJsonWriter pooledJsonWriter = new PooledJsonWriter(objectMapper, new PooledJsonProperties());
+        pooledEncoder = new PooledJsonFeignEncoder(springEncoder, pooledJsonWriter);
+
+        springConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        pooledConverter = new MappingJackson2HttpMessageConverter(pooledJsonWriter.getObjectMapper());
+    }
+
+    @Benchmark
+    public byte[] feignSpring() throws InterruptedException {
+        return run(() -> encode(springEncoder));
+    }
+
+    @Benchmark
+    public byte[] feignPooled() throws InterruptedException {
+        return run(() -> encode(pooledEncoder));
+    }
+
+    @Benchmark
+    public byte[] restClientSpring() throws InterruptedException {
+        return run(() -> write(springConverter));
+    }
+
+    @Benchmark
+    public byte[] restClientPooled() throws InterruptedException {
+        return run(() -> write(pooledConverter));
+    }
+
+    private byte[] encode(Encoder encoder) {
+        RequestTemplate template = new RequestTemplate();
+        encoder.encode(body, bodyType, template);
+        return template.body();
+    }
+
+    private byte[] write(MappingJackson2HttpMessageConverter converter) {
+        try {
+            MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+            converter.write(body, bodyType, null, outputMessage);
+            return outputMessage.getBodyAsBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] run(Encoding encoding) throws InterruptedException {
+        if (!"virtual".equals(thread)) {
+            return encoding.encode();
+        }
+        byte[][] result = new byte[1][];
+        Thread.ofVirtual().start(() -> result[0] = encoding.encode()).join();
+        return result[0];
+    }
+
+    @FunctionalInterface
+    private interface Encoding {
+
+        byte[] encode();
+    }
+}
@@ -0,0 +1,86 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.ApiCallObservationHandler;
+import com.sweettracker.apicallexample.common.metrics.UriTemplates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+/*
+    api.client.requests 기록 비용 (호출 경로에 추가되는 시간, 목표 : 1us 미만)
+    - nanoTime      : 기준값 (System.nanoTime 두 번)
+    - record        : feignClient, WebClient 경로 (Timer 조회 + HdrHistogram 기록)
+    - observation   : restClient 경로 (Observation 생성/시작/scope/종료 + URI 템플릿 조회 + record)
+    4개 스레드에서 같은 Timer 에 동시에 기록하는 경우도 함께 측정한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private ApiCallMetrics metrics;
+    private ObservationRegistry observationRegistry;
+    private MockClientHttpRequest request;
+
+    @Setup
+    public void setUp() {
+        metrics = new ApiCallMetrics(new SimpleMeterRegistry());
+        observationRegistry = ApiCallObservationHandler.registry();
+        request = new MockClientHttpRequest(HttpMethod.GET, "/test?username=12345");
+        request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+    }
+
+    @Benchmark
+    public long nanoTime() {
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public void record() {
+        long start = System.nanoTime();
+        metrics.record("feignClient", "GET", "/test", 200, System.nanoTime() - start);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        long start = System.nanoTime();
+        metrics.record("feignClient", "GET", "/test", 200, System.nanoTime() - start);
+    }
+
+    @Benchmark
+    public void observation() throws Exception {
+        ClientRequestObservationContext context = new ClientRequestObservationContext(request);
+        context.setUriTemplate("/test?username={username}");
+        Observation observation = Observation.start("http.client.requests", () -> context, observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            long start = System.nanoTime();
+            String uri = UriTemplates.path(ApiCallObservationHandler.currentUriTemplate(observationRegistry));
+            context.setResponse(request.execute());
+            metrics.record("restClient", "GET", uri, 200, System.nanoTime() - start);
+        }
+        observation.stop();
+    }
+}
@@ -0,0 +1,70 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.http_interface.SegmentedFileDownloader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+/*
+    /test/files/{filename} 다운로드 : 단일 스트림(segments=1) vs 구간 병렬 다운로드
+    파일 하나를 받는 데 걸린 시간(ms)으로 비교한다 (처리량 = fileSizeMb / 시간)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SegmentedDownloadBenchmark {
+
+    private static final String FILENAME = "download-benchmark.bin";
+
+    @Param({"1", "4", "8"})
+    public int segments;
+
+    @Param({"64", "512"})
+    public int fileSizeMb;
+
+    private ConfigurableApplicationContext context;
+    private SegmentedFileDownloader downloader;
+    private Path directory;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("download-benchmark");
+        BenchmarkFiles.create(directory.resolve(FILENAME), fileSizeMb);
+        target = Files.createTempFile("download-benchmark", ".bin");
+
+        context = BenchmarkServer.start("--test-controller.upload.directory=" + directory);
+        downloader = context.getBean(SegmentedFileDownloader.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public Long download() {
+        return downloader.download(FILENAME, target, segments).block();
+    }
+}
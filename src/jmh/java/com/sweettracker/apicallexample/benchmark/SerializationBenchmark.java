@@ -0,0 +1,75 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/*
+    PostTestRequest 직렬화 형식별 CPU 비용 vs 전송 바이트
+    - json  : application/json (기본)
+    - smile : application/x-jackson-smile (SmileConfig)
+    items=1 은 /test/request-body 단건, 100 은 /test/request-body/batch 한 번 분량이다
+    직렬화된 body 크기는 trial 시작 시 출력한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<PostTestRequest>> REQUESTS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"1", "100"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private List<PostTestRequest> requests;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "smile".equals(format)
+            ? Jackson2ObjectMapperBuilder.smile().build()
+            : Jackson2ObjectMapperBuilder.json().build();
+        requests = IntStream.range(0, items)
+            .mapToObj(i -> PostTestRequest.builder()
+                .username("user-" + i)
+                .password("pw-" + Integer.toHexString(i * 31 + 7))
+                .build())
+            .toList();
+        serialized = objectMapper.writeValueAsBytes(requests);
+        System.out.printf("%n[%s items=%d] body bytes: %d%n", format, items, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public List<PostTestRequest> deserialize() throws IOException {
+        return objectMapper.readValue(serialized, REQUESTS);
+    }
+}
@@ -0,0 +1,134 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+/*
+    servlet(Tomcat) vs reactive(Reactor Netty) 서버 모드 부하 테스트
+    /test 에 injectedLatency 만큼 지연을 주입한 뒤 concurrency 개의 호출을 동시에 실행하고 모두 끝날 때까지의 시간을 측정한다
+    - tomcat         : TestController, 요청 스레드(threads.max=200)가 지연 동안 스레드를 잡고 있다
+    - tomcat-virtual : TestController, spring.threads.virtual.enabled=true (요청마다 virtual thread)
+    - netty          : TestRouter (spring.profiles.active=reactive), 지연 동안 스레드를 잡지 않는다
+    호출 스레드는 모두 virtual thread 이며 RestClient 빈(JDK HttpClient)으로 호출한다
+    서버와 클라이언트가 같은 JVM 이므로 heap 사용량, 스레드 수는 클라이언트를 포함한 값이며 trial 종료 시 최대값을 출력한다
+    (클라이언트 설정은 모든 모드가 같으므로 차이는 서버 모드에 따른 것이다)
+    [ CAUTION ]
+    동시 커넥션이 10k 이상 열리므로 실행 전 ulimit -n 을 충분히 늘려야 한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 20)
+@Measurement(iterations = 3, time = 30)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ServerModeBenchmark {
+
+    @Param({"tomcat", "tomcat-virtual", "netty"})
+    public String server;
+
+    @Param({"10000"})
+    public int concurrency;
+
+    @Param({"100ms"})
+    public String injectedLatency;
+
+    private ConfigurableApplicationContext context;
+    private RestClient restClient;
+    private Duration latency;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long peakHeapUsed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.threads.virtual.enabled=" + "tomcat-virtual".equals(server),
+            "--test-controller.injected-latency=" + injectedLatency));
+        if ("netty".equals(server)) {
+            args.add("--spring.profiles.active=reactive");
+        }
+        context = BenchmarkServer.start(args.toArray(String[]::new));
+        latency = DurationStyle.detectAndParse(injectedLatency);
+        restClient = context.getBean(RestClient.class);
+        peakHeapUsed = 0;
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%s] heap used peak: %dMB, platform threads peak: %d%n",
+            server, peakHeapUsed / (1024 * 1024), threads.getPeakThreadCount());
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentGetTest(Calls calls) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    try {
+                        restClient.get()
+                            .uri("/test?username={username}", "12345")
+                            .retrieve()
+                            .body(String.class);
+                        calls.success();
+                    } catch (RuntimeException e) {
+                        calls.failure();
+                    }
+                });
+            }
+            // 모든 호출이 요청 처리 중인 시점의 사용량을 보기 위해 지연 시간 중간에 측정한다
+            sleep(latency.dividedBy(2));
+            peakHeapUsed = Math.max(peakHeapUsed, memory.getHeapMemoryUsage().getUsed());
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 호출 결과 집계 (timeout, connection refused 등 실패 건수 확인용)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+
+        public long success;
+        public long failure;
+
+        synchronized void success() {
+            success++;
+        }
+
+        synchronized void failure() {
+            failure++;
+        }
+    }
+}
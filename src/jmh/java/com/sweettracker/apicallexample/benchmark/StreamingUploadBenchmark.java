@@ -0,0 +1,92 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import com.sweettracker.apicallexample.http_interface.WebClientFileUploader;
+import com.sweettracker.apicallexample.rest_client.RestClientFileUploader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    스트리밍 업로드(클라이언트 전송 + /test/multi-part/stream 서버 처리)의 파일 크기별 heap 사용량 확인
+    -Xmx256m 으로 실행하므로 파일 전체를 메모리에 올리는 구현이라면 1GB 업로드에서 OutOfMemoryError 가 발생한다
+    iteration 마다 heap peak 사용량을 출력하며 파일 크기가 커져도 일정해야 한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class StreamingUploadBenchmark {
+
+    @Param({ApiCallers.WEB_CLIENT, ApiCallers.REST_CLIENT})
+    public String client;
+
+    @Param({"1", "16", "256", "1024"})
+    public int fileSizeMb;
+
+    private ConfigurableApplicationContext context;
+    private WebClientFileUploader webClientFileUploader;
+    private RestClientFileUploader restClientFileUploader;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkServer.start();
+        webClientFileUploader = context.getBean(WebClientFileUploader.class);
+        restClientFileUploader = context.getBean(RestClientFileUploader.class);
+        file = BenchmarkFiles.create(Files.createTempFile("upload-benchmark", ".bin"), fileSizeMb);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long peak = heapPools().stream()
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+        System.out.printf("%n[%s %dMB] heap peak used: %dMB%n", client, fileSizeMb, peak / BenchmarkFiles.MB);
+    }
+
+    @Benchmark
+    public String upload() {
+        if (ApiCallers.WEB_CLIENT.equals(client)) {
+            return webClientFileUploader.upload(file, "test", "1234").block();
+        }
+        return restClientFileUploader.upload(file, "test", "1234");
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+    thundering herd : concurrency 개의 virtual thread 가 같은 username 으로 동시에 getTest 를 호출
+    - coalescing=false : 호출 수만큼 서버 요청이 발생한다
+    - coalescing=true  : @Coalesced 로 동시 호출이 합쳐져 서버 요청 수(downstreamRequests)가 줄어든다
+    downstreamRequests = 서버 http.server.requests{uri=/test} 증가량 / 호출 묶음 1회
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ThunderingHerdBenchmark {
+
+    @Param({ApiCallers.FEIGN_CLIENT, ApiCallers.HTTP_INTERFACE})
+    public String client;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    @Param({"500"})
+    public int concurrency;
+
+    @Param({"20ms"})
+    public String injectedLatency;
+
+    private ConfigurableApplicationContext context;
+    private ApiCaller caller;
+    private MeterRegistry meterRegistry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--single-flight.enabled=" + coalescing,
+            "--test-controller.injected-latency=" + injectedLatency,
+            // coalescing=false 인 경우에도 동시 호출이 bulkhead 에서 거부되지 않도록 한다
+            "--spring.cloud.openfeign.client.config.test.bulkhead.max-concurrent-calls=" + concurrency,
+            "--http-interface.config.test.bulkhead.max-concurrent-calls=" + concurrency);
+        caller = ApiCallers.create(client, context);
+        meterRegistry = context.getBean(MeterRegistry.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void herd(Requests requests) {
+        long before = serverRequestCount();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> caller.getTest("same-user"));
+            }
+        }
+        requests.calls += concurrency;
+        requests.downstreamRequests += serverRequestCount() - before;
+    }
+
+    private long serverRequestCount() {
+        Timer timer = meterRegistry.find("http.server.requests").tag("uri", "/test").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Requests {
+
+        public long calls;
+        public long downstreamRequests;
+    }
+}
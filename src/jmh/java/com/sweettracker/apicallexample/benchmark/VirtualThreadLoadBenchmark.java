@@ -0,0 +1,104 @@
+package com.sweettracker.apicallexample.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+/*
+    platform thread vs virtual thread 부하 테스트
+    /test 에 injectedLatency 만큼 지연을 주입한 뒤 concurrency 개의 호출을 동시에 실행하고 모두 끝날 때까지의 시간을 측정한다
+    - virtualThreads=false : tomcat 요청 스레드(threads.max=200), 호출 스레드 모두 platform thread
+    - virtualThreads=true  : spring.threads.virtual.enabled=true, 호출 스레드도 virtual thread
+    [ CAUTION ]
+    동시 커넥션이 10k 이상 열리므로 실행 전 ulimit -n 을 충분히 늘려야 한다
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 20)
+@Measurement(iterations = 3, time = 30)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"10000"})
+    public int concurrency;
+
+    @Param({"100ms"})
+    public String injectedLatency;
+
+    private ConfigurableApplicationContext context;
+    private RestClient restClient;
+    private ThreadFactory threadFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start(
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--test-controller.injected-latency=" + injectedLatency);
+        restClient = context.getBean(RestClient.class);
+        threadFactory = virtualThreads
+            ? Thread.ofVirtual().name("load-", 0).factory()
+            : Thread.ofPlatform().name("load-", 0).factory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentGetTest(Calls calls) {
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(threadFactory)) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    try {
+                        restClient.get()
+                            .uri("/test?username={username}", "12345")
+                            .retrieve()
+                            .body(String.class);
+                        calls.success();
+                    } catch (RuntimeException e) {
+                        calls.failure();
+                    }
+                });
+            }
+        }
+    }
+
+    // 호출 결과 집계 (timeout, connection refused 등 실패 건수 확인용)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+
+        public long success;
+        public long failure;
+
+        synchronized void success() {
+            success++;
+        }
+
+        synchronized void failure() {
+            failure++;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.sweettracker.apicallexample;
 
+import com.sweettracker.apicallexample.open_feign.FeignClientPoolConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
-@EnableFeignClients
+@EnableFeignClients(defaultConfiguration = FeignClientPoolConfiguration.class)
+@ConfigurationPropertiesScan
 @SpringBootApplication
 public class ApiCallExampleApplication {
 
@@ -0,0 +1,129 @@
+package com.sweettracker.apicallexample.common.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+    단건 요청을 모아서 한 번에 전송한다
+    - 첫 요청이 들어온 뒤 maxDelay 가 지나거나 maxBatchSize 건이 모이면 batchCall 을 실행한다
+    - batchCall 은 executor 에서 실행되므로 전송 중에도 다음 묶음을 모은다
+    - batchCall 은 요청 순서와 같은 순서로 결과를 반환해야 하며, 각 호출자의 future 는 자신의 결과로 완료된다
+    - batchCall 자체가 실패하면 해당 묶음의 모든 future 가 같은 예외로 완료된다
+*/
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Function<List<I>, List<O>> batchCall;
+    private final Executor executor;
+    private final BlockingQueue<Pending<I, O>> queue;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public MicroBatcher(String name, int maxBatchSize, Duration maxDelay, int queueCapacity,
+        Function<List<I>, List<O>> batchCall, Executor executor) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.batchCall = batchCall;
+        this.executor = executor;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.dispatcher = Thread.ofPlatform()
+            .name("micro-batcher-" + name)
+            .daemon(true)
+            .start(this::dispatch);
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        Pending<I, O> pending = new Pending<>(item, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.future().completeExceptionally(
+                new RejectedExecutionException("batch 대기열이 가득 찼거나 종료되었습니다."));
+        }
+        return pending.future();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+    }
+
+    private void dispatch() {
+        List<Pending<I, O>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                Pending<I, O> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, System.nanoTime() + maxDelayNanos);
+                send(List.copyOf(batch));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 종료 시 남은 요청은 실패 처리한다
+        queue.drainTo(batch);
+        CancellationException cancelled = new CancellationException("batch 처리가 종료되었습니다.");
+        batch.forEach(pending -> pending.future().completeExceptionally(cancelled));
+    }
+
+    private void collect(List<Pending<I, O>> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Pending<I, O> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void send(List<Pending<I, O>> batch) {
+        try {
+            executor.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    private void execute(List<Pending<I, O>> batch) {
+        List<O> results;
+        try {
+            results = batchCall.apply(batch.stream().map(Pending::item).toList());
+            if (results.size() != batch.size()) {
+                throw new IllegalStateException(
+                    "batch 결과 건수가 요청 건수와 다릅니다. request=" + batch.size() + ", result=" + results.size());
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future().complete(results.get(i));
+        }
+    }
+
+    private record Pending<I, O>(I item, CompletableFuture<O> future) {
+
+    }
+}
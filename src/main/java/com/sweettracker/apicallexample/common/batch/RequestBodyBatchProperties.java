@@ -0,0 +1,21 @@
+package com.sweettracker.apicallexample.common.batch;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "request-body-batch")
+public class RequestBodyBatchProperties {
+
+    // 한 번에 전송할 최대 건수 (서버 최대 1000건)
+    private int maxSize = 64;
+
+    // 첫 요청 이후 다음 요청을 기다리는 최대 시간
+    private Duration maxDelay = Duration.ofNanos(500_000);
+
+    // 전송 대기 중인 최대 요청 수 (초과하면 RejectedExecutionException)
+    private int queueCapacity = 10_000;
+}
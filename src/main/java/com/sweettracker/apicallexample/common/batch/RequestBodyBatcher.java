@@ -0,0 +1,43 @@
+package com.sweettracker.apicallexample.common.batch;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.DisposableBean;
+
+/*
+    /test/request-body 단건 호출을 /test/request-body/batch 로 묶어서 전송하는 클라이언트
+    항목별 결과가 실패(4xx, 5xx)이면 해당 호출자의 future 만 ApiCallException 으로 완료된다
+    실제 호출은 하위 클래스가 각 클라이언트(httpInterface, feignClient)로 구현한다
+*/
+public abstract class RequestBodyBatcher implements DisposableBean {
+
+    private static final String PATH = "/test/request-body";
+
+    private final MicroBatcher<PostTestRequest, BatchItemResult> batcher;
+    private final ApiCallExceptionFactory apiCallExceptionFactory;
+
+    protected RequestBodyBatcher(String name, RequestBodyBatchProperties properties,
+        ApiCallExceptionFactory apiCallExceptionFactory, Executor executor) {
+        this.batcher = new MicroBatcher<>(name, properties.getMaxSize(), properties.getMaxDelay(),
+            properties.getQueueCapacity(), this::postTestBatch, executor);
+        this.apiCallExceptionFactory = apiCallExceptionFactory;
+    }
+
+    protected abstract List<BatchItemResult> postTestBatch(List<PostTestRequest> requests);
+
+    public CompletableFuture<String> postTest(PostTestRequest request) {
+        return batcher.submit(request).thenCompose(result -> result.isSuccess()
+            ? CompletableFuture.completedFuture(result.body())
+            : CompletableFuture.failedFuture(apiCallExceptionFactory.create(
+                result.body(), result.status(), PATH, result.body())));
+    }
+
+    @Override
+    public void destroy() {
+        batcher.close();
+    }
+}
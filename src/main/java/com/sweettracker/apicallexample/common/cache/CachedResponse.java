@@ -0,0 +1,23 @@
+package com.sweettracker.apicallexample.common.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/*
+    캐시된 GET 응답
+    - expiresAt 전 : 그대로 사용 (fresh)
+    - staleUntil 전 : 그대로 사용하면서 백그라운드 재검증 (stale-while-revalidate)
+    - 그 이후 : etag 가 있으면 If-None-Match 로 조건부 요청
+*/
+public record CachedResponse(
+    int status,
+    HttpHeaders headers,
+    byte[] body,
+    String etag,
+    long expiresAt,
+    long staleUntil
+) {
+
+    public CachedResponse refresh(long expiresAt, long staleUntil) {
+        return new CachedResponse(status, headers, body, etag, expiresAt, staleUntil);
+    }
+}
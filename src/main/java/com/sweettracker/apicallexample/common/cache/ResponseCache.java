@@ -0,0 +1,211 @@
+package com.sweettracker.apicallexample.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweettracker.apicallexample.common.cache.ResponseCacheProperties.Endpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/*
+    4가지 클라이언트가 공유하는 GET 응답 캐시 (response-cache.enabled=true 인 경우에만 생성)
+    - caffeine(W-TinyLFU) 으로 body 크기 기준 maximum-weight 를 넘지 않도록 제거한다
+    - endpoint 별 ttl, stale-while-revalidate 를 적용하고 서버 Cache-Control(max-age, no-store)을 함께 따른다
+    - 만료된 응답은 ETag 로 재검증하여 304 이면 body 를 다시 받지 않는다
+    - key 는 URI 와 요청의 Accept, Accept-Encoding 이다 (같은 URI 라도 JSON / Smile 응답을 따로 저장한다)
+      응답의 Vary 가 그 외의 요청 헤더를 가리키면 캐시하지 않는다
+    클라이언트별 연동 : RestClientResponseCacheInterceptor, WebClientResponseCacheFilter, CachingFeignClient
+    metrics : api.response.cache.requests{result=hit|stale|miss|not_modified}, cache.*{cache=api-response}
+*/
+@Component
+@ConditionalOnProperty(value = "response-cache.enabled", havingValue = "true")
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "api-response";
+    private static final int ENTRY_OVERHEAD = 128;
+    private static final List<String> KEY_HEADERS = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Endpoint> endpoints;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter notModifiedCounter;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumWeight().toBytes())
+            .weigher((String key, CachedResponse value) ->
+                ENTRY_OVERHEAD + key.length() + value.body().length)
+            .recordStats()
+            .build();
+        this.endpoints = properties.getEndpoints().stream()
+            .collect(Collectors.toUnmodifiableMap(Endpoint::getPath, Function.identity()));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.staleCounter = requestCounter(meterRegistry, "stale");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.notModifiedCounter = requestCounter(meterRegistry, "not_modified");
+    }
+
+    // 캐시 대상 요청이 아니면 null
+    public Lookup lookup(HttpMethod method, URI uri, HttpHeaders requestHeaders) {
+        if (!HttpMethod.GET.equals(method)) {
+            return null;
+        }
+        Endpoint endpoint = endpoints.get(uri.getPath());
+        if (endpoint == null) {
+            return null;
+        }
+
+        String key = key(uri, requestHeaders);
+        CachedResponse cached = cache.getIfPresent(key);
+        long now = System.currentTimeMillis();
+        State state;
+        if (cached != null && now < cached.expiresAt()) {
+            state = State.FRESH;
+            hitCounter.increment();
+        } else if (cached != null && now < cached.staleUntil()) {
+            state = State.STALE;
+            staleCounter.increment();
+        } else {
+            state = State.MISS;
+            missCounter.increment();
+        }
+        return new Lookup(key, endpoint, cached, state);
+    }
+
+    // 같은 key 의 백그라운드 재검증은 하나만 실행한다
+    public boolean startRevalidation(Lookup lookup) {
+        return revalidating.add(lookup.key());
+    }
+
+    public void endRevalidation(Lookup lookup) {
+        revalidating.remove(lookup.key());
+    }
+
+    /*
+        원본(또는 조건부) 요청의 응답을 반영한다
+        - 304 : 캐시된 응답의 만료 시간만 갱신하여 반환
+        - 200 : 캐시 가능하면 저장하고 응답을 반환
+        - 그 외 : null (캐시를 변경하지 않는다)
+    */
+    public CachedResponse update(Lookup lookup, int status, HttpHeaders headers, byte[] body) {
+        long now = System.currentTimeMillis();
+        if (status == HttpStatus.NOT_MODIFIED.value() && lookup.cached() != null) {
+            notModifiedCounter.increment();
+            HttpHeaders cacheHeaders = headers.getCacheControl() != null
+                ? headers : lookup.cached().headers();
+            long ttl = Math.max(0, ttlMillis(lookup.endpoint(), cacheHeaders));
+            CachedResponse refreshed = lookup.cached().refresh(now + ttl,
+                now + ttl + staleMillis(lookup.endpoint(), ttl));
+            cache.put(lookup.key(), refreshed);
+            return refreshed;
+        }
+        if (status != HttpStatus.OK.value()) {
+            return null;
+        }
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.putAll(headers);
+        responseHeaders.remove(HttpHeaders.TRANSFER_ENCODING);
+        responseHeaders.remove(HttpHeaders.CONNECTION);
+
+        long ttl = ttlMillis(lookup.endpoint(), headers);
+        long expiresAt = now + Math.max(0, ttl);
+        CachedResponse response = new CachedResponse(status,
+            HttpHeaders.readOnlyHttpHeaders(responseHeaders), body, headers.getETag(),
+            expiresAt, expiresAt + staleMillis(lookup.endpoint(), ttl));
+        // ttl 이 0 이어도 ETag 가 있으면 조건부 요청용으로 저장한다 (no-cache)
+        if ((ttl > 0 || (ttl == 0 && response.etag() != null)) && isKeyedByVary(headers)) {
+            cache.put(lookup.key(), response);
+        }
+        return response;
+    }
+
+    // URI 와 협상 헤더 값 (예 : http://host/test|application/x-jackson-smile|gzip)
+    private static String key(URI uri, HttpHeaders requestHeaders) {
+        StringBuilder key = new StringBuilder(uri.toString());
+        for (String name : KEY_HEADERS) {
+            List<String> values = requestHeaders.get(name);
+            key.append('|');
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    // Vary 가 key 에 포함되지 않은 요청 헤더(또는 *)를 가리키면 다른 요청에 같은 응답을 줄 수 있으므로 저장하지 않는다
+    private static boolean isKeyedByVary(HttpHeaders headers) {
+        for (String name : headers.getVary()) {
+            if (KEY_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // no-store : -1, no-cache : 0, max-age 가 endpoint ttl 보다 짧으면 max-age
+    private static long ttlMillis(Endpoint endpoint, HttpHeaders headers) {
+        long ttl = endpoint.getTtl().toMillis();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return ttl;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim();
+            if (value.equals("no-store")) {
+                return -1;
+            }
+            if (value.equals("no-cache")) {
+                return 0;
+            }
+            if (value.startsWith("max-age=")) {
+                try {
+                    ttl = Math.min(ttl, Long.parseLong(value.substring(8)) * 1000);
+                } catch (NumberFormatException ignored) {
+                    // 잘못된 max-age 는 무시하고 endpoint ttl 을 사용한다
+                }
+            }
+        }
+        return ttl;
+    }
+
+    // 매번 재검증해야 하는 응답(ttl 0)은 stale 응답을 사용하지 않는다
+    private static long staleMillis(Endpoint endpoint, long ttl) {
+        return ttl > 0 ? endpoint.getStaleWhileRevalidate().toMillis() : 0;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("api.response.cache.requests")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    public enum State {
+        FRESH, STALE, MISS
+    }
+
+    public record Lookup(String key, Endpoint endpoint, CachedResponse cached, State state) {
+
+        // 만료된 응답이 있으면 조건부 요청에 사용할 ETag
+        public String etag() {
+            return cached != null ? cached.etag() : null;
+        }
+    }
+}
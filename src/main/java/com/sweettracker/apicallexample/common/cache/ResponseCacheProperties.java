@@ -0,0 +1,39 @@
+package com.sweettracker.apicallexample.common.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/*
+    response-cache 설정
+    endpoints 에 등록된 path 의 GET 응답만 캐시한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = false;
+
+    // 캐시 전체 크기 (응답 body 크기 기준)
+    private DataSize maximumWeight = DataSize.ofMegabytes(10);
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+
+        private String path;
+
+        // 서버가 Cache-Control max-age 를 더 짧게 주면 서버 값을 따른다
+        private Duration ttl = Duration.ofSeconds(10);
+
+        // ttl 이 지난 뒤 이 시간 동안은 캐시된 응답을 바로 반환하고 백그라운드에서 재검증(If-None-Match)한다
+        private Duration staleWhileRevalidate = Duration.ZERO;
+    }
+}
@@ -0,0 +1,20 @@
+package com.sweettracker.apicallexample.common.coalesce;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+    클라이언트 인터페이스(feignClient, httpInterface) 메서드에 선언하면
+    같은 인자로 동시에 호출된 요청을 하나의 네트워크 호출로 합친다 (CoalescingBeanPostProcessor)
+    반환 타입이 Mono 인 경우 subscribe 단위로 합친다
+    GET 처럼 부수 효과가 없는 호출에만 선언한다
+*/
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+}
@@ -0,0 +1,136 @@
+package com.sweettracker.apicallexample.common.coalesce;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Mono;
+
+/*
+    @Coalesced 메서드가 있는 인터페이스 빈(TestFeignClient, TestHttpInterface)을 proxy 로 감싼다
+    key = 메서드(HTTP method + URL 템플릿) + 인자 값(배열은 내용 비교) 이므로 같은 URL, 같은 파라미터의 동시 호출이 합쳐진다
+    metrics : single-flight.calls (전체 호출 수), single-flight.executions (실제 네트워크 호출 수)
+    single-flight.enabled=false 로 비활성화한다
+*/
+@Component
+@ConditionalOnProperty(value = "single-flight.enabled", matchIfMissing = true)
+public class CoalescingBeanPostProcessor implements BeanPostProcessor {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Counter callCounter;
+    private volatile Counter executionCounter;
+
+    public CoalescingBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(bean);
+        Set<Method> coalescedMethods = new HashSet<>();
+        for (Class<?> type : interfaces) {
+            for (Method method : type.getMethods()) {
+                if (method.isAnnotationPresent(Coalesced.class)) {
+                    coalescedMethods.add(method);
+                }
+            }
+        }
+        if (coalescedMethods.isEmpty()) {
+            return bean;
+        }
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfaces,
+            new CoalescingInvocationHandler(bean, coalescedMethods));
+    }
+
+    // BeanPostProcessor 는 MeterRegistry 보다 먼저 생성되므로 처음 호출될 때 counter 를 등록한다
+    private void record(boolean execution) {
+        if (callCounter == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            executionCounter = Counter.builder("single-flight.executions").register(registry);
+            callCounter = Counter.builder("single-flight.calls").register(registry);
+        }
+        (execution ? executionCounter : callCounter).increment();
+    }
+
+    private final class CoalescingInvocationHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Set<Method> coalescedMethods;
+
+        private CoalescingInvocationHandler(Object target, Set<Method> coalescedMethods) {
+            this.target = target;
+            this.coalescedMethods = coalescedMethods;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!coalescedMethods.contains(method)) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            CallKey key = new CallKey(method, args);
+            Supplier<Object> call = () -> {
+                record(true);
+                return invokeTarget(method, args);
+            };
+            record(false);
+            if (Mono.class.isAssignableFrom(method.getReturnType())) {
+                return singleFlight.executeMono(key, () -> (Mono<Object>) call.get());
+            }
+            return singleFlight.execute(key, call);
+        }
+
+        private Object invokeTarget(Method method, Object[] args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new UndeclaredThrowableException(cause);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record CallKey(Method method, Object[] args) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CallKey other
+                && method.equals(other.method)
+                && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + Arrays.deepHashCode(args);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.sweettracker.apicallexample.common.coalesce;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/*
+    같은 key 로 동시에 실행 중인 호출을 하나로 합친다 (single-flight)
+    - 먼저 들어온 호출(leader)만 실제로 실행하고 나머지는 leader 의 결과(또는 예외)를 함께 받는다
+    - 호출이 끝나면 바로 in-flight map 에서 제거되므로 결과를 캐시하지 않는다
+    - in-flight map 은 putIfAbsent / remove(key, value) 만 사용한다 (key 단위 lock 없음)
+    [ CAUTION ]
+    결과 객체를 여러 호출자가 공유하므로 불변 객체를 반환하는 호출에만 사용한다
+*/
+public class SingleFlight {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> blockingCalls =
+        new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, SharedMono> reactiveCalls = new ConcurrentHashMap<>();
+
+    /*
+        blocking 호출
+        leader 가 예외로 끝나면 대기 중인 호출자도 같은 예외를 받는다
+        대기 중인 호출자가 interrupt 되면 해당 호출자만 대기를 멈추고 leader 의 호출은 계속된다
+    */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        CompletableFuture<Object> candidate = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = blockingCalls.putIfAbsent(key, candidate);
+        if (inFlight != null) {
+            return (T) await(inFlight);
+        }
+
+        try {
+            T result = call.get();
+            candidate.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            candidate.completeExceptionally(e);
+            throw e;
+        } finally {
+            blockingCalls.remove(key, candidate);
+        }
+    }
+
+    /*
+        reactive 호출
+        처음 subscribe 한 시점에 요청이 시작되고, 모든 subscriber 가 cancel 하면 요청도 cancel 된다
+        이미 완료된 결과는 replay(1) 로 늦게 합류한 subscriber 에게도 전달된다
+    */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeMono(Object key, Supplier<? extends Mono<T>> call) {
+        return Mono.defer(() -> {
+            SharedMono candidate = new SharedMono();
+            candidate.mono = Mono.defer(call)
+                .doFinally(signal -> reactiveCalls.remove(key, candidate))
+                .flux()
+                .replay(1)
+                .refCount()
+                .singleOrEmpty()
+                .cast(Object.class);
+
+            SharedMono inFlight = reactiveCalls.putIfAbsent(key, candidate);
+            return (Mono<T>) (inFlight != null ? inFlight : candidate).mono;
+        });
+    }
+
+    public int inFlightCount() {
+        return blockingCalls.size() + reactiveCalls.size();
+    }
+
+    private static Object await(CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("single-flight 대기 중 interrupt 되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class SharedMono {
+
+        private Mono<Object> mono;
+    }
+}
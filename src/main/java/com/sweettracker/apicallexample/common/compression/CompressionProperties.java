@@ -0,0 +1,34 @@
+package com.sweettracker.apicallexample.common.compression;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/*
+    client-compression 설정 (webClient, httpInterface, restClient, feignClient 공통)
+    - 요청 : mimeTypes 에 해당하고 크기가 minRequestSize 이상인 body 를 encoding 으로 압축한다 (multipart, 파일은 대상 아님)
+    - 응답 : Accept-Encoding 을 보내고 압축된 응답을 stream 으로 해제한다
+    응답 압축(TestController)은 server.compression 으로 설정한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "client-compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    // gzip, zstd (zstd 를 사용할 수 없는 환경이면 gzip)
+    private String encoding = ContentCodings.GZIP;
+
+    // gzip 1~9 (-1 : 기본값 6), zstd 1~22 (-1 : 기본값 3)
+    private int level = -1;
+
+    private DataSize minRequestSize = DataSize.ofKilobytes(2);
+
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+        "application/json", "application/*+json", "application/x-www-form-urlencoded",
+        "application/xml", "text/*"));
+}
@@ -0,0 +1,174 @@
+package com.sweettracker.apicallexample.common.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.util.ClassUtils;
+
+/*
+    Content-Encoding 별 stream 압축/해제 (gzip, zstd)
+    zstd 는 zstd-jni native 라이브러리를 읽을 수 있는 환경에서만 사용한다 (isZstdAvailable)
+*/
+public final class ContentCodings {
+
+    public static final String GZIP = "gzip";
+    public static final String X_GZIP = "x-gzip";
+    public static final String ZSTD = "zstd";
+    public static final String IDENTITY = "identity";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final boolean ZSTD_AVAILABLE = loadZstd();
+
+    private ContentCodings() {
+    }
+
+    public static boolean isZstdAvailable() {
+        return ZSTD_AVAILABLE;
+    }
+
+    // 해제할 수 있는 Content-Encoding 이면 true (없거나 identity 포함)
+    public static boolean isSupported(String contentEncoding) {
+        String coding = normalize(contentEncoding);
+        return coding == null || coding.equals(GZIP) || (coding.equals(ZSTD) && ZSTD_AVAILABLE);
+    }
+
+    // Accept-Encoding 요청 header 값
+    public static String acceptEncoding() {
+        return ZSTD_AVAILABLE ? ZSTD + ", " + GZIP : GZIP;
+    }
+
+    public static OutputStream encode(String contentEncoding, int level, OutputStream out) throws IOException {
+        String coding = normalize(contentEncoding);
+        if (coding == null) {
+            return out;
+        }
+        if (coding.equals(GZIP)) {
+            return level < 0 ? new GZIPOutputStream(out, BUFFER_SIZE) : new LeveledGzipOutputStream(out, level);
+        }
+        if (coding.equals(ZSTD) && ZSTD_AVAILABLE) {
+            return Zstd.encode(out, level);
+        }
+        throw new IOException("지원하지 않는 Content-Encoding 입니다: " + contentEncoding);
+    }
+
+    public static InputStream decode(String contentEncoding, InputStream in) throws IOException {
+        String coding = normalize(contentEncoding);
+        if (coding == null) {
+            return in;
+        }
+        if (coding.equals(GZIP)) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        if (coding.equals(ZSTD) && ZSTD_AVAILABLE) {
+            return Zstd.decode(in);
+        }
+        throw new IOException("지원하지 않는 Content-Encoding 입니다: " + contentEncoding);
+    }
+
+    // 해제한 크기가 maxSize(byte)를 넘으면 읽는 도중 DecodedBodyTooLargeException 이 발생한다 (음수 : 제한 없음)
+    public static InputStream decode(String contentEncoding, InputStream in, long maxSize) throws IOException {
+        InputStream decoded = decode(contentEncoding, in);
+        return maxSize < 0 || decoded == in ? decoded : new SizeLimitedInputStream(decoded, maxSize);
+    }
+
+    // identity, 빈 값은 null, x-gzip 은 gzip 으로 정규화한다
+    private static String normalize(String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return null;
+        }
+        String coding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (coding.equals(IDENTITY)) {
+            return null;
+        }
+        return coding.equals(X_GZIP) ? GZIP : coding;
+    }
+
+    private static boolean loadZstd() {
+        if (!ClassUtils.isPresent("com.github.luben.zstd.ZstdOutputStream", ContentCodings.class.getClassLoader())) {
+            return false;
+        }
+        try {
+            Native.load();
+            return true;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Math.min(level, Deflater.BEST_COMPRESSION));
+        }
+    }
+
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+        private long count;
+
+        private SizeLimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        // mark/reset 으로 같은 byte 를 다시 읽으면 크기를 정확히 셀 수 없으므로 지원하지 않는다
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long read) throws DecodedBodyTooLargeException {
+            count += read;
+            if (count > maxSize) {
+                throw new DecodedBodyTooLargeException(maxSize);
+            }
+        }
+    }
+
+    // zstd-jni 클래스는 사용할 수 있는 경우에만 로딩되도록 분리한다
+    private static final class Zstd {
+
+        private static OutputStream encode(OutputStream out, int level) throws IOException {
+            return level < 0 ? new ZstdOutputStream(out) : new ZstdOutputStream(out, level);
+        }
+
+        private static InputStream decode(InputStream in) throws IOException {
+            return new ZstdInputStream(in);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sweettracker.apicallexample.common.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    4가지 클라이언트 공통 요청 body 압축 규칙과 압축/해제 stream (client-compression)
+    - byte[] body (restClient, feignClient) 는 한 번에 압축한다
+    - DataBuffer stream (webClient) 은 buffer 단위로 압축하여 전체 body 를 모으지 않는다
+    client-compression.enabled=false 로 비활성화한다
+*/
+@Component
+@ConditionalOnProperty(value = "client-compression.enabled", matchIfMissing = true)
+public class ContentCompression {
+
+    private final String encoding;
+    private final int level;
+    private final long minRequestSize;
+    private final List<MimeType> mimeTypes;
+
+    public ContentCompression(CompressionProperties properties) {
+        this.encoding = ContentCodings.ZSTD.equals(properties.getEncoding()) && !ContentCodings.isZstdAvailable()
+            ? ContentCodings.GZIP
+            : properties.getEncoding();
+        this.level = properties.getLevel();
+        this.minRequestSize = properties.getMinRequestSize().toBytes();
+        this.mimeTypes = properties.getMimeTypes().stream().map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public String getAcceptEncoding() {
+        return ContentCodings.acceptEncoding();
+    }
+
+    // 길이를 모르는 body(-1)는 압축하지 않는다
+    public boolean shouldCompress(MimeType contentType, long contentLength) {
+        if (contentType == null || contentLength < minRequestSize) {
+            return false;
+        }
+        for (MimeType mimeType : mimeTypes) {
+            if (mimeType.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public byte[] compress(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream encoder = ContentCodings.encode(encoding, level, out)) {
+            encoder.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    public Flux<DataBuffer> compress(Flux<DataBuffer> body, DataBufferFactory bufferFactory) {
+        return Flux.defer(() -> {
+            Chunks chunks = new Chunks();
+            OutputStream encoder;
+            try {
+                encoder = ContentCodings.encode(encoding, level, chunks);
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            return body
+                .concatMap(buffer -> {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        in.transferTo(encoder);
+                    } catch (IOException e) {
+                        return Mono.error(e);
+                    }
+                    return Mono.justOrEmpty(chunks.drain(bufferFactory));
+                })
+                .concatWith(Mono.fromCallable(() -> {
+                    encoder.close();
+                    return chunks.drain(bufferFactory);
+                }))
+                // 취소, 에러로 끝나도 Deflater / zstd native 메모리를 해제한다
+                .doFinally(signal -> closeQuietly(encoder));
+        });
+    }
+
+    public InputStream decompress(String contentEncoding, InputStream body) throws IOException {
+        return ContentCodings.decode(contentEncoding, body);
+    }
+
+    private static void closeQuietly(OutputStream encoder) {
+        try {
+            encoder.close();
+        } catch (IOException ignored) {
+            // 이미 완료되었거나 취소된 요청
+        }
+    }
+
+    // 압축된 결과를 buffer 단위로 꺼내기 위한 stream
+    private static final class Chunks extends ByteArrayOutputStream {
+
+        private DataBuffer drain(DataBufferFactory bufferFactory) {
+            if (count == 0) {
+                return null;
+            }
+            DataBuffer buffer = bufferFactory.allocateBuffer(count);
+            buffer.write(buf, 0, count);
+            reset();
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sweettracker.apicallexample.common.compression;
+
+import java.io.IOException;
+import lombok.Getter;
+
+/*
+    압축 해제한 body 가 최대 크기를 넘었을 때 발생한다 (ContentCodings.decode(contentEncoding, in, maxSize))
+    작은 압축 body 가 heap 을 모두 차지할 만큼 해제되는 것(decompression bomb)을 막기 위해 읽는 도중에 중단한다
+*/
+@Getter
+public class DecodedBodyTooLargeException extends IOException {
+
+    private final long maxSize;
+
+    public DecodedBodyTooLargeException(long maxSize) {
+        super("압축 해제한 body 가 최대 크기(" + maxSize + " bytes)를 초과했습니다.");
+        this.maxSize = maxSize;
+    }
+}
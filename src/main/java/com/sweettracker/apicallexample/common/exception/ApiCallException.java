@@ -0,0 +1,42 @@
+package com.sweettracker.apicallexample.common.exception;
+
+import lombok.Getter;
+
+/*
+    외부 API 호출 실패 예외
+    응답 상태값으로 재시도 가능 여부를 미리 분류한다
+    - RetryableApiCallException    : 408, 429, 5xx (501, 505 제외)
+    - NonRetryableApiCallException : 그 외 4xx, 5xx
+    에러 응답이 몰릴 때 stack trace 수집 비용이 커지므로 기본은 stack trace 없이 생성한다
+    (api-call-exception.stack-trace=true 로 변경, ApiCallExceptionFactory 참고)
+*/
+@Getter
+public abstract class ApiCallException extends RuntimeException {
+
+    private final int status;
+    private final String path;
+    private final String bodyExcerpt;
+
+    protected ApiCallException(String message, int status, String path, String bodyExcerpt,
+        boolean stackTrace) {
+        super(message, null, true, stackTrace);
+        this.status = status;
+        this.path = path;
+        this.bodyExcerpt = bodyExcerpt;
+    }
+
+    public static ApiCallException of(String message, int status, String path, String bodyExcerpt,
+        boolean stackTrace) {
+        if (isRetryable(status)) {
+            return new RetryableApiCallException(message, status, path, bodyExcerpt, stackTrace);
+        }
+        return new NonRetryableApiCallException(message, status, path, bodyExcerpt, stackTrace);
+    }
+
+    public static boolean isRetryable(int status) {
+        return status == 408 || status == 429
+            || (status >= 500 && status != 501 && status != 505);
+    }
+
+    public abstract boolean isRetryable();
+}
@@ -0,0 +1,76 @@
+package com.sweettracker.apicallexample.common.exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+/*
+    4가지 클라이언트(feignClient, restClient, webClient, httpInterface)의 에러 응답을 ApiCallException 으로 변환한다
+    - body 는 api-call-exception.body-excerpt-limit 만큼만 읽고 나머지는 읽지 않는다
+    - stack trace 수집 여부는 api-call-exception.stack-trace 로 지정한다
+*/
+@Component
+public class ApiCallExceptionFactory {
+
+    private final boolean stackTrace;
+    private final int bodyExcerptLimit;
+
+    public ApiCallExceptionFactory(ApiCallExceptionProperties properties) {
+        this.stackTrace = properties.isStackTrace();
+        this.bodyExcerptLimit = (int) properties.getBodyExcerptLimit().toBytes();
+    }
+
+    public ApiCallException create(String message, int status, String path, String bodyExcerpt) {
+        return ApiCallException.of(message, status, path, bodyExcerpt, stackTrace);
+    }
+
+    // restClient : defaultStatusHandler / onStatus, message 가 null 이면 body 를 message 로 사용한다
+    public ApiCallException create(String message, HttpRequest request, ClientHttpResponse response)
+        throws IOException {
+        Charset charset = charset(response.getHeaders().getContentType());
+        String bodyExcerpt = excerpt(response.getBody(), charset);
+        return create(message != null ? message : bodyExcerpt, response.getStatusCode().value(),
+            request.getURI().getPath(), bodyExcerpt);
+    }
+
+    // webClient, httpInterface : defaultStatusHandler / onStatus, body 를 message 로 사용한다
+    public Mono<ApiCallException> create(ClientResponse response) {
+        Charset charset = charset(response.headers().contentType().orElse(null));
+        return DataBufferUtils.join(DataBufferUtils.takeUntilByteCount(
+                response.bodyToFlux(DataBuffer.class), bodyExcerptLimit))
+            .map(buffer -> {
+                try {
+                    return buffer.toString(charset);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .defaultIfEmpty("")
+            .map(bodyExcerpt -> create(bodyExcerpt, response.statusCode().value(),
+                response.request().getURI().getPath(), bodyExcerpt));
+    }
+
+    public String excerpt(InputStream body, Charset charset) throws IOException {
+        if (body == null || bodyExcerptLimit <= 0) {
+            return "";
+        }
+        return new String(body.readNBytes(bodyExcerptLimit), charset);
+    }
+
+    private static Charset charset(MediaType contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        return Objects.requireNonNullElse(contentType.getCharset(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sweettracker.apicallexample.common.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api-call-exception")
+public class ApiCallExceptionProperties {
+
+    // true 인 경우 예외 생성 시 stack trace 를 수집한다 (디버깅용)
+    private boolean stackTrace = false;
+
+    // 에러 응답 body 는 앞부분만 읽어 예외에 담는다
+    private DataSize bodyExcerptLimit = DataSize.ofKilobytes(1);
+}
@@ -0,0 +1,14 @@
+package com.sweettracker.apicallexample.common.exception;
+
+public class NonRetryableApiCallException extends ApiCallException {
+
+    public NonRetryableApiCallException(String message, int status, String path, String bodyExcerpt,
+        boolean stackTrace) {
+        super(message, status, path, bodyExcerpt, stackTrace);
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return false;
+    }
+}
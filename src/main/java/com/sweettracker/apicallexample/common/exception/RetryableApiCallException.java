@@ -0,0 +1,14 @@
+package com.sweettracker.apicallexample.common.exception;
+
+public class RetryableApiCallException extends ApiCallException {
+
+    public RetryableApiCallException(String message, int status, String path, String bodyExcerpt,
+        boolean stackTrace) {
+        super(message, status, path, bodyExcerpt, stackTrace);
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.sweettracker.apicallexample.common.h2c;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    h2c (HTTP/2 cleartext) 설정
+    enabled=true 이면 TestController 를 제공하는 tomcat 과 4가지 클라이언트가 모두 HTTP/2 로 통신한다
+    - 서버 : HTTP/1.1 upgrade 와 prior knowledge(connection preface) 를 모두 허용한다
+    - webClient, httpInterface : prior knowledge 로 시작하며 maxConnections 개의 커넥션에 요청(stream)을 나누어 보낸다
+    - restClient, feignClient : JDK HttpClient 가 첫 요청에서 upgrade 한 뒤 origin 당 커넥션 하나에 요청을 모은다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "h2c")
+public class H2cProperties {
+
+    private boolean enabled = false;
+
+    // 커넥션 하나에서 동시에 열 수 있는 stream 수 (서버가 SETTINGS 로 알리는 값이자 webClient 의 커넥션당 최대 stream 수)
+    private int maxConcurrentStreams = 200;
+
+    // 커넥션 하나에서 동시에 처리(요청 스레드 할당)하는 stream 수, 나머지는 서버에서 대기한다 (tomcat 기본값 20)
+    private int maxConcurrentStreamExecution = 200;
+
+    // webClient 가 downstream 하나에 여는 최대 커넥션 수
+    private int maxConnections = 4;
+}
@@ -0,0 +1,33 @@
+package com.sweettracker.apicallexample.common.h2c;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/*
+    h2c.enabled=true 인 경우 tomcat connector 에 HTTP/2 upgrade protocol 을 추가한다
+    TLS 가 없는 connector 이므로 h2c (Upgrade: h2c 요청, prior knowledge connection preface) 로 동작한다
+    server.http2.enabled 와 달리 커넥션당 stream 수, 동시 처리 stream 수를 함께 설정한다
+*/
+@Component
+@ConditionalOnProperty(value = "h2c.enabled", havingValue = "true")
+public class H2cServerCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    private final H2cProperties properties;
+
+    public H2cServerCustomizer(H2cProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> {
+            Http2Protocol http2Protocol = new Http2Protocol();
+            http2Protocol.setMaxConcurrentStreams(properties.getMaxConcurrentStreams());
+            http2Protocol.setMaxConcurrentStreamExecution(properties.getMaxConcurrentStreamExecution());
+            connector.addUpgradeProtocol(http2Protocol);
+        });
+    }
+}
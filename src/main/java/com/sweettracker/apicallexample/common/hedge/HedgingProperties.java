@@ -0,0 +1,35 @@
+package com.sweettracker.apicallexample.common.hedge;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    hedging 설정
+    GET, HEAD 요청이 관측된 응답 시간의 percentile 이 지나도록 끝나지 않으면 같은 요청을 한 번 더 보내고 먼저 온 응답을 사용한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hedging")
+public class HedgingProperties {
+
+    private boolean enabled = false;
+
+    // 두 번째 요청을 보내는 기준 percentile (최근 window 건의 응답 시간 기준)
+    private double percentile = 0.95;
+
+    // 응답 시간 표본 수 (최근 window 건만 사용하므로 downstream 의 지연 변화를 따라간다)
+    private int window = 1024;
+
+    // 표본이 minSamples 건 모이기 전에는 initialDelay 를 사용한다
+    private int minSamples = 100;
+
+    private Duration initialDelay = Duration.ofMillis(50);
+
+    // percentile 이 너무 작아 거의 모든 요청이 hedge 되지 않도록 하는 하한
+    private Duration minDelay = Duration.ofMillis(1);
+
+    // 원래 요청 수 대비 추가 요청(hedge) 비율의 상한 (%)
+    private double budgetPercent = 5;
+}
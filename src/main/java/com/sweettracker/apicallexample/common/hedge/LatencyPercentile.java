@@ -0,0 +1,59 @@
+package com.sweettracker.apicallexample.common.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    최근 window 건의 응답 시간으로 percentile 을 추정한다
+    - 기록 : ring buffer slot 에 set (lock 없음)
+    - 계산 : window / 8 건마다 한 스레드만(tryLock) 복사 후 정렬하여 threshold 를 갱신한다
+    호출 경로에서는 volatile threshold 만 읽는다
+*/
+public class LatencyPercentile {
+
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeInterval;
+    private final long initialNanos;
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final ReentrantLock recomputeLock = new ReentrantLock();
+    private volatile long thresholdNanos;
+
+    public LatencyPercentile(double percentile, int window, int minSamples, long initialNanos) {
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, window);
+        this.recomputeInterval = Math.max(1, window / 8);
+        this.initialNanos = initialNanos;
+        this.samples = new AtomicLongArray(window);
+        this.thresholdNanos = initialNanos;
+    }
+
+    public void record(long nanos) {
+        long sequence = count.getAndIncrement();
+        samples.set((int) (sequence % samples.length()), nanos);
+        if (sequence + 1 >= minSamples && (sequence + 1) % recomputeInterval == 0 && recomputeLock.tryLock()) {
+            try {
+                recompute((int) Math.min(sequence + 1, samples.length()));
+            } finally {
+                recomputeLock.unlock();
+            }
+        }
+    }
+
+    public long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    private void recompute(int filled) {
+        long[] copy = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.min(filled - 1, Math.ceil(percentile * filled) - 1);
+        thresholdNanos = filled > 0 ? copy[Math.max(0, index)] : initialNanos;
+    }
+}
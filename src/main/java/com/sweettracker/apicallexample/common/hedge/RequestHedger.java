@@ -0,0 +1,76 @@
+package com.sweettracker.apicallexample.common.hedge;
+
+import com.sweettracker.apicallexample.common.resilience.TokenBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+
+/*
+    downstream(클라이언트 이름) 하나의 hedging 상태 (응답 시간 percentile + budget)
+    WebClient filter, RestClient interceptor 가 공유한다
+*/
+public class RequestHedger {
+
+    // 한가할 때 적립된 token 으로 한 번에 hedge 할 수 있는 최대 건수
+    private static final int MAX_BUDGET_TOKENS = 10;
+
+    private final LatencyPercentile latency;
+    private final TokenBudget budget;
+    private final long minDelayNanos;
+    private final Counter hedgedCounter;
+    private final Counter hedgeWinCounter;
+    private final Counter budgetExhaustedCounter;
+
+    public RequestHedger(String name, HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.latency = new LatencyPercentile(properties.getPercentile(), properties.getWindow(),
+            properties.getMinSamples(), properties.getInitialDelay().toNanos());
+        this.budget = new TokenBudget(properties.getBudgetPercent() / 100, MAX_BUDGET_TOKENS);
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.hedgedCounter = counter(meterRegistry, name, "hedged");
+        this.hedgeWinCounter = counter(meterRegistry, name, "hedge-won");
+        this.budgetExhaustedCounter = counter(meterRegistry, name, "budget-exhausted");
+    }
+
+    // 멱등 요청만 hedge 한다 (PUT, DELETE 는 멱등이지만 업로드 등 큰 요청이 두 번 전송되지 않도록 제외한다)
+    public static boolean isHedgeable(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    // 원래 요청 시작 시 호출 (budget 적립), 두 번째 요청까지 기다릴 시간을 반환한다
+    public long onRequest() {
+        budget.deposit();
+        return Math.max(minDelayNanos, latency.thresholdNanos());
+    }
+
+    public boolean tryHedge() {
+        if (budget.tryWithdraw()) {
+            increment(hedgedCounter);
+            return true;
+        }
+        increment(budgetExhaustedCounter);
+        return false;
+    }
+
+    public void onHedgeWon() {
+        increment(hedgeWinCounter);
+    }
+
+    /*
+        요청 하나의 응답 시간
+        취소된 요청(진 쪽)은 취소 시점까지의 시간을 기록하여 느린 응답이 표본에서 빠지지 않도록 한다
+    */
+    public void record(long nanos) {
+        latency.record(nanos);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return meterRegistry == null ? null
+            : Counter.builder("hedging.requests").tag("name", name).tag("result", result).register(meterRegistry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sweettracker.apicallexample.common.hedge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+    downstream(클라이언트 이름) 별 RequestHedger
+    metrics : hedging.requests{name, result=hedged|hedge-won|budget-exhausted}
+    hedging.enabled=true 인 경우에만 생성된다
+*/
+@Component
+@ConditionalOnProperty(value = "hedging.enabled", havingValue = "true")
+public class RequestHedgers {
+
+    private final HedgingProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentMap<String, RequestHedger> hedgers = new ConcurrentHashMap<>();
+
+    public RequestHedgers(HedgingProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RequestHedger get(String name) {
+        return hedgers.computeIfAbsent(name,
+            key -> new RequestHedger(key, properties, meterRegistry.getIfAvailable()));
+    }
+}
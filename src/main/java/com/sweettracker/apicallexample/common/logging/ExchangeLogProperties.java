@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.common.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/*
+    exchange-log 설정 (4가지 클라이언트의 외부 호출, TestController 요청 로그)
+    정상 응답은 sampleRate 비율만, 에러(4xx, 5xx, 예외)는 모두 기록 대상이며 둘 다 초당 permitsPerSecond 건으로 제한한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exchange-log")
+public class ExchangeLogProperties {
+
+    private boolean enabled = true;
+
+    // ring buffer 크기 (2의 제곱수로 올림), 가득 차면 로그를 버린다
+    private int bufferSize = 8192;
+
+    private double sampleRate = 0.01;
+
+    private int permitsPerSecond = 100;
+
+    // 값을 *** 로 기록하는 header (대소문자 구분 없음)
+    private List<String> redactedHeaders = new ArrayList<>(
+        List.of("key", "authorization", "proxy-authorization", "cookie", "set-cookie"));
+
+    // body, query string 에서 값을 *** 로 기록하는 필드 (JSON, form, multipart)
+    private List<String> redactedFields = new ArrayList<>(List.of("password"));
+
+    private Body body = new Body();
+
+    @Getter
+    @Setter
+    public static class Body {
+
+        // 요청 body 기록 여부 (feignClient, restClient, TestController / WebClient 는 body 가 stream 이므로 제외)
+        private boolean enabled = false;
+
+        private DataSize maxSize = DataSize.ofBytes(512);
+    }
+}
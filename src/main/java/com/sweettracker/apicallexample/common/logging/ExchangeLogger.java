@@ -0,0 +1,309 @@
+package com.sweettracker.apicallexample.common.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/*
+    요청/응답 로그를 요청 스레드에서 쓰지 않고 ring buffer 에 넣기만 하며, 별도 스레드가 slf4j 로 기록한다
+    - ring buffer slot 은 시작 시 모두 만들어 두고 재사용한다 (요청마다 event 객체를 만들지 않음)
+    - 여러 요청 스레드가 cursor 를 CAS 로 선점하고, 값을 채운 뒤 slot 의 sequence 를 기록하여 공개한다
+    - 가득 차면 기다리지 않고 버리며, 버린 건수는 다음 기록 시점에 한 번에 남긴다
+    - 기록 대상 여부(sample, 초당 제한)는 isSampled 로 먼저 확인하여 기록하지 않을 요청은 header, body 를 복사하지 않는다
+    - 민감 정보 제거(Redactor)와 문자열 조립은 기록 스레드에서 수행한다 (JSON, form 등 text 가 아닌 body 는 내용을 기록하지 않는다)
+    logger 이름은 exchange 이며 정상 응답은 INFO, 에러는 WARN 으로 기록한다
+*/
+@Component
+public class ExchangeLogger implements DisposableBean {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Logger logger = LoggerFactory.getLogger("exchange");
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int permitsPerSecond;
+    private final boolean bodyEnabled;
+    private final int maxBodyBytes;
+    private final Redactor redactor;
+
+    private final Slot[] ring;
+    private final int mask;
+    // 다음에 선점할 sequence (요청 스레드)
+    private final AtomicLong claimed = new AtomicLong();
+    // 다음에 기록할 sequence (기록 스레드만 증가)
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ExchangeLogger(ExchangeLogProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.sampleRate = properties.getSampleRate();
+        this.permitsPerSecond = properties.getPermitsPerSecond();
+        this.bodyEnabled = properties.getBody().isEnabled();
+        this.maxBodyBytes = (int) properties.getBody().getMaxSize().toBytes();
+        this.redactor = new Redactor(properties.getRedactedHeaders(), properties.getRedactedFields());
+
+        int size = Integer.highestOneBit(Math.max(2, properties.getBufferSize() - 1)) << 1;
+        this.ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot(i - size);
+        }
+        this.mask = size - 1;
+        this.writer = Thread.ofPlatform()
+            .name("exchange-log")
+            .daemon(true)
+            .start(this::drain);
+    }
+
+    /*
+        기록 대상이면 true (true 를 반환하면 초당 제한 1건을 사용한다)
+        에러는 sampleRate 와 관계없이 기록 대상이다
+    */
+    public boolean isSampled(boolean error) {
+        if (!enabled || !(error ? logger.isWarnEnabled() : logger.isInfoEnabled())) {
+            return false;
+        }
+        if (!error && sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        if (!tryAcquire()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isBodyEnabled() {
+        return enabled && bodyEnabled;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /*
+        isSampled 가 true 인 경우에만 호출한다
+        headers, body 는 기록 스레드에서 읽으므로 이후 변경되지 않는 값을 넘긴다 (body 는 maxBodyBytes 까지만 기록)
+    */
+    public void exchange(Direction direction, String client, String method, String uri, int status,
+        long durationNanos, Map<String, ? extends Collection<String>> headers, byte[] body, Throwable error) {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        slot.direction = direction;
+        slot.client = client;
+        slot.method = method;
+        slot.uri = uri;
+        slot.status = status;
+        slot.durationNanos = durationNanos;
+        slot.headers = headers;
+        slot.body = body;
+        slot.error = error;
+        slot.publish();
+    }
+
+    // 초당 제한만 적용하는 일반 경고 로그 (문자열 인자는 기록 스레드에서 민감 정보를 제거한다)
+    public void warn(String format, Object... args) {
+        if (!enabled || !logger.isWarnEnabled()) {
+            return;
+        }
+        if (!tryAcquire()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        slot.format = format;
+        slot.args = args;
+        slot.publish();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(writer);
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            permitsUsed.set(0);
+        }
+        return permitsUsed.incrementAndGet() <= permitsPerSecond;
+    }
+
+    private Slot claim() {
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - consumed.get() >= ring.length) {
+                dropped.incrementAndGet();
+                return null;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                Slot slot = ring[(int) (sequence & mask)];
+                slot.sequence = sequence;
+                return slot;
+            }
+        }
+    }
+
+    private void drain() {
+        StringBuilder builder = new StringBuilder(512);
+        long reported = 0;
+        long park = IDLE_PARK_NANOS;
+        while (true) {
+            long next = consumed.get();
+            Slot slot = ring[(int) (next & mask)];
+            if (slot.published != next) {
+                // 종료 후에는 이미 공개된 slot 까지만 기록한다
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(park);
+                park = Math.min(park << 1, MAX_IDLE_PARK_NANOS);
+                continue;
+            }
+            park = IDLE_PARK_NANOS;
+
+            long droppedNow = dropped.get();
+            if (droppedNow != reported) {
+                logger.warn("로그 {}건이 제한을 초과하여 기록되지 않았습니다.", droppedNow - reported);
+                reported = droppedNow;
+            }
+            try {
+                write(slot, builder);
+            } catch (RuntimeException e) {
+                logger.warn("로그 기록 실패", e);
+            }
+            slot.clear();
+            consumed.lazySet(next + 1);
+        }
+    }
+
+    private void write(Slot slot, StringBuilder builder) {
+        if (slot.format != null) {
+            // URL, body 등 문자열 인자도 민감 정보를 제거한다
+            for (int i = 0; i < slot.args.length; i++) {
+                if (slot.args[i] instanceof String text) {
+                    slot.args[i] = redactor.redactText(text);
+                }
+            }
+            logger.warn(slot.format, slot.args);
+            return;
+        }
+
+        builder.setLength(0);
+        builder.append(slot.direction).append(' ')
+            .append(slot.client).append(' ')
+            .append(slot.method).append(' ')
+            .append(redactor.redactText(slot.uri))
+            .append(" status=").append(slot.status)
+            .append(" duration=").append(TimeUnit.NANOSECONDS.toMicros(slot.durationNanos) / 1000.0).append("ms");
+        if (slot.headers != null) {
+            builder.append(" headers=");
+            redactor.appendHeaders(builder, slot.headers);
+        }
+        if (slot.body != null) {
+            String contentType = contentType(slot.headers);
+            if (redactor.isRedactable(contentType)) {
+                int length = Math.min(slot.body.length, maxBodyBytes);
+                builder.append(" body=")
+                    .append(redactor.redactText(new String(slot.body, 0, length, StandardCharsets.UTF_8)));
+                if (slot.body.length > length) {
+                    builder.append("...(").append(slot.body.length).append(" bytes)");
+                }
+            } else {
+                // binary body (Smile 등) 는 민감 정보를 제거할 수 없으므로 내용을 기록하지 않는다
+                builder.append(" body=(").append(contentType).append(", ").append(slot.body.length).append(" bytes)");
+            }
+        }
+
+        if (slot.error != null) {
+            builder.append(" error=").append(slot.error.getClass().getSimpleName())
+                .append(": ").append(slot.error.getMessage());
+            logger.warn(builder.toString());
+        } else if (slot.status >= 400) {
+            logger.warn(builder.toString());
+        } else {
+            logger.info(builder.toString());
+        }
+    }
+
+    private static String contentType(Map<String, ? extends Collection<String>> headers) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, ? extends Collection<String>> header : headers.entrySet()) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    public enum Direction {
+        INBOUND, OUTBOUND
+    }
+
+    private static final class Slot {
+
+        private long sequence;
+        // 공개된 sequence, 기록 스레드는 이 값이 자신이 기다리는 sequence 와 같을 때만 읽는다
+        private volatile long published;
+
+        private String format;
+        private Object[] args;
+
+        private Direction direction;
+        private String client;
+        private String method;
+        private String uri;
+        private int status;
+        private long durationNanos;
+        private Map<String, ? extends Collection<String>> headers;
+        private byte[] body;
+        private Throwable error;
+
+        private Slot(long initial) {
+            this.published = initial;
+        }
+
+        private void publish() {
+            published = sequence;
+        }
+
+        // 기록한 요청의 header, body 를 다음 사용 전까지 붙잡고 있지 않도록 비운다
+        private void clear() {
+            format = null;
+            args = null;
+            client = null;
+            uri = null;
+            headers = null;
+            body = null;
+            error = null;
+        }
+    }
+}
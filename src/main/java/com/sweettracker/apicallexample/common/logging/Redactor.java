@@ -0,0 +1,92 @@
+package com.sweettracker.apicallexample.common.logging;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/*
+    로그에 남기면 안 되는 값을 *** 로 바꾼다
+    - header : 이름이 redactedHeaders 에 포함된 header 의 값
+    - body, query string : redactedFields 필드의 값 (JSON "password":"..", form/query password=.., multipart name="password")
+    - Smile 등 binary body 는 값이 정규식에 걸리지 않으므로 내용 대신 Content-Type 과 크기만 기록한다 (isRedactable)
+    로그 기록 스레드에서만 호출되므로 요청 처리 시간에 포함되지 않는다
+*/
+public class Redactor {
+
+    private static final String MASK = "***";
+
+    private final Set<String> headers;
+    private final Pattern json;
+    private final Pattern form;
+    private final Pattern multipart;
+
+    public Redactor(List<String> redactedHeaders, List<String> redactedFields) {
+        this.headers = redactedHeaders.stream()
+            .map(header -> header.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+        String fields = redactedFields.stream().map(Pattern::quote).collect(Collectors.joining("|"));
+        this.json = Pattern.compile("(\"(?:" + fields + ")\"\\s*:\\s*\")[^\"]*(\")", Pattern.CASE_INSENSITIVE);
+        this.form = Pattern.compile("((?:^|[?&])(?:" + fields + ")=)[^&\\s]*", Pattern.CASE_INSENSITIVE);
+        this.multipart = Pattern.compile(
+            "(name=\"(?:" + fields + ")\"[^\\r\\n]*\\r?\\n(?:[^\\r\\n]+\\r?\\n)*\\r?\\n)[^\\r\\n]*",
+            Pattern.CASE_INSENSITIVE);
+    }
+
+    public void appendHeaders(StringBuilder builder, Map<String, ? extends Collection<String>> values) {
+        builder.append('{');
+        boolean first = true;
+        for (Map.Entry<String, ? extends Collection<String>> header : values.entrySet()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            builder.append(header.getKey()).append(": ");
+            if (headers.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                builder.append(MASK);
+            } else {
+                builder.append(String.join(",", header.getValue()));
+            }
+        }
+        builder.append('}');
+    }
+
+    public String redactText(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String redacted = replace(json, text, "$1" + MASK + "$2");
+        redacted = replace(form, redacted, "$1" + MASK);
+        return replace(multipart, redacted, "$1" + MASK);
+    }
+
+    // redactText 로 민감 정보를 제거할 수 있는 text body 인지 확인한다 (Content-Type 이 없으면 text 로 본다)
+    public boolean isRedactable(String contentType) {
+        if (contentType == null || contentType.isEmpty()) {
+            return true;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        String subtype = mediaType.getSubtype();
+        return "text".equals(mediaType.getType())
+            || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || subtype.endsWith("+json")
+            || MediaType.APPLICATION_XML.isCompatibleWith(mediaType) || subtype.endsWith("+xml")
+            || MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(mediaType)
+            || MediaType.MULTIPART_FORM_DATA.isCompatibleWith(mediaType);
+    }
+
+    private static String replace(Pattern pattern, String text, String replacement) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.replaceAll(replacement) : text;
+    }
+}
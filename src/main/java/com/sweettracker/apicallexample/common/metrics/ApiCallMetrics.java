@@ -0,0 +1,96 @@
+package com.sweettracker.apicallexample.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/*
+    외부 API 호출 시간 기록 (api.client.requests)
+    tags : client(호출 방식), method, uri(URI 템플릿, 원본 URL 아님), status(2xx, 4xx ... / NONE), outcome
+    - Timer 는 HdrHistogram 기반 percentile histogram 을 사용한다 (prometheus 에서는 _bucket 으로, /actuator/metrics 에서는 percentile 로 확인)
+    - tag 조합별 Timer 를 map 에 보관하여 호출 경로에서는 map 조회 + Timer.record 만 수행한다
+    - uri 템플릿을 알 수 없는 경우 NONE 으로 기록하여 tag 값이 무한히 늘어나지 않도록 한다
+    - uri 템플릿 대신 원본 URL 이 전달되는 경우(uri(String) 가 아닌 uri(URI) 호출 등)에도 Timer 가 무한히 늘어나지 않도록
+      서로 다른 uri 값이 MAX_URI_TAGS 개를 넘으면 이후 새 uri 는 NONE 으로 기록한다
+*/
+@Slf4j
+@Component
+public class ApiCallMetrics {
+
+    public static final String METRIC_NAME = "api.client.requests";
+    public static final String NONE = "NONE";
+    public static final String OUTCOME_IO_ERROR = "IO_ERROR";
+    public static final String OUTCOME_CANCELLED = "CANCELLED";
+    // 코드에 선언된 URI 템플릿 수보다 충분히 크게 잡는다 (UriTemplates 캐시와 같은 방식의 상한)
+    public static final int MAX_URI_TAGS = 100;
+
+    private static final String[] STATUS_CLASSES = {NONE, "1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final String[] STATUS_OUTCOMES =
+        {"UNKNOWN", "INFORMATIONAL", "SUCCESS", "REDIRECTION", "CLIENT_ERROR", "SERVER_ERROR"};
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Key, Timer> timers = new ConcurrentHashMap<>();
+    private final Set<String> uris = ConcurrentHashMap.newKeySet();
+
+    public ApiCallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 응답을 받은 호출
+    public void record(String client, String method, String uri, int status, long nanos) {
+        int statusClass = status >= 100 && status < 600 ? status / 100 : 0;
+        timer(new Key(client, method, uriTag(uri), STATUS_CLASSES[statusClass], STATUS_OUTCOMES[statusClass]))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 응답 없이 끝난 호출 (outcome : IO_ERROR, CANCELLED)
+    public void recordFailure(String client, String method, String uri, String outcome, long nanos) {
+        timer(new Key(client, method, uriTag(uri), NONE, outcome)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String uriTag(String uri) {
+        if (uri == null) {
+            return NONE;
+        }
+        if (uris.contains(uri)) {
+            return uri;
+        }
+        // 상한에 걸리는 동시 등록은 몇 개 더 들어갈 수 있지만 크기가 계속 늘어나지는 않는다
+        if (uris.size() >= MAX_URI_TAGS) {
+            return NONE;
+        }
+        if (uris.add(uri) && uris.size() == MAX_URI_TAGS) {
+            log.warn("{} 의 uri tag 가 {} 개에 도달하여 이후 새 uri 는 {} 으로 기록합니다.", METRIC_NAME, MAX_URI_TAGS, NONE);
+        }
+        return uri;
+    }
+
+    private Timer timer(Key key) {
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key, this::register);
+    }
+
+    private Timer register(Key key) {
+        return Timer.builder(METRIC_NAME)
+            .tag("client", key.client())
+            .tag("method", key.method())
+            .tag("uri", key.uri())
+            .tag("status", key.status())
+            .tag("outcome", key.outcome())
+            .publishPercentileHistogram()
+            .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(60))
+            .register(meterRegistry);
+    }
+
+    private record Key(String client, String method, String uri, String status, String outcome) {
+
+    }
+}
@@ -0,0 +1,36 @@
+package com.sweettracker.apicallexample.common.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+
+/*
+    restClient 용 URI 템플릿 전달
+    restClient 의 interceptor 에서는 URI 템플릿을 알 수 없으므로 restClient 전용 ObservationRegistry 에 등록하여
+    RestClient 가 호출마다 여는 observation scope 의 ClientRequestObservationContext 에서 URI 템플릿을 꺼낸다
+    observation 은 재시도를 포함한 호출 전체를 감싸므로 시간은 기록하지 않고,
+    api.client.requests 는 MetricsRequestFactory 가 시도마다 기록한다
+    (WebClient 의 MetricsFilter, feignClient 의 MetricsFeignClient 와 같은 기준)
+*/
+public class ApiCallObservationHandler implements ObservationHandler<ClientRequestObservationContext> {
+
+    // 기본 meter handler 없이 이 handler 만 등록된 registry (handler 가 없으면 observation 이 생성되지 않는다)
+    public static ObservationRegistry registry() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ApiCallObservationHandler());
+        return registry;
+    }
+
+    // 현재 스레드에서 진행 중인 restClient 호출의 URI 템플릿 (observation 밖, 다른 스레드에서 실행되는 요청은 null)
+    public static String currentUriTemplate(ObservationRegistry registry) {
+        Observation observation = registry.getCurrentObservation();
+        return observation != null && observation.getContext() instanceof ClientRequestObservationContext context
+            ? context.getUriTemplate() : null;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ClientRequestObservationContext;
+    }
+}
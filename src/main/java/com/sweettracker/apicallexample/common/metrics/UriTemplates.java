@@ -0,0 +1,47 @@
+package com.sweettracker.apicallexample.common.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+    URI 템플릿에서 metrics tag 로 사용할 path 부분만 남긴다
+    (http interface 는 query parameter 도 템플릿에 포함되고, baseUrl 이 붙은 절대 URL 템플릿이 올 수 있다)
+    템플릿은 코드에 선언된 개수만큼만 존재하므로 변환 결과를 캐시하여 호출마다 문자열을 만들지 않는다
+*/
+public final class UriTemplates {
+
+    private static final int MAX_CACHED = 1024;
+    private static final ConcurrentMap<String, String> PATHS = new ConcurrentHashMap<>();
+
+    private UriTemplates() {
+    }
+
+    public static String path(String uriTemplate) {
+        if (uriTemplate == null || uriTemplate.isEmpty()) {
+            return ApiCallMetrics.NONE;
+        }
+        String path = PATHS.get(uriTemplate);
+        if (path != null) {
+            return path;
+        }
+        path = extractPath(uriTemplate);
+        if (PATHS.size() < MAX_CACHED) {
+            PATHS.putIfAbsent(uriTemplate, path);
+        }
+        return path;
+    }
+
+    private static String extractPath(String uriTemplate) {
+        int start = 0;
+        int scheme = uriTemplate.indexOf("://");
+        if (scheme >= 0) {
+            int slash = uriTemplate.indexOf('/', scheme + 3);
+            if (slash < 0) {
+                return "/";
+            }
+            start = slash;
+        }
+        int query = uriTemplate.indexOf('?', start);
+        return uriTemplate.substring(start, query >= 0 ? query : uriTemplate.length());
+    }
+}
@@ -0,0 +1,134 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    RTT 를 기준으로 limit 을 조정하는 동시 호출 수 제한
+    - 획득 : inFlight < limit 이면 CAS 로 증가 (lock 없음)
+    - 반납 : Permit 의 onSuccess / onDropped / onIgnore 중 하나를 한 번 호출한다
+    - limit 계산은 다른 스레드가 계산 중이면 해당 sample 을 건너뛴다 (tryLock)
+    - 대기(acquire)는 blocking 클라이언트 전용이며 대기자가 있을 때만 반납 시 signal 한다
+*/
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final LimitAlgorithm algorithm;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition released = waitLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(String name, LimitAlgorithm algorithm, int initialLimit) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.limit = initialLimit;
+    }
+
+    // limit 을 초과하면 null
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime());
+            }
+        }
+    }
+
+    // limit 을 초과하면 maxWait 동안 반납을 기다린다 (interrupt 되거나 시간이 지나면 null)
+    public Permit acquire(Duration maxWait) {
+        Permit permit = tryAcquire();
+        if (permit != null || maxWait.isZero() || maxWait.isNegative()) {
+            return permit;
+        }
+
+        long remaining = maxWait.toNanos();
+        waiters.incrementAndGet();
+        waitLock.lock();
+        try {
+            while ((permit = tryAcquire()) == null) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            return permit;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            waitLock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void release(long startNanos, boolean dropped, boolean ignore) {
+        int current = inFlight.getAndDecrement();
+        if (!ignore && updateLock.tryLock()) {
+            try {
+                limit = algorithm.update(limit, System.nanoTime() - startNanos, current, dropped);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+        if (waiters.get() > 0) {
+            waitLock.lock();
+            try {
+                released.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final AtomicInteger released = new AtomicInteger();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // 정상 응답 : RTT 를 limit 계산에 반영한다
+        public void onSuccess() {
+            complete(false, false);
+        }
+
+        // 5xx, 429, timeout : downstream 과부하로 보고 limit 을 줄인다
+        public void onDropped() {
+            complete(true, false);
+        }
+
+        // 취소 등 RTT 를 알 수 없는 경우 : limit 계산 없이 반납만 한다
+        public void onIgnore() {
+            complete(false, true);
+        }
+
+        private void complete(boolean dropped, boolean ignore) {
+            if (released.compareAndSet(0, 1)) {
+                release(startNanos, dropped, ignore);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+    downstream(클라이언트 이름) 별 AdaptiveConcurrencyLimiter
+    metrics : adaptive-concurrency.limit, adaptive-concurrency.in-flight, adaptive-concurrency.rejected (tag name)
+    adaptive-concurrency.enabled=true 인 경우에만 생성된다
+*/
+@Component
+@ConditionalOnProperty(value = "adaptive-concurrency.enabled", havingValue = "true")
+public class AdaptiveConcurrencyLimiters {
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiters(AdaptiveConcurrencyProperties properties,
+        ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public AdaptiveConcurrencyLimiter get(String name) {
+        return limiters.computeIfAbsent(name, this::create);
+    }
+
+    public AdaptiveConcurrencyProperties getProperties() {
+        return properties;
+    }
+
+    public CallNotPermittedException rejected(AdaptiveConcurrencyLimiter limiter) {
+        Counter counter = rejected.get(limiter.getName());
+        if (counter != null) {
+            counter.increment();
+        }
+        return new CallNotPermittedException(limiter.getName(),
+            "동시 호출 수가 adaptive limit(" + limiter.getLimit() + ")을 초과했습니다.");
+    }
+
+    private AdaptiveConcurrencyLimiter create(String name) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name,
+            LimitAlgorithm.create(properties), properties.getInitialLimit());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("adaptive-concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("name", name)
+                .register(registry);
+            Gauge.builder("adaptive-concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("name", name)
+                .register(registry);
+            rejected.put(name, Counter.builder("adaptive-concurrency.rejected").tag("name", name).register(registry));
+        }
+        return limiter;
+    }
+}
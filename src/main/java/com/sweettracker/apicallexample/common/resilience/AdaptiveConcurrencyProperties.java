@@ -0,0 +1,67 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    adaptive-concurrency 설정
+    downstream(클라이언트 이름) 별로 관측한 RTT 를 기준으로 동시 호출 수(limit)를 자동으로 조정한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "adaptive-concurrency")
+public class AdaptiveConcurrencyProperties {
+
+    private boolean enabled = false;
+
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    // limit 을 초과한 blocking 호출(feign)이 대기하는 시간 (0 이면 바로 거부, WebClient 는 항상 바로 거부)
+    private Duration maxWait = Duration.ZERO;
+
+    // 요청이 drop(5xx, 429, timeout) 된 경우 limit 에 곱하는 값
+    private double backoffRatio = 0.9;
+
+    private Vegas vegas = new Vegas();
+
+    private Gradient gradient = new Gradient();
+
+    @Getter
+    @Setter
+    public static class Vegas {
+
+        // 추정 대기열 크기가 alpha 미만이면 limit 증가, beta 초과면 감소
+        private int alpha = 3;
+
+        private int beta = 6;
+
+        // 지정한 sample 수마다 최소 RTT 를 다시 측정한다 (downstream 이 느려진 뒤에도 기준값이 갱신되도록)
+        private int probeInterval = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Gradient {
+
+        // 새 limit 을 반영하는 비율
+        private double smoothing = 0.2;
+
+        // 최근 RTT 가 장기 평균의 rttTolerance 배 까지는 limit 을 줄이지 않는다
+        private double rttTolerance = 1.5;
+
+        // 장기 평균 RTT 의 sample 수
+        private int longWindow = 600;
+    }
+
+    public enum Algorithm {
+        AIMD, VEGAS, GRADIENT
+    }
+}
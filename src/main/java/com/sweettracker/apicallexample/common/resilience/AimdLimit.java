@@ -0,0 +1,17 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+/*
+    AIMD : drop 이 없으면 1 씩 늘리고, drop 이 발생하면 backoffRatio 를 곱해서 줄인다
+    RTT 는 사용하지 않으므로 timeout, 5xx 가 발생해야 limit 이 줄어든다
+*/
+public class AimdLimit extends LimitAlgorithm {
+
+    public AimdLimit(AdaptiveConcurrencyProperties properties) {
+        super(properties);
+    }
+
+    @Override
+    protected double nextLimit(int limit, long rttNanos, int inFlight) {
+        return saturated(limit, inFlight) ? limit + 1 : limit;
+    }
+}
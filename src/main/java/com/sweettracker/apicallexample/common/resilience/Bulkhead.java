@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+    semaphore bulkhead : downstream(클라이언트 이름) 별 동시 호출 수를 제한한다
+    호출은 호출한 스레드에서 그대로 실행되므로 virtual thread, event loop 어디서든 추가 스레드 없이 동작한다
+*/
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore semaphore;
+    private final long maxWaitNanos;
+
+    public Bulkhead(String name, BulkheadSettings settings) {
+        this.name = name;
+        this.semaphore = new Semaphore(settings.getMaxConcurrentCalls());
+        this.maxWaitNanos = settings.getMaxWaitDuration().toNanos();
+    }
+
+    // 대기 중 interrupt 되면 interrupt 상태를 유지한 채 거부한다
+    public boolean tryAcquire() {
+        if (maxWaitNanos <= 0) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int availableCalls() {
+        return semaphore.availablePermits();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
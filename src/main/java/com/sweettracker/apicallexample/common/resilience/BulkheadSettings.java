@@ -0,0 +1,19 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+// bulkhead 설정 (spring.cloud.openfeign.client.config.{name}, http-interface.config.{name} 하위)
+@Getter
+@Setter
+public class BulkheadSettings {
+
+    private boolean enabled = true;
+
+    // downstream(클라이언트 이름) 별 최대 동시 호출 수
+    private int maxConcurrentCalls = 100;
+
+    // 동시 호출 수를 초과한 경우 대기하는 시간 (0 이면 바로 거부)
+    private Duration maxWaitDuration = Duration.ZERO;
+}
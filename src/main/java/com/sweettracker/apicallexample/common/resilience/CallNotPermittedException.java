@@ -0,0 +1,15 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import lombok.Getter;
+
+// circuit breaker 가 OPEN 이거나 bulkhead 가 가득 찬 경우 호출하지 않고 바로 발생한다 (stack trace 없음)
+@Getter
+public class CallNotPermittedException extends RuntimeException {
+
+    private final String name;
+
+    public CallNotPermittedException(String name, String message) {
+        super(message + " name=" + name, null, false, false);
+        this.name = name;
+    }
+}
@@ -0,0 +1,170 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+    lock 없이 atomic 값만으로 동작하는 circuit breaker
+    - CLOSED    : 모든 호출 허용, 최근 slidingWindowSize 건의 결과를 ring buffer 에 기록한다
+    - OPEN      : waitDurationInOpenState 동안 모든 호출 거부
+    - HALF_OPEN : permittedCallsInHalfOpenState 건만 허용하여 모두 성공하면 CLOSED, 하나라도 실패(또는 느림)하면 OPEN
+    성공 경로는 ring buffer slot 교체(getAndSet)와 counter 증감만 수행한다
+*/
+@Slf4j
+public class CircuitBreaker {
+
+    // ring buffer slot 값 : RECORDED | FAILURE | SLOW
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+    private static final int RECORDED = 4;
+
+    private final String name;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long waitNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final LongSupplier nanoTime;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    // OPEN 또는 HALF_OPEN 으로 전환된 시각
+    private final AtomicLong transitionedAt = new AtomicLong();
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    private volatile Window window;
+
+    public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    // nanoTime : OPEN 유지 시간 계산에 사용하는 시각 (테스트에서 시간을 직접 진행하기 위함)
+    public CircuitBreaker(String name, CircuitBreakerSettings settings, LongSupplier nanoTime) {
+        this.name = name;
+        this.slidingWindowSize = settings.getSlidingWindowSize();
+        this.minimumNumberOfCalls = settings.getMinimumNumberOfCalls();
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.slowCallNanos = settings.getSlowCallDurationThreshold().toNanos();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.waitNanos = settings.getWaitDurationInOpenState().toNanos();
+        this.permittedCallsInHalfOpenState = settings.getPermittedCallsInHalfOpenState();
+        this.nanoTime = nanoTime;
+        this.window = new Window(slidingWindowSize);
+    }
+
+    public boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+
+        long now = nanoTime.getAsLong();
+        long since = transitionedAt.get();
+        if (current == State.OPEN) {
+            if (now - since < waitNanos) {
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                halfOpenSuccesses.set(0);
+                halfOpenPermits.set(permittedCallsInHalfOpenState - 1);
+                transitionedAt.set(now);
+                log.info("circuit breaker {} : OPEN -> HALF_OPEN", name);
+                return true;
+            }
+            return tryAcquirePermission();
+        }
+
+        if (halfOpenPermits.getAndDecrement() > 0) {
+            return true;
+        }
+        // 허용한 호출이 취소되어 결과가 오지 않으면 HALF_OPEN 에 머무르므로 대기 시간이 지나면 다시 허용한다
+        if (now - since >= waitNanos && transitionedAt.compareAndSet(since, now)) {
+            halfOpenPermits.set(permittedCallsInHalfOpenState - 1);
+            return true;
+        }
+        return false;
+    }
+
+    public void onResult(long durationNanos, boolean failure) {
+        boolean slow = durationNanos >= slowCallNanos;
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (failure || slow) {
+                transitionToOpen(State.HALF_OPEN);
+            } else if (halfOpenSuccesses.incrementAndGet() >= permittedCallsInHalfOpenState
+                && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                window = new Window(slidingWindowSize);
+                log.info("circuit breaker {} : HALF_OPEN -> CLOSED", name);
+            }
+            return;
+        }
+        if (current != State.CLOSED) {
+            return;
+        }
+
+        Window recording = window;
+        recording.record(RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0));
+        int total = recording.total.get();
+        if (total < minimumNumberOfCalls) {
+            return;
+        }
+        if (recording.failures.get() * 100L >= (long) failureRateThreshold * total
+            || recording.slowCalls.get() * 100L >= (long) slowCallRateThreshold * total) {
+            transitionToOpen(State.CLOSED);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void transitionToOpen(State from) {
+        // OPEN 상태를 읽은 스레드가 이전 시각을 보지 않도록 시각을 먼저 기록한다
+        transitionedAt.set(nanoTime.getAsLong());
+        if (state.compareAndSet(from, State.OPEN)) {
+            log.warn("circuit breaker {} : {} -> OPEN", name, from);
+        }
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final class Window {
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        private void record(int outcome) {
+            int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+            int previous = outcomes.getAndSet(slot, outcome);
+            if (previous == 0) {
+                total.incrementAndGet();
+            }
+            int failureDelta = (outcome & FAILURE) - (previous & FAILURE);
+            if (failureDelta != 0) {
+                failures.addAndGet(failureDelta);
+            }
+            int slowDelta = ((outcome & SLOW) - (previous & SLOW)) / SLOW;
+            if (slowDelta != 0) {
+                slowCalls.addAndGet(slowDelta);
+            }
+        }
+    }
+}
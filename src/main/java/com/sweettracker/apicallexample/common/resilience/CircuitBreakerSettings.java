@@ -0,0 +1,35 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/*
+    circuit-breaker 설정 (spring.cloud.openfeign.client.config.{name}, http-interface.config.{name} 하위)
+    최근 sliding-window-size 건 중 실패율 또는 느린 호출 비율이 임계값 이상이면 OPEN 으로 전환한다
+*/
+@Getter
+@Setter
+public class CircuitBreakerSettings {
+
+    private boolean enabled = true;
+
+    private int slidingWindowSize = 100;
+
+    // 이 건수 이상 호출된 뒤부터 실패율을 계산한다
+    private int minimumNumberOfCalls = 20;
+
+    // 실패율 임계값 (%)
+    private int failureRateThreshold = 50;
+
+    // 이 시간 이상 걸린 호출은 느린 호출로 집계한다
+    private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+
+    // 느린 호출 비율 임계값 (%)
+    private int slowCallRateThreshold = 80;
+
+    // OPEN 상태 유지 시간 (이후 HALF_OPEN 으로 전환하여 일부 호출만 허용한다)
+    private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+    private int permittedCallsInHalfOpenState = 5;
+}
@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+/*
+    gradient 방식 : 장기 평균 RTT 와 최근 RTT 의 비율(gradient)로 limit 을 조정한다
+    gradient = clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0)
+    newLimit = limit * gradient + sqrt(limit)  (sqrt(limit) 만큼은 대기열을 허용하여 limit 이 늘어날 여지를 둔다)
+    downstream 이 계속 느린 상태로 유지되면 장기 평균도 따라 올라가므로 최소 RTT 를 따로 측정할 필요가 없다
+*/
+public class GradientLimit extends LimitAlgorithm {
+
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longWindow;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public GradientLimit(AdaptiveConcurrencyProperties properties) {
+        super(properties);
+        this.smoothing = properties.getGradient().getSmoothing();
+        this.rttTolerance = properties.getGradient().getRttTolerance();
+        this.longWindow = properties.getGradient().getLongWindow();
+    }
+
+    @Override
+    protected double nextLimit(int limit, long rttNanos, int inFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return limit;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        shortRttNanos += (rttNanos - shortRttNanos) * 0.5;
+
+        // 부하가 사라진 뒤 장기 평균이 높게 남아 있으면 빠르게 낮춘다
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (!saturated(limit, inFlight)) {
+            return limit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - smoothing) + newLimit * smoothing;
+    }
+}
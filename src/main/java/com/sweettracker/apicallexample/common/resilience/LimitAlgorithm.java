@@ -0,0 +1,42 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyProperties.Algorithm;
+
+/*
+    호출 결과(sample) 하나를 반영하여 새 limit 을 계산한다
+    AdaptiveConcurrencyLimiter 가 한 번에 한 스레드만 호출하므로 구현체는 내부 상태를 동기화하지 않는다
+*/
+public abstract class LimitAlgorithm {
+
+    protected final int minLimit;
+    protected final int maxLimit;
+    protected final double backoffRatio;
+
+    protected LimitAlgorithm(AdaptiveConcurrencyProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.backoffRatio = properties.getBackoffRatio();
+    }
+
+    public static LimitAlgorithm create(AdaptiveConcurrencyProperties properties) {
+        Algorithm algorithm = properties.getAlgorithm();
+        return switch (algorithm) {
+            case AIMD -> new AimdLimit(properties);
+            case VEGAS -> new VegasLimit(properties);
+            case GRADIENT -> new GradientLimit(properties);
+        };
+    }
+
+    public int update(int limit, long rttNanos, int inFlight, boolean dropped) {
+        double next = dropped ? limit * backoffRatio : nextLimit(limit, rttNanos, inFlight);
+        return (int) Math.max(minLimit, Math.min(maxLimit, Math.round(next)));
+    }
+
+    // drop 되지 않은 sample 의 새 limit
+    protected abstract double nextLimit(int limit, long rttNanos, int inFlight);
+
+    // 실제로 limit 근처까지 사용 중일 때만 limit 을 늘린다 (한가할 때 limit 이 무한히 커지지 않도록)
+    protected static boolean saturated(int limit, int inFlight) {
+        return inFlight * 2 >= limit;
+    }
+}
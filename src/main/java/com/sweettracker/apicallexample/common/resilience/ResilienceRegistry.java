@@ -0,0 +1,73 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/*
+    circuit breaker 는 클라이언트 + 메서드 별로, bulkhead 는 클라이언트(downstream) 별로 하나씩 생성한다
+    클라이언트는 호출 방식(feign, feignAsync, httpInterface)과 이름으로 구분한다 (key : {clientType}.{clientName})
+    - 같은 이름이라도 호출 방식마다 설정 블록이 다르므로 먼저 등록한 설정이 다른 방식에 적용되지 않도록 한다
+    - 한 호출 방식의 실패가 다른 호출 방식의 circuit breaker 를 OPEN 하지 않는다
+    proxy 생성 시점에 메서드마다 ResilientCall 을 만들어 두므로 호출 경로에서는 map 을 조회하지 않는다
+    metrics : resilience.circuit-breaker.state (0=CLOSED, 1=OPEN, 2=HALF_OPEN), resilience.bulkhead.available-calls
+*/
+@Component
+public class ResilienceRegistry {
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ResilienceRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ResilientCall call(String clientType, String clientName, String methodName,
+        BulkheadSettings bulkheadSettings, CircuitBreakerSettings circuitBreakerSettings) {
+        String client = key(clientType, clientName);
+        Bulkhead bulkhead = bulkheadSettings.isEnabled()
+            ? bulkheads.computeIfAbsent(client, name -> register(new Bulkhead(name, bulkheadSettings)))
+            : null;
+        CircuitBreaker circuitBreaker = circuitBreakerSettings.isEnabled()
+            ? circuitBreakers.computeIfAbsent(key(client, methodName),
+                name -> register(new CircuitBreaker(name, circuitBreakerSettings)))
+            : null;
+        return new ResilientCall(bulkhead, circuitBreaker);
+    }
+
+    public CircuitBreaker getCircuitBreaker(String clientType, String clientName, String methodName) {
+        return circuitBreakers.get(key(key(clientType, clientName), methodName));
+    }
+
+    public Bulkhead getBulkhead(String clientType, String clientName) {
+        return bulkheads.get(key(clientType, clientName));
+    }
+
+    private static String key(String prefix, String name) {
+        return prefix + "." + name;
+    }
+
+    private CircuitBreaker register(CircuitBreaker circuitBreaker) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("resilience.circuit-breaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .tag("name", circuitBreaker.getName())
+                .register(registry);
+        }
+        return circuitBreaker;
+    }
+
+    private Bulkhead register(Bulkhead bulkhead) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("resilience.bulkhead.available-calls", bulkhead, Bulkhead::availableCalls)
+                .tag("name", bulkhead.getName())
+                .register(registry);
+        }
+        return bulkhead;
+    }
+}
@@ -0,0 +1,108 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/*
+    메서드 하나에 적용되는 bulkhead + circuit breaker
+    - bulkhead 를 먼저 확보한 뒤 circuit breaker 의 허용 여부를 확인한다 (bulkhead 거부가 HALF_OPEN 허용 건수를 소모하지 않도록)
+    - NonRetryableApiCallException(4xx 등 요청 자체의 문제)은 downstream 장애가 아니므로 실패로 집계하지 않는다
+    - CallNotPermittedException(안쪽 adaptive concurrency limit 의 거부)도 호출하지 않은 요청이므로 실패로 집계하지 않는다
+      (부하를 줄이려고 거부한 요청 때문에 circuit breaker 가 OPEN 되지 않도록)
+    - bulkhead, circuitBreaker 는 비활성화된 경우 null 이다
+*/
+public class ResilientCall {
+
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public ResilientCall(Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Object execute(CheckedCall call) throws Throwable {
+        acquire();
+        long start = System.nanoTime();
+        try {
+            Object result = call.call();
+            onResult(start, null);
+            return result;
+        } catch (Throwable e) {
+            onResult(start, e);
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    // subscribe 시점에 허용 여부를 확인하고, 취소된 호출은 결과를 집계하지 않는다
+    public <T> Mono<T> executeMono(Supplier<? extends Mono<T>> call) {
+        return Mono.defer(() -> {
+            acquire();
+            long start = System.nanoTime();
+            return call.get()
+                .doOnSuccess(result -> onResult(start, null))
+                .doOnError(e -> onResult(start, e))
+                .doFinally(signal -> release());
+        });
+    }
+
+    // 호출 시점에 허용 여부를 확인하고 (거부되면 실패한 future), future 가 완료될 때 결과를 집계한다
+    public <T> CompletableFuture<T> executeAsync(Supplier<? extends CompletableFuture<T>> call) {
+        try {
+            acquire();
+        } catch (CallNotPermittedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            onResult(start, e);
+            release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            // 다른 future 에서 전파된 예외는 CompletionException 으로 감싸져 있다
+            Throwable failure = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            onResult(start, failure);
+            release();
+        });
+    }
+
+    private void acquire() {
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            throw new CallNotPermittedException(bulkhead.getName(), "bulkhead 의 최대 동시 호출 수를 초과했습니다.");
+        }
+        if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+            release();
+            throw new CallNotPermittedException(circuitBreaker.getName(), "circuit breaker 가 OPEN 상태입니다.");
+        }
+    }
+
+    private void release() {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+
+    private void onResult(long start, Throwable error) {
+        if (circuitBreaker != null) {
+            boolean failure = error != null && !(error instanceof NonRetryableApiCallException)
+                && !(error instanceof CallNotPermittedException);
+            circuitBreaker.onResult(System.nanoTime() - start, failure);
+        }
+    }
+
+    @FunctionalInterface
+    public interface CheckedCall {
+
+        Object call() throws Throwable;
+    }
+}
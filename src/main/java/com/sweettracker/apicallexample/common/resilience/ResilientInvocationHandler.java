@@ -0,0 +1,76 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import reactor.core.publisher.Mono;
+
+/*
+    http interface, feign async 클라이언트 proxy 를 한 번 더 감싸서 메서드마다 bulkhead + circuit breaker 를 적용한다
+    Mono 를 반환하는 메서드는 subscribe 시점에, 나머지는 호출 시점에 허용 여부를 확인한다
+    CompletableFuture 를 반환하는 메서드는 future 가 완료될 때 결과를 집계한다
+*/
+public class ResilientInvocationHandler implements InvocationHandler {
+
+    private final Object target;
+    private final Map<Method, ResilientCall> calls;
+
+    private ResilientInvocationHandler(Object target, Map<Method, ResilientCall> calls) {
+        this.target = target;
+        this.calls = calls;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target, String clientType, String clientName,
+        ResilienceRegistry registry, BulkheadSettings bulkheadSettings, CircuitBreakerSettings circuitBreakerSettings) {
+        Map<Method, ResilientCall> calls = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (!method.isDefault()) {
+                calls.put(method, registry.call(clientType, clientName, method.getName(),
+                    bulkheadSettings, circuitBreakerSettings));
+            }
+        }
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            new ResilientInvocationHandler(target, calls));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        ResilientCall call = calls.get(method);
+        if (call == null) {
+            return invokeTarget(method, args);
+        }
+        if (Mono.class.isAssignableFrom(method.getReturnType())) {
+            return call.executeMono(() -> {
+                try {
+                    return (Mono<Object>) invokeTarget(method, args);
+                } catch (Throwable e) {
+                    return Mono.error(e);
+                }
+            });
+        }
+        if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            return call.executeAsync(() -> {
+                try {
+                    return (CompletableFuture<Object>) invokeTarget(method, args);
+                } catch (Throwable e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            });
+        }
+        return call.execute(() -> invokeTarget(method, args));
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
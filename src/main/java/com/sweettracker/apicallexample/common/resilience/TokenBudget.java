@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    추가 요청(hedge, retry) 비율 제한 (token bucket)
+    기준 이벤트(요청 또는 성공 응답)마다 ratio 개의 token 을 적립하고 추가 요청은 token 1개를 사용한다
+    downstream 이 장애 상태여도 추가 요청은 기준 이벤트 수 * ratio 를 넘지 않는다
+*/
+public class TokenBudget {
+
+    // token 1개 = 1000 (소수점 비율을 정수로 계산하기 위한 단위)
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    // maxTokens : 한가할 때 적립된 token 으로 한 번에 보낼 수 있는 최대 추가 요청 수
+    public TokenBudget(double ratio, int maxTokens) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.maxBalance = maxTokens * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + deposit)));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sweettracker.apicallexample.common.resilience;
+
+/*
+    TCP Vegas 방식 : 최소 RTT 대비 현재 RTT 로 downstream 에 쌓인 대기열 크기를 추정한다
+    queue = limit * (1 - minRtt / rtt)
+    - queue < alpha : limit + 1
+    - queue > beta  : limit - 1
+*/
+public class VegasLimit extends LimitAlgorithm {
+
+    private final int alpha;
+    private final int beta;
+    private final int probeInterval;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samples;
+
+    public VegasLimit(AdaptiveConcurrencyProperties properties) {
+        super(properties);
+        this.alpha = properties.getVegas().getAlpha();
+        this.beta = properties.getVegas().getBeta();
+        this.probeInterval = properties.getVegas().getProbeInterval();
+    }
+
+    @Override
+    protected double nextLimit(int limit, long rttNanos, int inFlight) {
+        if (++samples >= probeInterval) {
+            samples = 0;
+            minRttNanos = rttNanos;
+            return limit;
+        }
+        if (rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+            return limit;
+        }
+
+        double queue = limit * (1 - (double) minRttNanos / rttNanos);
+        if (queue < alpha) {
+            return saturated(limit, inFlight) ? limit + 1 : limit;
+        }
+        if (queue > beta) {
+            return limit - 1;
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sweettracker.apicallexample.common.retry;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.resilience.TokenBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/*
+    downstream(클라이언트 이름) 하나의 재시도 정책
+    - 재시도 가능 여부 : RetryableApiCallException, 원인에 I/O 에러(IOException, TimeoutException)가 있는 예외
+    - 대기 시간 : decorrelated jitter (재시도가 같은 시점에 몰리지 않도록 이전 delay 를 기준으로 무작위로 늘린다)
+    - 재시도 budget : 성공 응답마다 token 을 적립하고 재시도마다 1개를 사용한다 (downstream 장애 시 재시도 폭주 방지)
+    호출마다 newAttempts() 로 시도 횟수와 이전 delay 를 관리한다
+*/
+public class Retrier {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final Set<String> methods;
+    private final TokenBudget budget;
+    private final Counter retryCounter;
+    private final Counter exhaustedCounter;
+    private final Counter budgetExhaustedCounter;
+
+    public Retrier(String name, RetryProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maxAttempts = properties.getMaxAttempts();
+        this.baseDelayNanos = properties.getBaseDelay().toNanos();
+        this.maxDelayNanos = properties.getMaxDelay().toNanos();
+        this.methods = properties.getMethods();
+        this.budget = new TokenBudget(properties.getBudget().getRatio(), properties.getBudget().getMaxTokens());
+        this.retryCounter = counter(meterRegistry, name, "retried");
+        this.exhaustedCounter = counter(meterRegistry, name, "attempts-exhausted");
+        this.budgetExhaustedCounter = counter(meterRegistry, name, "budget-exhausted");
+    }
+
+    public boolean isRetryableMethod(String method) {
+        return enabled && methods.contains(method);
+    }
+
+    public boolean isRetryableStatus(int status) {
+        return ApiCallException.isRetryable(status);
+    }
+
+    public boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiCallException apiCallException) {
+                return apiCallException.isRetryable();
+            }
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 재시도 대상이 아닌 응답(성공, 4xx)을 받은 경우 budget 을 적립한다
+    public void onSuccess() {
+        budget.deposit();
+    }
+
+    public Attempts newAttempts() {
+        return new Attempts();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return meterRegistry == null ? null
+            : Counter.builder("retry.calls").tag("name", name).tag("result", result).register(meterRegistry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    // 호출 하나의 재시도 상태 (한 호출 안에서만 사용하므로 동기화하지 않는다)
+    public final class Attempts {
+
+        private int attempt = 1;
+        private long previousDelayNanos = baseDelayNanos;
+
+        /*
+            재시도할 수 있으면 대기할 시간(nanos), 시도 횟수나 budget 을 모두 사용했으면 -1
+            delay = min(maxDelay, random(baseDelay, 이전 delay * 3))
+        */
+        public long nextDelayNanos() {
+            if (attempt >= maxAttempts) {
+                increment(exhaustedCounter);
+                return -1;
+            }
+            if (!budget.tryWithdraw()) {
+                increment(budgetExhaustedCounter);
+                return -1;
+            }
+            attempt++;
+            increment(retryCounter);
+
+            long upper = Math.max(baseDelayNanos + 1, previousDelayNanos * 3);
+            long delay = Math.min(maxDelayNanos, ThreadLocalRandom.current().nextLong(baseDelayNanos, upper));
+            previousDelayNanos = delay;
+            return delay;
+        }
+
+        public int getAttempt() {
+            return attempt;
+        }
+    }
+}
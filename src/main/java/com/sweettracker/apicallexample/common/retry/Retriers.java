@@ -0,0 +1,29 @@
+package com.sweettracker.apicallexample.common.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/*
+    downstream(클라이언트 이름) 별 Retrier (retry budget 을 같은 downstream 을 호출하는 모든 클라이언트가 공유한다)
+    metrics : retry.calls{name, result=retried|attempts-exhausted|budget-exhausted}
+*/
+@Component
+public class Retriers {
+
+    private final RetryProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentMap<String, Retrier> retriers = new ConcurrentHashMap<>();
+
+    public Retriers(RetryProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Retrier get(String name) {
+        return retriers.computeIfAbsent(name,
+            key -> new Retrier(key, properties, meterRegistry.getIfAvailable()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.common.retry;
+
+import java.time.Duration;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    retry 설정 (feignClient, httpInterface/WebClient, restClient 공통)
+    재시도 가능으로 분류된 에러(RetryableApiCallException, I/O 에러)만 재시도한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "retry")
+public class RetryProperties {
+
+    private boolean enabled = true;
+
+    // 최초 요청을 포함한 최대 시도 횟수
+    private int maxAttempts = 3;
+
+    // decorrelated jitter : delay = random(baseDelay, 이전 delay * 3) (maxDelay 이하)
+    private Duration baseDelay = Duration.ofMillis(50);
+
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /*
+        재시도하는 HTTP method (요청이 두 번 처리되어도 결과가 같은 method 만 지정한다)
+        PUT, DELETE 도 멱등이지만 chunk 업로드처럼 body 를 다시 읽을 수 없는 요청이 있으므로 기본값에서 제외한다
+    */
+    private Set<String> methods = Set.of("GET", "HEAD", "OPTIONS");
+
+    private Budget budget = new Budget();
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        // 성공 응답 1건당 적립되는 재시도 token (0.1 이면 재시도는 성공 요청 수의 10% 이하)
+        private double ratio = 0.1;
+
+        // 최대 적립 token 수 (downstream 별)
+        private int maxTokens = 10;
+    }
+}
@@ -0,0 +1,18 @@
+package com.sweettracker.apicallexample.common.serialization;
+
+import org.springframework.http.MediaType;
+
+/*
+    내부 서비스 간 호출에 사용하는 binary 직렬화 content type
+    Content-Type 으로 요청 body, Accept 로 응답 body 형식을 지정한다 (지정하지 않으면 JSON)
+*/
+public final class BinaryMediaTypes {
+
+    // Jackson Smile (JSON 과 같은 데이터 모델의 binary 형식, 반복되는 필드 이름을 back reference 로 줄인다)
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private BinaryMediaTypes() {
+    }
+}
@@ -0,0 +1,24 @@
+package com.sweettracker.apicallexample.common.serialization;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/*
+    pooled-json 설정 (feignClient, restClient 요청 body JSON 직렬화)
+    직렬화에 사용하는 buffer 를 요청마다 만들지 않고 pool 에서 재사용한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pooled-json")
+public class PooledJsonProperties {
+
+    private boolean enabled = true;
+
+    // 보관하는 buffer 수 (동시에 직렬화하는 스레드 수보다 적으면 초과분은 새로 만들어 사용한다)
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+    // 이보다 커진 출력 buffer 는 반납하지 않는다 (큰 요청 한 번으로 늘어난 buffer 를 계속 붙잡고 있지 않도록)
+    private DataSize maxRetainedSize = DataSize.ofKilobytes(64);
+}
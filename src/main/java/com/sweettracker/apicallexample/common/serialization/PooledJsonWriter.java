@@ -0,0 +1,111 @@
+package com.sweettracker.apicallexample.common.serialization;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+    요청 body JSON 직렬화 (pooled-json)
+    요청마다 새 buffer 를 만들지 않고 pool 에서 빌려 쓰고 반납한다
+    - JsonGenerator 내부 buffer(BufferRecycler) : 기본 ThreadLocal 대신 크기가 제한된 pool 을 사용한다
+      (ThreadLocal 은 virtual thread 마다 새로 만들어지므로 virtual thread 에서는 재사용되지 않는다)
+    - 출력 buffer : 스레드 id 로 stripe 를 골라 빌려 쓴다 (비어있으면 새로 만들고, 반납할 자리가 없으면 버린다)
+    spring.jackson.* 설정이 적용된 ObjectMapper 를 복사하여 사용하므로 직렬화 결과는 기본 converter 와 같다
+*/
+@Component
+@ConditionalOnProperty(value = "pooled-json.enabled", havingValue = "true", matchIfMissing = true)
+public class PooledJsonWriter {
+
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final AtomicReferenceArray<Buffer> stripes;
+    private final int mask;
+    private final int maxRetainedBytes;
+
+    public PooledJsonWriter(ObjectMapper objectMapper, PooledJsonProperties properties) {
+        this.objectMapper = objectMapper.copy();
+        this.objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.newBoundedPool(properties.getPoolSize()));
+        this.writer = this.objectMapper.writer();
+
+        int size = Integer.highestOneBit(Math.max(2, properties.getPoolSize() - 1)) << 1;
+        this.stripes = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.maxRetainedBytes = (int) properties.getMaxRetainedSize().toBytes();
+    }
+
+    // 내부 buffer pool 이 적용된 ObjectMapper (restClient converter 처럼 출력 stream 에 바로 쓰는 경우 사용한다)
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /*
+        value 를 JSON 으로 직렬화한다
+        pool 의 buffer 에 직렬화한 뒤 정확한 크기의 배열로 한 번만 복사하므로 결과 배열 외에는 할당하지 않는다
+    */
+    public byte[] writeValueAsBytes(Object value) throws IOException {
+        int index = (int) Thread.currentThread().threadId() & mask;
+        Buffer buffer = stripes.getAndSet(index, null);
+        if (buffer == null) {
+            buffer = new Buffer(INITIAL_BUFFER_SIZE);
+        }
+        try {
+            writer.writeValue(buffer, value);
+            return buffer.toByteArray();
+        } finally {
+            if (buffer.capacity() <= maxRetainedBytes) {
+                buffer.reset();
+                stripes.compareAndSet(index, null, buffer);
+            }
+        }
+    }
+
+    // 재사용하는 출력 buffer (동기화하지 않으므로 빌린 스레드만 사용한다)
+    private static final class Buffer extends OutputStream {
+
+        private byte[] bytes;
+        private int count;
+
+        private Buffer(int size) {
+            this.bytes = new byte[size];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, count);
+        }
+
+        private int capacity() {
+            return bytes.length;
+        }
+
+        private void reset() {
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sweettracker.apicallexample.common.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/*
+    application/x-jackson-smile 직렬화 설정
+    spring.jackson.* 설정이 적용된 Jackson2ObjectMapperBuilder 로 Smile ObjectMapper 를 만들어 JSON 과 같은 규칙으로 직렬화한다
+    - TestController, feignClient(SpringEncoder/SpringDecoder) : HttpMessageConverters 에 converter 빈으로 등록된다
+    - restClient : RestClientConfig 에서 기본 converter 를 교체한다
+    - webClient, httpInterface : HttpInterfaceConfig 에서 같은 ObjectMapper 로 기본 Smile codec 을 교체한다
+    [ CAUTION ]
+    ObjectMapper 를 빈으로 등록하면 spring boot 의 기본 ObjectMapper 가 생성되지 않으므로 converter 만 빈으로 등록한다
+*/
+@Configuration
+public class SmileConfig {
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = builder.createXmlMapper(false)
+            .factory(new SmileFactory())
+            .build();
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper);
+    }
+}
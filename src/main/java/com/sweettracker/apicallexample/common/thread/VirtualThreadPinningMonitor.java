@@ -0,0 +1,94 @@
+package com.sweettracker.apicallexample.common.thread;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/*
+    virtual thread pinning 진단
+    synchronized 블록이나 native 호출 안에서 blocking I/O 가 발생하면 virtual thread 가 carrier thread 에 고정(pinning)된다
+    JFR jdk.VirtualThreadPinned 이벤트를 구독하여 임계값 이상 고정된 경우 stack trace 를 로그로 남기고
+    jvm.threads.virtual.pinned 카운터를 증가시킨다 (transport 내부 synchronized 확인용)
+*/
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(value = "virtual-thread.pinning-monitor.enabled", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 30;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+        @Value("${virtual-thread.pinning-monitor.threshold:20ms}") Duration threshold,
+        MeterRegistry meterRegistry
+    ) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+            .description("virtual thread 가 carrier thread 에 고정된 횟수")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        this.recordingStream = stream;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = this.recordingStream;
+        if (stream != null) {
+            stream.close();
+            this.recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        log.warn("virtual thread pinned {}ms thread={}\n{}",
+            event.getDuration().toMillis(),
+            event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+            format(event.getStackTrace()));
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(MAX_FRAMES)
+            .map(VirtualThreadPinningMonitor::format)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName()
+            + "." + frame.getMethod().getName()
+            + "(line:" + frame.getLineNumber() + ")";
+    }
+}
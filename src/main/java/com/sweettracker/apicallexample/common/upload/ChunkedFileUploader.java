@@ -0,0 +1,147 @@
+package com.sweettracker.apicallexample.common.upload;
+
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32C;
+
+/*
+    /test/upload-sessions chunk 업로드 클라이언트
+    파일을 chunkSize 단위로 나누어 concurrency 개의 작업이 동시에 전송하고 (메모리 사용량 = concurrency * chunkSize)
+    일부 chunk 가 실패하면 세션을 다시 조회하여 서버가 받지 못한 chunk 만 재전송한다
+    실제 호출은 하위 클래스가 각 클라이언트(httpInterface, feignClient)로 구현한다
+*/
+public abstract class ChunkedFileUploader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_CONCURRENCY = 4;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Executor executor;
+
+    protected ChunkedFileUploader(Executor executor) {
+        this.executor = executor;
+    }
+
+    protected abstract UploadSessionResponse begin(BeginUploadRequest request);
+
+    protected abstract UploadSessionResponse status(String sessionId);
+
+    protected abstract void uploadChunk(String sessionId, int index, String checksum, byte[] chunk);
+
+    protected abstract UploadSessionResponse commit(String sessionId);
+
+    public UploadSessionResponse upload(Path file) {
+        return upload(file, DEFAULT_CHUNK_SIZE, DEFAULT_CONCURRENCY);
+    }
+
+    public UploadSessionResponse upload(Path file, int chunkSize, int concurrency) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        UploadSessionResponse session = begin(
+            new BeginUploadRequest(file.getFileName().toString(), size, chunkSize));
+        return resume(session.sessionId(), file, concurrency);
+    }
+
+    /*
+        ChunkedUploadException 이 발생한 경우 예외의 sessionId 로 호출하면
+        서버가 받지 못한 chunk 만 전송한 뒤 commit 한다
+        전송은 MAX_ATTEMPTS 번까지만 하며 (전송이 성공해도 서버가 계속 받지 못했다고 응답하는 경우 포함)
+        그 뒤에도 받지 못한 chunk 가 있으면 ChunkedUploadException 을 던진다
+    */
+    public UploadSessionResponse resume(String sessionId, Path file, int concurrency) {
+        List<Throwable> failures = List.of();
+        for (int attempt = 1; ; attempt++) {
+            UploadSessionResponse session = status(sessionId);
+            if (session.missingChunks().isEmpty()) {
+                return commit(sessionId);
+            }
+            if (attempt > MAX_ATTEMPTS) {
+                throw uploadFailed(sessionId, session, failures);
+            }
+            failures = uploadChunks(session, file, concurrency);
+        }
+    }
+
+    // 마지막 전송의 실패를 cause 로, 실패 없이 받지 못한 chunk 가 남은 경우 그 목록을 cause 로 한다
+    private static ChunkedUploadException uploadFailed(String sessionId, UploadSessionResponse session,
+        List<Throwable> failures) {
+        if (failures.isEmpty()) {
+            return new ChunkedUploadException(sessionId, new IllegalStateException(
+                "재전송 후에도 서버가 받지 못한 chunk 가 있습니다. missingChunks=" + session.missingChunks()));
+        }
+        ChunkedUploadException exception = new ChunkedUploadException(sessionId, failures.get(0));
+        failures.stream().skip(1).forEach(exception::addSuppressed);
+        return exception;
+    }
+
+    private List<Throwable> uploadChunks(UploadSessionResponse session, Path file, int concurrency) {
+        Queue<Integer> remaining = new ConcurrentLinkedQueue<>(session.missingChunks());
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int workers = Math.min(concurrency, remaining.size());
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+            for (int i = 0; i < workers; i++) {
+                futures[i] = CompletableFuture.runAsync(
+                    () -> uploadRemaining(session, channel, remaining, failures), executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(failures);
+    }
+
+    // 작업마다 chunk 버퍼 하나를 재사용한다
+    private void uploadRemaining(UploadSessionResponse session, FileChannel channel,
+        Queue<Integer> remaining, Queue<Throwable> failures) {
+        byte[] buffer = new byte[session.chunkSize()];
+        Integer index;
+        while ((index = remaining.poll()) != null) {
+            try {
+                long position = (long) index * session.chunkSize();
+                int length = (int) Math.min(session.chunkSize(), session.size() - position);
+                read(channel, buffer, length, position);
+
+                CRC32C crc = new CRC32C();
+                crc.update(buffer, 0, length);
+                byte[] chunk = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+                uploadChunk(session.sessionId(), index,
+                    HexFormat.of().toHexDigits((int) crc.getValue()), chunk);
+            } catch (IOException e) {
+                failures.add(new UncheckedIOException(e));
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        }
+    }
+
+    private static void read(FileChannel channel, byte[] buffer, int length, long position)
+        throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+        while (byteBuffer.hasRemaining()) {
+            if (channel.read(byteBuffer, position + byteBuffer.position()) < 0) {
+                throw new IOException("파일이 예상보다 작습니다.");
+            }
+        }
+    }
+}
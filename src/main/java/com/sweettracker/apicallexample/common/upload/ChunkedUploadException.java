@@ -0,0 +1,15 @@
+package com.sweettracker.apicallexample.common.upload;
+
+import lombok.Getter;
+
+// sessionId 로 ChunkedFileUploader.resume 을 호출하면 실패한 chunk 부터 이어서 업로드한다
+@Getter
+public class ChunkedUploadException extends RuntimeException {
+
+    private final String sessionId;
+
+    public ChunkedUploadException(String sessionId, Throwable cause) {
+        super("chunk 업로드에 실패했습니다. sessionId=" + sessionId, cause);
+        this.sessionId = sessionId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiter;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiter.Permit;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/*
+    WebClient 용 adaptive concurrency limit
+    event loop 를 막지 않도록 limit 을 초과하면 대기하지 않고 바로 CallNotPermittedException 으로 거부한다
+    RTT 는 응답 header 를 받은 시점까지이며, 재시도 대상 status(429, 5xx 등)는 drop 으로 집계한다
+*/
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveConcurrencyLimiters limiters;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Permit permit = limiter.tryAcquire();
+            if (permit == null) {
+                return Mono.error(limiters.rejected(limiter));
+            }
+            return next.exchange(request)
+                .doOnNext(response -> {
+                    if (ApiCallException.isRetryable(response.statusCode().value())) {
+                        permit.onDropped();
+                    } else {
+                        permit.onSuccess();
+                    }
+                })
+                .doOnError(e -> permit.onDropped())
+                .doFinally(signal -> permit.onIgnore());
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    WebClient 용 요청 body 압축 (client-compression)
+    body writer 가 Content-Length 를 정한 뒤 writeWith 를 호출하는 시점에 압축 대상인지 판단하고 DataBuffer 단위로 압축한다
+    (bodyValue 로 보낸 JSON, form 요청 / 길이를 모르는 stream, multipart 는 그대로 보낸다)
+    응답 해제는 reactor netty 의 HttpClient.compress(true) 로 처리한다 (HttpInterfaceClientFactory)
+*/
+@RequiredArgsConstructor
+public class CompressionFilter implements ExchangeFilterFunction {
+
+    private final ContentCompression compression;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.headers().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return next.exchange(request);
+        }
+        ClientRequest compressing = ClientRequest.from(request)
+            .body((outputMessage, context) -> request.body().insert(new CompressingRequest(outputMessage), context))
+            .build();
+        return next.exchange(compressing);
+    }
+
+    private final class CompressingRequest extends ClientHttpRequestDecorator {
+
+        private CompressingRequest(ClientHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!compression.shouldCompress(headers.getContentType(), headers.getContentLength())) {
+                return super.writeWith(body);
+            }
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, compression.getEncoding());
+            return super.writeWith(compression.compress(Flux.from(body), bufferFactory()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.hedge.RequestHedger;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/*
+    WebClient 용 hedging (GET, HEAD)
+    원래 요청이 percentile 지연 안에 응답하지 않으면 budget 이 남은 경우 같은 요청을 한 번 더 보낸다
+    먼저 응답(또는 에러)한 쪽을 사용하고 나머지 요청은 cancel 하여 커넥션을 반납한다
+*/
+@RequiredArgsConstructor
+public class HedgingFilter implements ExchangeFilterFunction {
+
+    private final RequestHedger hedger;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!RequestHedger.isHedgeable(request.method())) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            Duration delay = Duration.ofNanos(hedger.onRequest());
+            Mono<ClientResponse> primary = timed(next.exchange(request));
+            Mono<ClientResponse> hedge = Mono.delay(delay)
+                .flatMap(tick -> hedger.tryHedge()
+                    ? timed(next.exchange(request)).doOnNext(response -> hedger.onHedgeWon())
+                    : Mono.never());
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    private Mono<ClientResponse> timed(Mono<ClientResponse> exchange) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return exchange
+                .doOnNext(response -> hedger.record(System.nanoTime() - start))
+                .doOnCancel(() -> hedger.record(System.nanoTime() - start));
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.upload.ChunkedFileUploader;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// TestHttpInterface 를 사용하는 chunk 업로드 (chunk 는 test 커넥션 풀을 통해 병렬로 전송된다)
+@Component
+public class HttpInterfaceChunkedUploader extends ChunkedFileUploader {
+
+    private final TestHttpInterface testHttpInterface;
+
+    public HttpInterfaceChunkedUploader(
+        TestHttpInterface testHttpInterface,
+        @Qualifier("applicationTaskExecutor") Executor executor
+    ) {
+        super(executor);
+        this.testHttpInterface = testHttpInterface;
+    }
+
+    @Override
+    protected UploadSessionResponse begin(BeginUploadRequest request) {
+        return testHttpInterface.beginUpload(request);
+    }
+
+    @Override
+    protected UploadSessionResponse status(String sessionId) {
+        return testHttpInterface.getUploadSession(sessionId);
+    }
+
+    @Override
+    protected void uploadChunk(String sessionId, int index, String checksum, byte[] chunk) {
+        testHttpInterface.uploadChunk(sessionId, index, checksum, chunk);
+    }
+
+    @Override
+    protected UploadSessionResponse commit(String sessionId) {
+        return testHttpInterface.commitUpload(sessionId);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import com.sweettracker.apicallexample.common.h2c.H2cProperties;
+import com.sweettracker.apicallexample.http_interface.HttpInterfaceProperties.ClientConfig;
+import com.sweettracker.apicallexample.http_interface.HttpInterfaceProperties.LeaseOrder;
+import com.sweettracker.apicallexample.http_interface.HttpInterfaceProperties.Pool;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/*
+    http interface 이름별 WebClient.Builder 생성
+    전역 공유 풀 대신 이름별 ConnectionProvider 와 LoopResources 를 사용하므로
+    하나의 downstream 이 포화되어도 다른 클라이언트의 소켓과 event loop 에는 영향을 주지 않는다
+    h2c.enabled=true 이면 HTTP/2 prior knowledge 로 연결하고 h2c.max-connections 개의 커넥션에 stream 을 나누어 보낸다
+    client-compression.enabled=true 이면 Accept-Encoding: gzip 을 보내고 압축된 응답을 netty decoder 로 해제한다
+*/
+@Component
+@RequiredArgsConstructor
+public class HttpInterfaceClientFactory implements DisposableBean {
+
+    private static final String PREFIX = "http-interface-";
+
+    private final HttpInterfaceProperties properties;
+    private final H2cProperties h2cProperties;
+    private final ObjectProvider<ContentCompression> contentCompression;
+    private final List<Disposable> resources = new CopyOnWriteArrayList<>();
+
+    public WebClient.Builder webClientBuilder(String name) {
+        ClientConfig config = properties.getConfig(name);
+
+        ConnectionProvider connectionProvider = connectionProvider(name, config.getPool());
+        LoopResources loopResources = LoopResources
+            .create(PREFIX + name, config.getLoop().getWorkerCount(), true);
+        resources.add(connectionProvider);
+        resources.add(loopResources);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .runOn(loopResources);
+        if (h2cProperties.isEnabled()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C);
+        }
+        if (contentCompression.getIfAvailable() != null) {
+            httpClient = httpClient.compress(true);
+        }
+
+        return WebClient.builder()
+            .baseUrl(config.getUrl())
+            .clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    @Override
+    public void destroy() {
+        resources.forEach(Disposable::dispose);
+    }
+
+    private ConnectionProvider connectionProvider(String name, Pool pool) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(PREFIX + name)
+            .maxConnections(pool.getMaxConnections())
+            .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+            .maxIdleTime(pool.getMaxIdleTime())
+            .maxLifeTime(pool.getMaxLifeTime())
+            .evictInBackground(pool.getEvictionInterval())
+            .metrics(pool.isMetrics());
+        if (h2cProperties.isEnabled()) {
+            // HTTP/2 커넥션은 stream 단위로 나누어 쓰므로 커넥션 수 대신 커넥션당 stream 수로 동시 요청을 제한한다
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                .maxConnections(h2cProperties.getMaxConnections())
+                .maxConcurrentStreams(h2cProperties.getMaxConcurrentStreams())
+                .minConnections(1)
+                .build());
+        }
+
+        if (pool.getLeaseOrder() == LeaseOrder.FIFO) {
+            return builder.fifo().build();
+        }
+        return builder.lifo().build();
+    }
+}
@@ -1,30 +1,89 @@
 package com.sweettracker.apicallexample.http_interface;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.common.hedge.RequestHedgers;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiters;
+import com.sweettracker.apicallexample.common.resilience.ResilienceRegistry;
+import com.sweettracker.apicallexample.common.resilience.ResilientInvocationHandler;
+import com.sweettracker.apicallexample.common.retry.Retriers;
+import com.sweettracker.apicallexample.http_interface.HttpInterfaceProperties.ClientConfig;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
-import reactor.core.publisher.Mono;
 
 @Configuration
 public class HttpInterfaceConfig {
 
+    // 응답 body 를 메모리에 모을 수 있는 최대 크기 (큰 파일은 DataBuffer 스트림으로 처리한다)
+    private static final int MAX_IN_MEMORY_SIZE = (int) DataSize.ofMegabytes(1).toBytes();
+
     @Bean
-    TestHttpInterface testHttpInterface() {
-        WebClient webClient = WebClient.builder()
-            .baseUrl("http://localhost:8080")
+    WebClient testWebClient(HttpInterfaceClientFactory clientFactory,
+        ApiCallExceptionFactory apiCallExceptionFactory,
+        ObjectProvider<ResponseCache> responseCache,
+        ObjectProvider<RequestHedgers> requestHedgers,
+        ObjectProvider<AdaptiveConcurrencyLimiters> concurrencyLimiters,
+        ObjectProvider<ContentCompression> contentCompression,
+        Retriers retriers,
+        ApiCallMetrics apiCallMetrics,
+        ExchangeLogger exchangeLogger,
+        MappingJackson2SmileHttpMessageConverter smileConverter) {
+        WebClient.Builder builder = clientFactory.webClientBuilder("test")
             .defaultHeader("key", "val")
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1))
-            .defaultStatusHandler(HttpStatusCode::isError,
-                res -> res.bodyToMono(String.class)
-                    .flatMap(body -> Mono.error(new RuntimeException(body))))
-            .build();
+            .codecs(configurer -> {
+                configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE);
+                // application/x-jackson-smile 은 서버, 다른 클라이언트와 같은 ObjectMapper 설정을 사용한다
+                ObjectMapper smileMapper = smileConverter.getObjectMapper();
+                configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+                configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+            })
+            // 에러 응답 body 전체를 String 으로 모으지 않고 앞부분만 읽어 ApiCallException 으로 변환한다
+            .defaultStatusHandler(HttpStatusCode::isError, apiCallExceptionFactory::create);
+        // response-cache.enabled=true 인 경우 GET 응답 캐시
+        responseCache.ifAvailable(cache -> builder.filter(new WebClientResponseCacheFilter(cache)));
+        // retry.* 설정의 재시도 (시도마다 hedging, concurrency limit 이 다시 적용되도록 캐시 filter 바로 안쪽)
+        builder.filter(new RetryFilter(retriers.get("test")));
+        // hedging.enabled=true 인 경우 느린 GET 요청을 한 번 더 보낸다 (캐시 filter 안쪽)
+        requestHedgers.ifAvailable(hedgers -> builder.filter(new HedgingFilter(hedgers.get("test"))));
+        // adaptive-concurrency.enabled=true 인 경우 동시 호출 수 제한 (hedge 요청도 limit 을 사용한다)
+        concurrencyLimiters.ifAvailable(limiters ->
+            builder.filter(new AdaptiveConcurrencyFilter(limiters, limiters.get("test"))));
+        // client-compression.enabled=true 인 경우 요청 body 압축 (시도마다 body 를 다시 쓰므로 재시도 filter 안쪽)
+        contentCompression.ifAvailable(compression -> builder.filter(new CompressionFilter(compression)));
+        // 요청(시도)별 로그 (exchange-log)
+        builder.filter(new LoggingFilter(exchangeLogger, "webClient"));
+        // 요청(시도)별 응답 시간 api.client.requests (마지막 filter)
+        builder.filter(new MetricsFilter(apiCallMetrics, "webClient"));
+        return builder.build();
+    }
 
-        return HttpServiceProxyFactory.builder()
+    // 메서드별 circuit breaker, 클라이언트별 bulkhead (http-interface.config.{name}.circuit-breaker, bulkhead)
+    @Bean
+    TestHttpInterface testHttpInterface(WebClient testWebClient, HttpInterfaceProperties properties,
+        ResilienceRegistry resilienceRegistry) {
+        // api.client.requests 의 client tag, exchange 로그의 client 를 webClient 와 구분한다
+        WebClient webClient = testWebClient.mutate()
+            .defaultRequest(spec -> spec.attribute(MetricsFilter.CLIENT_ATTRIBUTE, "httpInterface"))
+            .build();
+        TestHttpInterface client = HttpServiceProxyFactory.builder()
             .exchangeAdapter(WebClientAdapter.create(webClient))
             .build()
             .createClient(TestHttpInterface.class);
+        ClientConfig config = properties.getConfig("test");
+        return ResilientInvocationHandler.wrap(TestHttpInterface.class, client, "httpInterface", "test",
+            resilienceRegistry, config.getBulkhead(), config.getCircuitBreaker());
     }
 }
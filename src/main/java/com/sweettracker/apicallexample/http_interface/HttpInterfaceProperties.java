@@ -0,0 +1,96 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.resilience.BulkheadSettings;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    http-interface.config.{name} 설정
+    http interface 마다 전용 ConnectionProvider 와 LoopResources 를 생성하고 circuit breaker, bulkhead 를 적용하기 위한 값이며
+    이름에 해당하는 pool, loop, circuit-breaker, bulkhead 설정이 없으면 default 설정을 사용한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-interface")
+public class HttpInterfaceProperties {
+
+    private static final String DEFAULT_CONFIG = "default";
+
+    private Map<String, ClientConfig> config = new HashMap<>();
+
+    public ClientConfig getConfig(String name) {
+        ClientConfig clientConfig = config.getOrDefault(name, new ClientConfig());
+        ClientConfig defaultConfig = config.getOrDefault(DEFAULT_CONFIG, new ClientConfig());
+
+        ClientConfig resolved = new ClientConfig();
+        resolved.setUrl(clientConfig.getUrl());
+        resolved.setPool(clientConfig.getPool() != null ? clientConfig.getPool()
+            : defaultConfig.getPool() != null ? defaultConfig.getPool() : new Pool());
+        resolved.setLoop(clientConfig.getLoop() != null ? clientConfig.getLoop()
+            : defaultConfig.getLoop() != null ? defaultConfig.getLoop() : new Loop());
+        resolved.setCircuitBreaker(clientConfig.getCircuitBreaker() != null ? clientConfig.getCircuitBreaker()
+            : defaultConfig.getCircuitBreaker() != null ? defaultConfig.getCircuitBreaker() : new CircuitBreakerSettings());
+        resolved.setBulkhead(clientConfig.getBulkhead() != null ? clientConfig.getBulkhead()
+            : defaultConfig.getBulkhead() != null ? defaultConfig.getBulkhead() : new BulkheadSettings());
+        return resolved;
+    }
+
+    @Getter
+    @Setter
+    public static class ClientConfig {
+
+        private String url;
+
+        private Pool pool;
+
+        private Loop loop;
+
+        private CircuitBreakerSettings circuitBreaker;
+
+        private BulkheadSettings bulkhead;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private int maxConnections = 200;
+
+        // 커넥션 획득 대기열 최대 크기 (초과시 즉시 실패)
+        private int pendingAcquireMaxCount = 1000;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        // maxIdleTime, maxLifeTime 이 지난 커넥션을 백그라운드에서 정리하는 주기
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /*
+            LIFO : 최근 사용한 커넥션을 우선 사용하여 나머지 커넥션이 idle 로 정리되도록 한다
+            FIFO : 커넥션을 고르게 사용한다
+        */
+        private LeaseOrder leaseOrder = LeaseOrder.LIFO;
+
+        // reactor.netty.connection.provider.* 게이지를 micrometer 에 등록한다
+        private boolean metrics = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Loop {
+
+        private int workerCount = Runtime.getRuntime().availableProcessors();
+    }
+
+    public enum LeaseOrder {
+        LIFO, FIFO
+    }
+}
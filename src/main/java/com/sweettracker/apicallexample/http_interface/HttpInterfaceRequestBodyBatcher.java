@@ -0,0 +1,33 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.batch.RequestBodyBatchProperties;
+import com.sweettracker.apicallexample.common.batch.RequestBodyBatcher;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// TestHttpInterface.postTestBatch 로 묶어서 전송한다
+@Component
+public class HttpInterfaceRequestBodyBatcher extends RequestBodyBatcher {
+
+    private final TestHttpInterface testHttpInterface;
+
+    public HttpInterfaceRequestBodyBatcher(
+        TestHttpInterface testHttpInterface,
+        RequestBodyBatchProperties properties,
+        ApiCallExceptionFactory apiCallExceptionFactory,
+        @Qualifier("applicationTaskExecutor") Executor executor
+    ) {
+        super("http-interface", properties, apiCallExceptionFactory, executor);
+        this.testHttpInterface = testHttpInterface;
+    }
+
+    @Override
+    protected List<BatchItemResult> postTestBatch(List<PostTestRequest> requests) {
+        return testHttpInterface.postTestBatch(requests);
+    }
+}
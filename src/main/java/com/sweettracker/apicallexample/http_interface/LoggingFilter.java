@@ -0,0 +1,45 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger.Direction;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/*
+    WebClient 용 요청/응답 로그 (ExchangeLogger)
+    MetricsFilter 와 같이 마지막 쪽 filter 로 등록하여 재시도, hedge 를 포함한 요청 하나하나를 기록한다
+    요청 body 는 BodyInserter(stream) 이므로 기록하지 않는다
+    client 이름은 MetricsFilter.CLIENT_ATTRIBUTE 를 함께 사용한다
+*/
+public class LoggingFilter implements ExchangeFilterFunction {
+
+    private final ExchangeLogger exchangeLogger;
+    private final String client;
+
+    public LoggingFilter(ExchangeLogger exchangeLogger, String client) {
+        this.exchangeLogger = exchangeLogger;
+        this.client = client;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                .doOnNext(response -> log(request, response.statusCode().value(), System.nanoTime() - start, null))
+                .doOnError(e -> log(request, 0, System.nanoTime() - start, e));
+        });
+    }
+
+    private void log(ClientRequest request, int status, long durationNanos, Throwable error) {
+        if (!exchangeLogger.isSampled(error != null || status >= 400)) {
+            return;
+        }
+        Object clientAttribute = request.attributes().get(MetricsFilter.CLIENT_ATTRIBUTE);
+        exchangeLogger.exchange(Direction.OUTBOUND, clientAttribute != null ? (String) clientAttribute : client,
+            request.method().name(), request.url().toString(), status, durationNanos, request.headers(), null, error);
+    }
+}
@@ -0,0 +1,48 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.UriTemplates;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/*
+    WebClient 용 ApiCallMetrics 기록
+    마지막 filter 로 등록하여 재시도, hedge 를 포함한 요청 하나하나의 응답 header 수신까지의 시간을 기록한다
+    URI 템플릿은 WebClient 가 uri(String template, ...) 호출 시 저장하는 request attribute 를 사용한다
+    http interface 처럼 같은 WebClient 를 사용하는 호출은 CLIENT_ATTRIBUTE 로 client tag 를 구분한다
+*/
+public class MetricsFilter implements ExchangeFilterFunction {
+
+    public static final String CLIENT_ATTRIBUTE = MetricsFilter.class.getName() + ".client";
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final ApiCallMetrics metrics;
+    private final String client;
+
+    public MetricsFilter(ApiCallMetrics metrics, String client) {
+        this.metrics = metrics;
+        this.client = client;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Object clientAttribute = request.attributes().get(CLIENT_ATTRIBUTE);
+        String client = clientAttribute != null ? (String) clientAttribute : this.client;
+        String method = request.method().name();
+        String uri = UriTemplates.path((String) request.attributes().get(URI_TEMPLATE_ATTRIBUTE));
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                .doOnNext(response ->
+                    metrics.record(client, method, uri, response.statusCode().value(), System.nanoTime() - start))
+                .doOnError(e ->
+                    metrics.recordFailure(client, method, uri, ApiCallMetrics.OUTCOME_IO_ERROR, System.nanoTime() - start))
+                .doOnCancel(() ->
+                    metrics.recordFailure(client, method, uri, ApiCallMetrics.OUTCOME_CANCELLED, System.nanoTime() - start));
+        });
+    }
+}
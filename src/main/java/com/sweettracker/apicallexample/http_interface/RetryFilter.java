@@ -0,0 +1,68 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.retry.Retrier;
+import com.sweettracker.apicallexample.common.retry.Retrier.Attempts;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+/*
+    WebClient 용 재시도 (Retrier)
+    - 재시도 대상 status(429, 5xx 등)는 body 를 버리고 다시 요청하며, 재시도하지 않는 마지막 응답은 그대로 반환하여
+      defaultStatusHandler 가 ApiCallException 으로 변환하도록 한다
+    - I/O 에러(WebClientRequestException 의 원인)도 재시도한다
+    - 대기는 Mono.delay 로 하므로 event loop 를 막지 않는다
+*/
+@RequiredArgsConstructor
+public class RetryFilter implements ExchangeFilterFunction {
+
+    private final Retrier retrier;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!retrier.isRetryableMethod(request.method().name())) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> attempt(request, next, retrier.newAttempts()));
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, Attempts attempts) {
+        return next.exchange(request)
+            .materialize()
+            .flatMap(signal -> onSignal(signal, request, next, attempts));
+    }
+
+    private Mono<ClientResponse> onSignal(Signal<ClientResponse> signal, ClientRequest request,
+        ExchangeFunction next, Attempts attempts) {
+        if (signal.isOnError()) {
+            Throwable error = signal.getThrowable();
+            long delayNanos = retrier.isRetryable(error) ? attempts.nextDelayNanos() : -1;
+            return delayNanos < 0 ? Mono.error(error) : retryAfter(delayNanos, request, next, attempts);
+        }
+
+        ClientResponse response = signal.get();
+        if (response == null) {
+            return Mono.empty();
+        }
+        if (!retrier.isRetryableStatus(response.statusCode().value())) {
+            retrier.onSuccess();
+            return Mono.just(response);
+        }
+        long delayNanos = attempts.nextDelayNanos();
+        if (delayNanos < 0) {
+            return Mono.just(response);
+        }
+        return response.releaseBody().then(retryAfter(delayNanos, request, next, attempts));
+    }
+
+    private Mono<ClientResponse> retryAfter(long delayNanos, ClientRequest request, ExchangeFunction next,
+        Attempts attempts) {
+        return Mono.delay(Duration.ofNanos(delayNanos))
+            .then(Mono.defer(() -> attempt(request, next, attempts)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    /test/files/{filename} 구간 병렬 다운로드
+    1. Range: bytes=0-0 요청으로 전체 크기와 ETag 를 확인한다
+    2. 저장할 파일을 전체 크기로 미리 할당한다
+    3. 파일을 segments 개 구간으로 나누어 동시에 요청하고, 각 응답을 구간 시작 위치부터 바로 기록한다
+    빈 파일은 1 의 요청이 416 (Content-Range: bytes */0) 으로 응답되므로 빈 파일을 만든다
+    If-Range 에 ETag 를 함께 보내므로 다운로드 중 서버 파일이 변경되면 206 대신 200 이 응답되어 실패한다
+    응답 body 는 netty buffer 단위로 기록 후 바로 release 되므로 heap 에 파일을 모으지 않는다
+*/
+@Component
+@RequiredArgsConstructor
+public class SegmentedFileDownloader {
+
+    // filename 은 uri 변수로 넘겨 encoding 하고 metrics 의 uri tag 가 파일마다 늘어나지 않도록 한다
+    private static final String FILE_URI = "/test/files/{filename}";
+
+    private final WebClient testWebClient;
+
+    public Mono<Long> download(String filename, Path target, int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("segments 는 0 보다 커야 합니다: " + segments);
+        }
+        return probe(filename)
+            .flatMap(probe -> Mono.using(
+                () -> open(target, probe.size()),
+                channel -> Flux.range(0, segments)
+                    .flatMap(segment -> {
+                        long segmentSize = (probe.size() + segments - 1) / segments;
+                        long start = segment * segmentSize;
+                        long end = Math.min(probe.size(), start + segmentSize) - 1;
+                        return start > end ? Mono.<Void>empty()
+                            : downloadRange(filename, probe.etag(), start, end, channel);
+                    }, segments)
+                    .then(Mono.just(probe.size())),
+                SegmentedFileDownloader::close));
+    }
+
+    private Mono<Probe> probe(String filename) {
+        return testWebClient.get()
+            .uri(FILE_URI, filename)
+            .header(HttpHeaders.RANGE, "bytes=0-0")
+            .exchangeToMono(response -> {
+                int status = response.statusCode().value();
+                String contentRange = response.headers().asHttpHeaders()
+                    .getFirst(HttpHeaders.CONTENT_RANGE);
+                if (contentRange == null || (status != HttpStatus.PARTIAL_CONTENT.value()
+                    && status != HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value())) {
+                    return response.createError();
+                }
+                long size = Long.parseLong(contentRange.substring(contentRange.indexOf('/') + 1));
+                String etag = response.headers().asHttpHeaders().getETag();
+                return response.releaseBody().thenReturn(new Probe(size, etag));
+            });
+    }
+
+    private Mono<Void> downloadRange(String filename, String etag, long start, long end,
+        AsynchronousFileChannel channel) {
+        return testWebClient.get()
+            .uri(FILE_URI, filename)
+            .headers(headers -> {
+                headers.set(HttpHeaders.RANGE, "bytes=" + start + "-" + end);
+                if (etag != null) {
+                    headers.set(HttpHeaders.IF_RANGE, etag);
+                }
+            })
+            .exchangeToFlux(SegmentedFileDownloader::partialContent)
+            .as(body -> DataBufferUtils.write(body, channel, start))
+            .doOnNext(DataBufferUtils::release)
+            .then();
+    }
+
+    private static Flux<DataBuffer> partialContent(ClientResponse response) {
+        if (response.statusCode().value() != HttpStatus.PARTIAL_CONTENT.value()) {
+            return response.releaseBody()
+                .thenMany(Flux.error(new IllegalStateException("다운로드 중 파일이 변경되었습니다.")));
+        }
+        return response.bodyToFlux(DataBuffer.class);
+    }
+
+    private static AsynchronousFileChannel open(Path target, long size) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        return AsynchronousFileChannel.open(target, StandardOpenOption.WRITE);
+    }
+
+    private static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Probe(long size, String etag) {
+
+    }
+}
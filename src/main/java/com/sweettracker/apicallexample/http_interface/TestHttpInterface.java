@@ -1,34 +1,130 @@
 package com.sweettracker.apicallexample.http_interface;
 
+import com.sweettracker.apicallexample.common.coalesce.Coalesced;
+import com.sweettracker.apicallexample.common.serialization.BinaryMediaTypes;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
 import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import com.sweettracker.apicallexample.test_controller.UploadSessionStore;
+import java.util.List;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
 import org.springframework.web.service.annotation.PostExchange;
+import org.springframework.web.service.annotation.PutExchange;
+import reactor.core.publisher.Mono;
 
 @HttpExchange("/test")
 public interface TestHttpInterface {
 
+    // 같은 username 으로 동시에 호출되면 하나의 요청으로 합친다
+    @Coalesced
     @GetExchange
     String getTest(@RequestParam(required = false) String username);
 
     @PostExchange("/request-body")
     String postTest(@RequestBody PostTestRequest request);
 
+    // 단건 호출은 HttpInterfaceRequestBodyBatcher 를 통해 자동으로 묶인다
+    @PostExchange("/request-body/batch")
+    List<BatchItemResult> postTestBatch(@RequestBody List<PostTestRequest> requests);
+
+    // 요청 body 를 Smile(binary) 로 직렬화한다 (Content-Type)
+    @PostExchange(value = "/request-body", contentType = BinaryMediaTypes.APPLICATION_SMILE_VALUE)
+    String postTestSmile(@RequestBody PostTestRequest request);
+
+    // 요청, 응답 body 를 모두 Smile 로 직렬화한다 (Content-Type, Accept)
+    @PostExchange(value = "/request-body/batch",
+        contentType = BinaryMediaTypes.APPLICATION_SMILE_VALUE, accept = BinaryMediaTypes.APPLICATION_SMILE_VALUE)
+    List<BatchItemResult> postTestBatchSmile(@RequestBody List<PostTestRequest> requests);
+
     @PostExchange("/form-data")
     String postTest2(
         @RequestParam String username,
         @RequestParam String password
     );
 
+    // 파일 전체를 메모리에 올려서 전송하므로 대용량 파일은 WebClientFileUploader 를 사용한다
     @PostExchange(value = "/multi-part", contentType = MediaType.MULTIPART_FORM_DATA_VALUE)
     String postTest3(
         @RequestPart MultipartFile file,
         @RequestParam String username,
         @RequestParam String password
     );
+
+    // chunk 업로드는 HttpInterfaceChunkedUploader 를 통해 사용한다
+    @PostExchange("/upload-sessions")
+    UploadSessionResponse beginUpload(@RequestBody BeginUploadRequest request);
+
+    @GetExchange("/upload-sessions/{sessionId}")
+    UploadSessionResponse getUploadSession(@PathVariable String sessionId);
+
+    @PutExchange(value = "/upload-sessions/{sessionId}/chunks/{index}",
+        contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    void uploadChunk(
+        @PathVariable String sessionId,
+        @PathVariable int index,
+        @RequestHeader(UploadSessionStore.CHUNK_CHECKSUM_HEADER) String checksum,
+        @RequestBody byte[] chunk
+    );
+
+    @PostExchange("/upload-sessions/{sessionId}/commit")
+    UploadSessionResponse commitUpload(@PathVariable String sessionId);
+
+    /*
+        non-blocking 버전 (WebClient 의 응답을 그대로 Mono 로 반환한다)
+        subscribe 하기 전에는 요청하지 않으며, 응답을 기다리는 동안 호출한 스레드를 잡지 않는다
+    */
+    @Coalesced
+    @GetExchange
+    Mono<String> getTestAsync(@RequestParam(required = false) String username);
+
+    // ETag, Cache-Control 등 응답 header 가 필요한 경우
+    @GetExchange
+    Mono<ResponseEntity<String>> getTestEntityAsync(@RequestParam(required = false) String username);
+
+    @PostExchange("/request-body")
+    Mono<String> postTestAsync(@RequestBody PostTestRequest request);
+
+    @PostExchange("/request-body/batch")
+    Mono<List<BatchItemResult>> postTestBatchAsync(@RequestBody List<PostTestRequest> requests);
+
+    @PostExchange("/form-data")
+    Mono<String> postTest2Async(
+        @RequestParam String username,
+        @RequestParam String password
+    );
+
+    @PostExchange(value = "/multi-part", contentType = MediaType.MULTIPART_FORM_DATA_VALUE)
+    Mono<String> postTest3Async(
+        @RequestPart MultipartFile file,
+        @RequestParam String username,
+        @RequestParam String password
+    );
+
+    @PostExchange("/upload-sessions")
+    Mono<UploadSessionResponse> beginUploadAsync(@RequestBody BeginUploadRequest request);
+
+    @GetExchange("/upload-sessions/{sessionId}")
+    Mono<UploadSessionResponse> getUploadSessionAsync(@PathVariable String sessionId);
+
+    @PutExchange(value = "/upload-sessions/{sessionId}/chunks/{index}",
+        contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    Mono<Void> uploadChunkAsync(
+        @PathVariable String sessionId,
+        @PathVariable int index,
+        @RequestHeader(UploadSessionStore.CHUNK_CHECKSUM_HEADER) String checksum,
+        @RequestBody byte[] chunk
+    );
+
+    @PostExchange("/upload-sessions/{sessionId}/commit")
+    Mono<UploadSessionResponse> commitUploadAsync(@PathVariable String sessionId);
 }
@@ -0,0 +1,56 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    /test/multi-part/stream 스트리밍 업로드 (non-blocking)
+    TestHttpInterface.postTest3 는 MultipartFile 전체를 메모리에 올린 뒤 전송하지만
+    여기서는 파일을 BUFFER_SIZE 단위의 pooled direct buffer 로 읽어 backpressure 에 맞춰 전송하므로
+    파일 크기와 상관없이 heap 사용량이 일정하다
+*/
+@Component
+@RequiredArgsConstructor
+public class WebClientFileUploader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DataBufferFactory BUFFER_FACTORY =
+        new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private final WebClient testWebClient;
+
+    public Mono<String> upload(Path file, String username, String password) {
+        Flux<DataBuffer> content = DataBufferUtils.read(file, BUFFER_FACTORY, BUFFER_SIZE);
+        return upload(content, file.getFileName().toString(), username, password);
+    }
+
+    // content 는 전송이 끝나면 netty 에서 release 된다
+    public Mono<String> upload(Flux<DataBuffer> content, String filename, String username,
+        String password) {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("username", username);
+        builder.part("password", password);
+        builder.asyncPart("file", content, DataBuffer.class)
+            .filename(filename)
+            .contentType(MediaType.APPLICATION_OCTET_STREAM);
+
+        return testWebClient.post()
+            .uri("/test/multi-part/stream")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(builder.build()))
+            .retrieve()
+            .bodyToMono(String.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sweettracker.apicallexample.http_interface;
+
+import com.sweettracker.apicallexample.common.cache.CachedResponse;
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.cache.ResponseCache.Lookup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    webClient(httpInterface) 용 ResponseCache 연동
+    stale 응답은 바로 반환하고 재검증 요청은 별도로 subscribe 하여 백그라운드에서 실행한다
+*/
+@Slf4j
+@RequiredArgsConstructor
+public class WebClientResponseCacheFilter implements ExchangeFilterFunction {
+
+    private final ResponseCache responseCache;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Lookup lookup = responseCache.lookup(request.method(), request.url(), request.headers());
+        if (lookup == null) {
+            return next.exchange(request);
+        }
+
+        switch (lookup.state()) {
+            case FRESH:
+                return Mono.just(toClientResponse(lookup.cached()));
+            case STALE:
+                if (responseCache.startRevalidation(lookup)) {
+                    exchange(request, lookup, next)
+                        .flatMap(ClientResponse::releaseBody)
+                        .doFinally(signal -> responseCache.endRevalidation(lookup))
+                        .subscribe(null, e -> log.debug("캐시 재검증에 실패했습니다. uri={}", request.url(), e));
+                }
+                return Mono.just(toClientResponse(lookup.cached()));
+            default:
+                return exchange(request, lookup, next);
+        }
+    }
+
+    // 200, 304 는 캐시 응답으로 변환하고 그 외 응답은 그대로 반환한다
+    private Mono<ClientResponse> exchange(ClientRequest request, Lookup lookup,
+        ExchangeFunction next) {
+        ClientRequest conditionalRequest = lookup.etag() == null ? request
+            : ClientRequest.from(request).headers(headers -> headers.setIfNoneMatch(lookup.etag())).build();
+
+        return next.exchange(conditionalRequest).flatMap(response -> {
+            int status = response.statusCode().value();
+            if (status == 304 && lookup.cached() != null) {
+                return response.releaseBody().then(Mono.fromSupplier(() -> toClientResponse(
+                    responseCache.update(lookup, status, response.headers().asHttpHeaders(), null))));
+            }
+            if (status != 200) {
+                return Mono.just(response);
+            }
+            return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> toClientResponse(
+                    responseCache.update(lookup, status, response.headers().asHttpHeaders(), body)));
+        });
+    }
+
+    private static ClientResponse toClientResponse(CachedResponse cached) {
+        return ClientResponse.create(HttpStatusCode.valueOf(cached.status()))
+            .headers(headers -> headers.putAll(cached.headers()))
+            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(cached.body())))
+            .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.cache.CachedResponse;
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.cache.ResponseCache.Lookup;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/*
+    feignClient 용 ResponseCache 연동 (delegate 클라이언트를 감싼다)
+    stale 응답을 반환한 뒤의 재검증은 executor 에서 delegate 로 직접 요청한다
+*/
+@Slf4j
+@RequiredArgsConstructor
+public class CachingFeignClient implements Client, Closeable {
+
+    private final Client delegate;
+    private final ResponseCache responseCache;
+    private final Executor executor;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        Lookup lookup = responseCache.lookup(HttpMethod.GET, URI.create(request.url()),
+            toHttpHeaders(request.headers()));
+        if (lookup == null) {
+            return delegate.execute(request, options);
+        }
+
+        switch (lookup.state()) {
+            case FRESH:
+                return toResponse(request, lookup.cached());
+            case STALE:
+                if (responseCache.startRevalidation(lookup)) {
+                    executor.execute(() -> revalidate(request, options, lookup));
+                }
+                return toResponse(request, lookup.cached());
+            default:
+                break;
+        }
+
+        Response response = delegate.execute(conditionalRequest(request, lookup.etag()), options);
+        CachedResponse cachedResponse = update(lookup, response);
+        return cachedResponse != null ? toResponse(request, cachedResponse) : response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void revalidate(Request request, Request.Options options, Lookup lookup) {
+        try (Response response = delegate.execute(conditionalRequest(request, lookup.etag()), options)) {
+            update(lookup, response);
+        } catch (IOException | RuntimeException e) {
+            log.debug("캐시 재검증에 실패했습니다. url={}", request.url(), e);
+        } finally {
+            responseCache.endRevalidation(lookup);
+        }
+    }
+
+    // 200, 304 는 응답을 모두 읽고 닫은 뒤 캐시 응답을 반환하고 그 외 응답은 null (원본 응답을 그대로 사용)
+    private CachedResponse update(Lookup lookup, Response response) throws IOException {
+        int status = response.status();
+        if (status == 304 && lookup.cached() != null) {
+            response.close();
+            return responseCache.update(lookup, status, toHttpHeaders(response.headers()), null);
+        }
+        if (status != 200) {
+            return null;
+        }
+        try (response) {
+            byte[] body = response.body() != null
+                ? Util.toByteArray(response.body().asInputStream()) : new byte[0];
+            return responseCache.update(lookup, status, toHttpHeaders(response.headers()), body);
+        }
+    }
+
+    private static Request conditionalRequest(Request request, String etag) {
+        if (etag == null) {
+            return request;
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(HttpHeaders.IF_NONE_MATCH, List.of(etag));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(),
+            request.charset(), request.requestTemplate());
+    }
+
+    private static Response toResponse(Request request, CachedResponse cached) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        cached.headers().forEach(headers::put);
+        return Response.builder()
+            .status(cached.status())
+            .reason("")
+            .headers(headers)
+            .body(cached.body())
+            .request(request)
+            .build();
+    }
+
+    private static HttpHeaders toHttpHeaders(Map<String, Collection<String>> feignHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        feignHeaders.forEach((name, values) -> headers.addAll(name, new ArrayList<>(values)));
+        return headers;
+    }
+}
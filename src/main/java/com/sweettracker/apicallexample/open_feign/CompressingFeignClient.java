@@ -0,0 +1,89 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/*
+    feignClient 용 요청 body 압축, 응답 해제 (client-compression, delegate 클라이언트를 감싼다)
+    전송 클라이언트(PooledFeignClient, H2cFeignClient) 바로 바깥에 두어 로그, 캐시, 에러 decoder 는 압축 전/해제 후 body 를 사용한다
+    hc5 의 자동 응답 해제는 끄고(PooledFeignClient) 두 전송 클라이언트 모두 이 클래스에서 stream 으로 해제한다
+*/
+@RequiredArgsConstructor
+public class CompressingFeignClient implements Client, Closeable {
+
+    private final Client delegate;
+    private final ContentCompression compression;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(compress(request), options);
+        String contentEncoding = firstHeader(response.headers(), HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding == null || response.body() == null) {
+            return response;
+        }
+
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers());
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return response.toBuilder()
+            .headers(headers)
+            .body(compression.decompress(contentEncoding, response.body().asInputStream()), null)
+            .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Request compress(Request request) throws IOException {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.putIfAbsent(HttpHeaders.ACCEPT_ENCODING, List.of(compression.getAcceptEncoding()));
+
+        byte[] body = request.body();
+        String contentType = firstHeader(headers, HttpHeaders.CONTENT_TYPE);
+        if (body != null && contentType != null && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+            && compression.shouldCompress(mimeType(contentType), body.length)) {
+            body = compression.compress(body);
+            headers.put(HttpHeaders.CONTENT_ENCODING, List.of(compression.getEncoding()));
+            headers.put(HttpHeaders.CONTENT_LENGTH, List.of(String.valueOf(body.length)));
+            // 압축한 body 는 문자열이 아니므로 charset 을 넘기지 않는다
+            return Request.create(request.httpMethod(), request.url(), headers, body, null, request.requestTemplate());
+        }
+        return Request.create(request.httpMethod(), request.url(), headers, body, request.charset(),
+            request.requestTemplate());
+    }
+
+    private static MimeType mimeType(String contentType) {
+        try {
+            return MimeTypeUtils.parseMimeType(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String firstHeader(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+}
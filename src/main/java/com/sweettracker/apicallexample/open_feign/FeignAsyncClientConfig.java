@@ -0,0 +1,100 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.h2c.H2cProperties;
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.resilience.ResilienceRegistry;
+import com.sweettracker.apicallexample.common.resilience.ResilientInvocationHandler;
+import com.sweettracker.apicallexample.common.serialization.PooledJsonWriter;
+import feign.AsyncFeign;
+import feign.Request;
+import feign.codec.Encoder;
+import feign.form.spring.SpringFormEncoder;
+import feign.http2client.Http2Client;
+import feign.optionals.OptionalDecoder;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.FeignEncoderProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+    TestFeignAsyncClient (CompletableFuture 반환) 생성
+    spring cloud openfeign 의 @FeignClient 는 async 클라이언트를 지원하지 않으므로 AsyncFeign 으로 직접 생성한다
+    contract, encoder, decoder, error decoder 는 TestFeignClient 와 같은 것을 사용하고
+    JDK HttpClient 의 sendAsync(Http2Client)로 요청하므로 응답을 기다리는 동안 스레드를 잡지 않는다
+    [ CAUTION ]
+    재시도, 응답 캐시, adaptive concurrency, exchange 로그, 요청 body 압축은 동기 클라이언트(Client 데코레이터)에만 적용된다
+    metrics(api.client.requests, client=feignAsyncClient)와 bulkhead + circuit breaker 는 적용된다
+    (bulkhead, circuit breaker 설정은 동기 클라이언트와 같은 블록을 사용하지만 인스턴스는 feignAsync.test 로 따로 생성한다)
+*/
+@Configuration
+public class FeignAsyncClientConfig {
+
+    // 동기 feign 클라이언트(feign.test)와 bulkhead, circuit breaker 를 공유하지 않도록 호출 방식을 구분한다
+    private static final String CLIENT_TYPE = "feignAsync";
+    private static final String CLIENT_NAME = "test";
+
+    /*
+        AsyncFeign 클라이언트가 사용하는 JDK HttpClient
+        selector 스레드와 커넥션을 종료하도록 context 종료 시 close 한다
+    */
+    @Bean(destroyMethod = "close")
+    HttpClient testFeignAsyncHttpClient(FeignClientPoolProperties properties, H2cProperties h2cProperties) {
+        // Http2Client 는 Options 의 connectTimeout, followRedirects 가 HttpClient 설정과 다르면 요청마다 HttpClient 를 새로 만들므로 같은 값을 사용한다
+        // h2c 를 사용하지 않으면 요청마다 Upgrade: h2c 를 시도하지 않도록 HTTP/1.1 로 고정한다
+        return HttpClient.newBuilder()
+            .version(h2cProperties.isEnabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getConnectTimeout(CLIENT_NAME))
+            .followRedirects(HttpClient.Redirect.ALWAYS)
+            .build();
+    }
+
+    @Bean
+    TestFeignAsyncClient testFeignAsyncClient(
+        @Value("${api.test.url}") String baseUrl,
+        FeignClientPoolProperties properties,
+        @Qualifier("testFeignAsyncHttpClient") HttpClient httpClient,
+        ApiCallMetrics apiCallMetrics,
+        FeignClientErrorDecoder errorDecoder,
+        ResilienceRegistry resilienceRegistry,
+        ObjectFactory<HttpMessageConverters> messageConverters,
+        ObjectProvider<FeignEncoderProperties> encoderProperties,
+        ObjectProvider<HttpMessageConverterCustomizer> customizers,
+        ObjectProvider<PooledJsonWriter> pooledJsonWriter
+    ) {
+        Duration connectTimeout = properties.getConnectTimeout(CLIENT_NAME);
+        Duration readTimeout = properties.getReadTimeout(CLIENT_NAME);
+
+        Encoder encoder = new SpringEncoder(new SpringFormEncoder(), messageConverters,
+            encoderProperties.getIfAvailable(FeignEncoderProperties::new), customizers);
+        PooledJsonWriter writer = pooledJsonWriter.getIfAvailable();
+        if (writer != null) {
+            encoder = new PooledJsonFeignEncoder(encoder, writer);
+        }
+
+        TestFeignAsyncClient client = AsyncFeign.builder()
+            .client(new MetricsAsyncFeignClient<>(new Http2Client(httpClient), apiCallMetrics))
+            .options(new Request.Options(connectTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, true))
+            .contract(new SpringMvcContract())
+            .encoder(encoder)
+            .decoder(new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers))))
+            .errorDecoder(errorDecoder)
+            .retryer(FeignRetryer.NEVER_RETRY)
+            .target(TestFeignAsyncClient.class, baseUrl);
+        return ResilientInvocationHandler.wrap(TestFeignAsyncClient.class, client,
+            CLIENT_TYPE, CLIENT_NAME, resilienceRegistry,
+            properties.getBulkhead(CLIENT_NAME), properties.getCircuitBreaker(CLIENT_NAME));
+    }
+}
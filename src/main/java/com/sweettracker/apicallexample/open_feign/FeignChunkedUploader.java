@@ -0,0 +1,43 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.upload.ChunkedFileUploader;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// TestFeignClient 를 사용하는 chunk 업로드 (chunk 는 test 커넥션 풀을 통해 병렬로 전송된다)
+@Component
+public class FeignChunkedUploader extends ChunkedFileUploader {
+
+    private final TestFeignClient testFeignClient;
+
+    public FeignChunkedUploader(
+        TestFeignClient testFeignClient,
+        @Qualifier("applicationTaskExecutor") Executor executor
+    ) {
+        super(executor);
+        this.testFeignClient = testFeignClient;
+    }
+
+    @Override
+    protected UploadSessionResponse begin(BeginUploadRequest request) {
+        return testFeignClient.beginUpload(request);
+    }
+
+    @Override
+    protected UploadSessionResponse status(String sessionId) {
+        return testFeignClient.getUploadSession(sessionId);
+    }
+
+    @Override
+    protected void uploadChunk(String sessionId, int index, String checksum, byte[] chunk) {
+        testFeignClient.uploadChunk(sessionId, index, checksum, chunk);
+    }
+
+    @Override
+    protected UploadSessionResponse commit(String sessionId) {
+        return testFeignClient.commitUpload(sessionId);
+    }
+}
@@ -1,40 +1,68 @@
 package com.sweettracker.apicallexample.open_feign;
 
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
 import feign.Response;
+import feign.RetryableException;
 import feign.codec.ErrorDecoder;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import org.springframework.stereotype.Component;
 
+/*
+    feign-error-decoder.paths 에 해당하는 요청의 에러 응답을 ApiCallException 으로 변환한다
+    - path 규칙은 시작 시 한 번 컴파일한다 (PathRuleMatcher)
+    - 상태값으로 재시도 가능(Retryable) / 불가(NonRetryable) 예외를 구분한다
+      재시도 가능한 예외는 feign 이 Retryer 를 호출하도록 RetryableException 의 cause 로 감싼다 (FeignRetryer 참고)
+    - body 는 api-call-exception.body-excerpt-limit 만큼만 읽는다
+    - 로그는 ExchangeLogger 로 비동기 기록한다 (초당 제한 적용)
+*/
 @Component
 public class FeignClientErrorDecoder implements ErrorDecoder {
 
-    private List<String> checkPathList;
+    private static final String ERROR_MESSAGE = "에러 발생";
 
-    public FeignClientErrorDecoder() {
-        this.checkPathList = Arrays
-            .asList("/test", "/test/form-data", "/test/request-body", "/test/multi-part");
+    private final PathRuleMatcher checkPathMatcher;
+    private final ApiCallExceptionFactory apiCallExceptionFactory;
+    private final ExchangeLogger exchangeLogger;
+    private final ErrorDecoder defaultErrorDecoder = new ErrorDecoder.Default();
+
+    public FeignClientErrorDecoder(FeignErrorDecoderProperties properties,
+        ApiCallExceptionFactory apiCallExceptionFactory, ExchangeLogger exchangeLogger) {
+        this.checkPathMatcher = PathRuleMatcher.compile(properties.getPaths());
+        this.apiCallExceptionFactory = apiCallExceptionFactory;
+        this.exchangeLogger = exchangeLogger;
     }
 
     @Override
     public Exception decode(String methodKey, Response response) {
-        try {
-            URI uri = new URI(response.request().url());
-            String path = uri.getPath();
-            if (checkPathList.contains(path)) {
-                System.out.println("======================");
-                System.out.println("URL: " + response.request().url());
-                System.out.println("STATUS: " + response.status());
-                System.out.println("======================");
-                return new RuntimeException("에러 발생");
-            }
-
-        } catch (URISyntaxException e) {
-            throw new RuntimeException(e);
+        String url = response.request().url();
+        String path = PathRuleMatcher.extractPath(url);
+        if (!checkPathMatcher.matches(path)) {
+            // 예외를 반환하지 않으면 feign 에서 NullPointerException 이 발생하므로 기본 decoder 를 사용한다
+            return defaultErrorDecoder.decode(methodKey, response);
+        }
+
+        String bodyExcerpt = readBodyExcerpt(response);
+        exchangeLogger.warn("feign 에러 응답 URL: {}, STATUS: {}, BODY: {}",
+            url, response.status(), bodyExcerpt);
+        ApiCallException exception = apiCallExceptionFactory.create(ERROR_MESSAGE, response.status(), path, bodyExcerpt);
+        if (exception.isRetryable()) {
+            return new RetryableException(response.status(), exception.getMessage(),
+                response.request().httpMethod(), exception, (Long) null, response.request());
         }
+        return exception;
+    }
 
-        return null;
+    private String readBodyExcerpt(Response response) {
+        if (response.body() == null) {
+            return "";
+        }
+        try (InputStream body = response.body().asInputStream()) {
+            return apiCallExceptionFactory.excerpt(body, response.charset());
+        } catch (IOException e) {
+            return "";
+        }
     }
 }
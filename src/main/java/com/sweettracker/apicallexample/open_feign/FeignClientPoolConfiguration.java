@@ -0,0 +1,118 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import com.sweettracker.apicallexample.common.h2c.H2cProperties;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiters;
+import com.sweettracker.apicallexample.common.resilience.ResilienceRegistry;
+import com.sweettracker.apicallexample.common.retry.Retriers;
+import com.sweettracker.apicallexample.common.serialization.PooledJsonWriter;
+import com.sweettracker.apicallexample.open_feign.FeignClientPoolProperties.Pool;
+import feign.Capability;
+import feign.Client;
+import feign.Retryer;
+import feign.codec.Encoder;
+import feign.form.spring.SpringFormEncoder;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.FeignEncoderProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+
+/*
+    @EnableFeignClients(defaultConfiguration) 로 등록되는 feign 클라이언트별 설정
+    클라이언트마다 별도의 child context 에서 생성되므로 커넥션 풀도 클라이언트 이름별로 분리된다
+    [ CAUTION ]
+    component scan 대상이 되면 모든 클라이언트가 하나의 풀을 공유하게 되므로 @Configuration 을 선언하지 않는다
+*/
+public class FeignClientPoolConfiguration {
+
+    @Bean
+    Client feignClient(
+        @Value("${spring.cloud.openfeign.client.name}") String clientName,
+        FeignClientPoolProperties properties,
+        H2cProperties h2cProperties,
+        ObjectProvider<ResponseCache> responseCache,
+        ObjectProvider<ContentCompression> contentCompression,
+        ObjectProvider<AdaptiveConcurrencyLimiters> concurrencyLimiters,
+        Retriers retriers,
+        ApiCallMetrics apiCallMetrics,
+        ExchangeLogger exchangeLogger,
+        @Qualifier("applicationTaskExecutor") Executor taskExecutor
+    ) {
+        Pool pool = properties.getPool(clientName);
+        Client client;
+        if (h2cProperties.isEnabled()) {
+            // h2c : 커넥션 하나에 요청을 multiplexing 하므로 pool 설정을 사용하지 않는다
+            client = new H2cFeignClient(properties.getConnectTimeout(clientName));
+        } else {
+            client = pool.isEnabled() ? new PooledFeignClient(pool) : new Client.Default(null, null);
+        }
+        // client-compression.enabled=true 인 경우 요청 body 압축, 응답 해제
+        // (Client.Default 는 Content-Encoding header 에 따라 직접 gzip 압축/해제하므로 중복 처리하지 않도록 제외한다)
+        ContentCompression compression = contentCompression.getIfAvailable();
+        if (compression != null && !(client instanceof Client.Default)) {
+            client = new CompressingFeignClient(client, compression);
+        }
+        // 요청(시도)별 응답 시간 api.client.requests
+        client = new MetricsFeignClient(client, apiCallMetrics);
+        // 요청(시도)별 로그 (exchange-log)
+        client = new LoggingFeignClient(client, exchangeLogger);
+        client = new RetryBudgetFeignClient(client, retriers.get(clientName));
+
+        // adaptive-concurrency.enabled=true 인 경우 동시 호출 수 제한 (캐시 hit 은 limit 을 사용하지 않도록 캐시 안쪽에 둔다)
+        AdaptiveConcurrencyLimiters limiters = concurrencyLimiters.getIfAvailable();
+        if (limiters != null) {
+            client = new LimitingFeignClient(client, limiters, clientName);
+        }
+
+        // response-cache.enabled=true 인 경우 GET 응답 캐시
+        ResponseCache cache = responseCache.getIfAvailable();
+        return cache != null ? new CachingFeignClient(client, cache, taskExecutor) : client;
+    }
+
+    /*
+        pooled-json.enabled=true 인 경우 JSON 요청 body 는 pool 의 buffer 에 직렬화한다
+        그 외 body(form, multipart, byte[], Smile)는 FeignClientsConfiguration 의 기본 encoder 와 같은 SpringEncoder 가 처리한다
+        (FeignClientsConfiguration.feignEncoder 와 빈 이름이 같으면 기본 encoder 로 덮어써지므로 이름을 다르게 둔다)
+    */
+    @Bean
+    Encoder pooledJsonFeignEncoder(
+        ObjectFactory<HttpMessageConverters> messageConverters,
+        ObjectProvider<FeignEncoderProperties> encoderProperties,
+        ObjectProvider<HttpMessageConverterCustomizer> customizers,
+        ObjectProvider<PooledJsonWriter> pooledJsonWriter
+    ) {
+        Encoder encoder = new SpringEncoder(new SpringFormEncoder(), messageConverters,
+            encoderProperties.getIfAvailable(FeignEncoderProperties::new), customizers);
+        PooledJsonWriter writer = pooledJsonWriter.getIfAvailable();
+        return writer != null ? new PooledJsonFeignEncoder(encoder, writer) : encoder;
+    }
+
+    // retry.* 설정의 decorrelated jitter + retry budget 재시도 (feign 기본값은 재시도 안함)
+    @Bean
+    Retryer feignRetryer(
+        @Value("${spring.cloud.openfeign.client.name}") String clientName,
+        Retriers retriers
+    ) {
+        return new FeignRetryer(retriers.get(clientName));
+    }
+
+    // 메서드별 circuit breaker, 클라이언트별 bulkhead (spring.cloud.openfeign.client.config.{name}.circuit-breaker, bulkhead)
+    @Bean
+    Capability resilienceCapability(
+        @Value("${spring.cloud.openfeign.client.name}") String clientName,
+        FeignClientPoolProperties properties,
+        ResilienceRegistry resilienceRegistry
+    ) {
+        return new ResilienceCapability(clientName, resilienceRegistry,
+            properties.getBulkhead(clientName), properties.getCircuitBreaker(clientName));
+    }
+}
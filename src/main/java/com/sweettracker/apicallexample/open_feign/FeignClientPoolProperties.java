@@ -0,0 +1,101 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.resilience.BulkheadSettings;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    spring.cloud.openfeign.client.config.{name}.pool, circuit-breaker, bulkhead 설정
+    connect-timeout, read-timeout 과 같은 위치에 클라이언트 이름별로 커넥션 풀, circuit breaker, bulkhead 를 설정한다
+    이름에 해당하는 설정이 없으면 default 설정을 사용한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.cloud.openfeign.client")
+public class FeignClientPoolProperties {
+
+    private static final String DEFAULT_CONFIG = "default";
+
+    private Map<String, ClientConfig> config = new HashMap<>();
+
+    public Pool getPool(String clientName) {
+        Pool pool = resolve(clientName, ClientConfig::getPool);
+        return pool != null ? pool : new Pool();
+    }
+
+    // spring.cloud.openfeign 의 connect-timeout (ms) 과 같은 값, 없으면 feign 기본값 10초
+    public Duration getConnectTimeout(String clientName) {
+        Integer connectTimeout = resolve(clientName, ClientConfig::getConnectTimeout);
+        return connectTimeout != null ? Duration.ofMillis(connectTimeout) : Duration.ofSeconds(10);
+    }
+
+    // spring.cloud.openfeign 의 read-timeout (ms) 과 같은 값, 없으면 feign 기본값 60초
+    public Duration getReadTimeout(String clientName) {
+        Integer readTimeout = resolve(clientName, ClientConfig::getReadTimeout);
+        return readTimeout != null ? Duration.ofMillis(readTimeout) : Duration.ofSeconds(60);
+    }
+
+    public CircuitBreakerSettings getCircuitBreaker(String clientName) {
+        CircuitBreakerSettings circuitBreaker = resolve(clientName, ClientConfig::getCircuitBreaker);
+        return circuitBreaker != null ? circuitBreaker : new CircuitBreakerSettings();
+    }
+
+    public BulkheadSettings getBulkhead(String clientName) {
+        BulkheadSettings bulkhead = resolve(clientName, ClientConfig::getBulkhead);
+        return bulkhead != null ? bulkhead : new BulkheadSettings();
+    }
+
+    private <T> T resolve(String clientName, Function<ClientConfig, T> getter) {
+        ClientConfig clientConfig = config.get(clientName);
+        if (clientConfig != null && getter.apply(clientConfig) != null) {
+            return getter.apply(clientConfig);
+        }
+
+        ClientConfig defaultConfig = config.get(DEFAULT_CONFIG);
+        return defaultConfig != null ? getter.apply(defaultConfig) : null;
+    }
+
+    @Getter
+    @Setter
+    public static class ClientConfig {
+
+        // h2c 클라이언트(JDK HttpClient) 생성 시 feign Options 와 같은 값을 사용하기 위해 함께 읽는다
+        private Integer connectTimeout;
+
+        // async 클라이언트(TestFeignAsyncClient)는 spring cloud 설정을 거치지 않으므로 함께 읽는다
+        private Integer readTimeout;
+
+        private Pool pool;
+
+        private CircuitBreakerSettings circuitBreaker;
+
+        private BulkheadSettings bulkhead;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        // false 인 경우 feign 기본 HttpURLConnection 클라이언트를 사용한다
+        private boolean enabled = true;
+
+        private int maxTotal = 200;
+
+        private int maxPerRoute = 50;
+
+        // 지정한 시간 동안 사용되지 않은 커넥션은 백그라운드에서 정리한다
+        private Duration idleEviction = Duration.ofSeconds(30);
+
+        // 커넥션 최대 수명 (서버/LB 의 keep-alive 종료보다 짧게 설정한다)
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        // 지정한 시간 이상 쉬었던 커넥션은 재사용 전에 유효성을 확인한다
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+}
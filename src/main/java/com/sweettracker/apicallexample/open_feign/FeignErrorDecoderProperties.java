@@ -0,0 +1,21 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+    feign-error-decoder 설정
+    paths 에 해당하는 요청의 에러 응답만 "에러 발생" 예외로 변환하고 그 외는 feign 기본 decoder 를 사용한다
+    path 규칙은 * (segment 하나), ** (이후 전체) 와일드카드를 지원한다
+*/
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feign-error-decoder")
+public class FeignErrorDecoderProperties {
+
+    private List<String> paths = new ArrayList<>(
+        List.of("/test", "/test/form-data", "/test/request-body", "/test/multi-part"));
+}
@@ -0,0 +1,33 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.batch.RequestBodyBatchProperties;
+import com.sweettracker.apicallexample.common.batch.RequestBodyBatcher;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// TestFeignClient.postTestBatch 로 묶어서 전송한다
+@Component
+public class FeignRequestBodyBatcher extends RequestBodyBatcher {
+
+    private final TestFeignClient testFeignClient;
+
+    public FeignRequestBodyBatcher(
+        TestFeignClient testFeignClient,
+        RequestBodyBatchProperties properties,
+        ApiCallExceptionFactory apiCallExceptionFactory,
+        @Qualifier("applicationTaskExecutor") Executor executor
+    ) {
+        super("feign", properties, apiCallExceptionFactory, executor);
+        this.testFeignClient = testFeignClient;
+    }
+
+    @Override
+    protected List<BatchItemResult> postTestBatch(List<PostTestRequest> requests) {
+        return testFeignClient.postTestBatch(requests);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.retry.Retrier;
+import com.sweettracker.apicallexample.common.retry.Retrier.Attempts;
+import feign.RetryableException;
+import feign.Retryer;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Retrier 를 사용하는 feign Retryer (feign 이 호출마다 clone 하여 사용한다)
+    - FeignClientErrorDecoder 는 재시도 가능한 ApiCallException 을 RetryableException 의 cause 로 감싸서 반환한다
+    - 재시도하지 않거나 모두 실패하면 cause 인 ApiCallException 을 그대로 던진다
+    - cause 가 없는 RetryableException 은 feign 기본 decoder 가 Retry-After 응답으로 만든 것이므로 재시도 대상이다
+*/
+public class FeignRetryer implements Retryer {
+
+    // 재시도하지 않고 cause 인 ApiCallException 을 그대로 던진다
+    // async 클라이언트는 응답을 받은 스레드에서 continueOrPropagate 를 호출하므로 backoff 동안 그 스레드를 잡지 않도록 재시도하지 않는다
+    public static final Retryer NEVER_RETRY = new Retryer() {
+
+        @Override
+        public void continueOrPropagate(RetryableException e) {
+            throw propagate(e);
+        }
+
+        @Override
+        public Retryer clone() {
+            return this;
+        }
+    };
+
+    private final Retrier retrier;
+    private final Attempts attempts;
+
+    public FeignRetryer(Retrier retrier) {
+        this.retrier = retrier;
+        this.attempts = retrier.newAttempts();
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        Throwable cause = e.getCause();
+        boolean retryable = e.method() != null && retrier.isRetryableMethod(e.method().name())
+            && (cause == null || retrier.isRetryable(cause));
+        long delayNanos = retryable ? attempts.nextDelayNanos() : -1;
+        if (delayNanos < 0) {
+            throw propagate(e);
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw propagate(e);
+        }
+    }
+
+    @Override
+    public Retryer clone() {
+        return new FeignRetryer(retrier);
+    }
+
+    private static RuntimeException propagate(RetryableException e) {
+        return e.getCause() instanceof ApiCallException apiCallException ? apiCallException : e;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import feign.http2client.Http2Client;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/*
+    h2c.enabled=true 인 경우 사용하는 JDK HttpClient (HTTP/2) 기반 feign Client
+    첫 요청에서 h2c upgrade 한 뒤 origin 당 커넥션 하나에 동시 요청을 stream 으로 multiplexing 하므로 커넥션 풀이 필요 없다
+    [ CAUTION ]
+    Http2Client 는 Options 의 connectTimeout, followRedirects 가 HttpClient 설정과 다르면 요청마다 HttpClient 를 새로 만들므로
+    spring.cloud.openfeign.client.config.{name}.connect-timeout 과 같은 값으로 생성한다
+*/
+public class H2cFeignClient implements Client, Closeable {
+
+    private final HttpClient httpClient;
+    private final Client delegate;
+
+    public H2cFeignClient(Duration connectTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.ALWAYS)
+            .build();
+        this.delegate = new Http2Client(httpClient);
+    }
+
+    @Override
+    public Response execute(Request request, Options options) throws IOException {
+        return delegate.execute(request, options);
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiter;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiter.Permit;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiters;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+    feignClient 용 adaptive concurrency limit (delegate 클라이언트를 감싼다)
+    응답 status 와 RTT 를 알아야 하므로 RequestInterceptor 가 아닌 Client decorator 로 적용한다
+    limit 을 초과하면 adaptive-concurrency.max-wait 동안 기다린 뒤 CallNotPermittedException 으로 거부한다
+*/
+public class LimitingFeignClient implements Client, Closeable {
+
+    private final Client delegate;
+    private final AdaptiveConcurrencyLimiters limiters;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration maxWait;
+
+    public LimitingFeignClient(Client delegate, AdaptiveConcurrencyLimiters limiters, String clientName) {
+        this.delegate = delegate;
+        this.limiters = limiters;
+        this.limiter = limiters.get(clientName);
+        this.maxWait = limiters.getProperties().getMaxWait();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Permit permit = limiter.acquire(maxWait);
+        if (permit == null) {
+            throw limiters.rejected(limiter);
+        }
+
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            permit.onDropped();
+            throw e;
+        }
+        if (ApiCallException.isRetryable(response.status())) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
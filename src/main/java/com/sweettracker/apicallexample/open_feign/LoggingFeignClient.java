@@ -0,0 +1,52 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger.Direction;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+
+/*
+    feignClient 용 요청/응답 로그 (ExchangeLogger, delegate 클라이언트를 감싼다)
+    재시도를 포함한 요청 하나하나를 기록하며, 기록 대상(isSampled)인 경우에만 요청 header, body 를 넘긴다
+*/
+@RequiredArgsConstructor
+public class LoggingFeignClient implements Client, Closeable {
+
+    private static final String CLIENT = "feignClient";
+
+    private final Client delegate;
+    private final ExchangeLogger exchangeLogger;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            log(request, 0, System.nanoTime() - start, e);
+            throw e;
+        }
+        log(request, response.status(), System.nanoTime() - start, null);
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void log(Request request, int status, long durationNanos, Throwable error) {
+        if (!exchangeLogger.isSampled(error != null || status >= 400)) {
+            return;
+        }
+        exchangeLogger.exchange(Direction.OUTBOUND, CLIENT, request.httpMethod().name(), request.url(), status,
+            durationNanos, request.headers(), exchangeLogger.isBodyEnabled() ? request.body() : null, error);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.UriTemplates;
+import feign.AsyncClient;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+
+/*
+    feign async 클라이언트(TestFeignAsyncClient)용 ApiCallMetrics 기록
+    MetricsFeignClient 와 같은 값을 future 가 완료될 때 기록하며, 동기 클라이언트와 구분하도록 client tag 를 다르게 둔다
+*/
+@RequiredArgsConstructor
+public class MetricsAsyncFeignClient<C> implements AsyncClient<C> {
+
+    private static final String CLIENT = "feignAsyncClient";
+
+    private final AsyncClient<C> delegate;
+    private final ApiCallMetrics metrics;
+    private final ConcurrentMap<String, String> uriTemplates = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options, Optional<C> requestContext) {
+        long start = System.nanoTime();
+        String method = request.httpMethod().name();
+        return delegate.execute(request, options, requestContext).whenComplete((response, error) -> {
+            if (error != null) {
+                String outcome = error instanceof CancellationException
+                    ? ApiCallMetrics.OUTCOME_CANCELLED : ApiCallMetrics.OUTCOME_IO_ERROR;
+                metrics.recordFailure(CLIENT, method, uriTemplate(request), outcome, System.nanoTime() - start);
+            } else {
+                metrics.record(CLIENT, method, uriTemplate(request), response.status(), System.nanoTime() - start);
+            }
+        });
+    }
+
+    private String uriTemplate(Request request) {
+        RequestTemplate requestTemplate = request.requestTemplate();
+        MethodMetadata metadata = requestTemplate != null ? requestTemplate.methodMetadata() : null;
+        if (metadata == null) {
+            return ApiCallMetrics.NONE;
+        }
+        String uri = uriTemplates.get(metadata.configKey());
+        return uri != null ? uri
+            : uriTemplates.computeIfAbsent(metadata.configKey(), key -> UriTemplates.path(metadata.template().url()));
+    }
+}
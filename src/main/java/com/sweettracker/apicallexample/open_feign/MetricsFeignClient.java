@@ -0,0 +1,63 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.UriTemplates;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+
+/*
+    feignClient 용 ApiCallMetrics 기록 (delegate 클라이언트를 감싼다)
+    커넥션 풀 클라이언트 바로 바깥에 두어 재시도를 포함한 요청 하나하나의 응답 header 수신까지의 시간을 기록한다
+    URI 템플릿은 @GetMapping 등에 선언된 값이며 메서드(configKey)별로 캐시한다
+*/
+@RequiredArgsConstructor
+public class MetricsFeignClient implements Client, Closeable {
+
+    private static final String CLIENT = "feignClient";
+
+    private final Client delegate;
+    private final ApiCallMetrics metrics;
+    private final ConcurrentMap<String, String> uriTemplates = new ConcurrentHashMap<>();
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        String method = request.httpMethod().name();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            metrics.recordFailure(CLIENT, method, uriTemplate(request), ApiCallMetrics.OUTCOME_IO_ERROR,
+                System.nanoTime() - start);
+            throw e;
+        }
+        metrics.record(CLIENT, method, uriTemplate(request), response.status(), System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private String uriTemplate(Request request) {
+        RequestTemplate requestTemplate = request.requestTemplate();
+        MethodMetadata metadata = requestTemplate != null ? requestTemplate.methodMetadata() : null;
+        if (metadata == null) {
+            return ApiCallMetrics.NONE;
+        }
+        String uri = uriTemplates.get(metadata.configKey());
+        return uri != null ? uri
+            : uriTemplates.computeIfAbsent(metadata.configKey(), key -> UriTemplates.path(metadata.template().url()));
+    }
+}
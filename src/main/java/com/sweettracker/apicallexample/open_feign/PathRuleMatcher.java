@@ -0,0 +1,122 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    설정된 path 규칙을 시작 시 한 번만 컴파일한다
+    - 와일드카드가 없는 규칙 : HashSet 조회
+    - 와일드카드 규칙 : segment 단위 trie (* : segment 하나, ** : 이후 전체)
+    호출마다 URI 를 생성하거나 목록을 순회하지 않는다
+    끝의 / 는 무시한다 (/test 규칙은 /test/ 와도 일치한다)
+*/
+public final class PathRuleMatcher {
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_PATH = "**";
+
+    private final Set<String> exactPaths = new HashSet<>();
+    private final Node root = new Node();
+    private boolean hasWildcard;
+
+    private PathRuleMatcher() {
+    }
+
+    public static PathRuleMatcher compile(Collection<String> patterns) {
+        PathRuleMatcher matcher = new PathRuleMatcher();
+        for (String pattern : patterns) {
+            if (pattern.contains(ANY_SEGMENT)) {
+                matcher.addWildcard(pattern);
+            } else {
+                matcher.exactPaths.add(stripTrailingSlash(pattern));
+            }
+        }
+        return matcher;
+    }
+
+    public boolean matches(String path) {
+        if (exactPaths.contains(stripTrailingSlash(path))) {
+            return true;
+        }
+        return hasWildcard && matches(root, path, path.startsWith("/") ? 1 : 0);
+    }
+
+    // scheme://host:port/path?query#fragment 에서 path 만 꺼낸다
+    public static String extractPath(String url) {
+        int schemeEnd = url.indexOf("://");
+        int start = schemeEnd < 0 ? 0 : url.indexOf('/', schemeEnd + 3);
+        if (start < 0) {
+            return "/";
+        }
+
+        int end = url.length();
+        int query = url.indexOf('?', start);
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = url.indexOf('#', start);
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return url.substring(start, end);
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private void addWildcard(String pattern) {
+        hasWildcard = true;
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (ANY_PATH.equals(segment)) {
+                node.matchesRest = true;
+                return;
+            }
+            node = ANY_SEGMENT.equals(segment)
+                ? node.anySegment()
+                : node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    private static boolean matches(Node node, String path, int from) {
+        if (node.matchesRest) {
+            return true;
+        }
+        if (from >= path.length()) {
+            return node.terminal;
+        }
+
+        int end = path.indexOf('/', from);
+        if (end < 0) {
+            end = path.length();
+        }
+        Node child = node.children.get(path.substring(from, end));
+        if (child != null && matches(child, path, end + 1)) {
+            return true;
+        }
+        return node.anySegment != null && matches(node.anySegment, path, end + 1);
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private Node anySegment;
+        private boolean matchesRest;
+        private boolean terminal;
+
+        private Node anySegment() {
+            if (anySegment == null) {
+                anySegment = new Node();
+            }
+            return anySegment;
+        }
+    }
+}
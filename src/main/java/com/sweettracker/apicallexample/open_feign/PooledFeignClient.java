@@ -0,0 +1,68 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.open_feign.FeignClientPoolProperties.Pool;
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+
+/*
+    Apache HttpClient 5 커넥션 풀 기반 feign Client
+    keep-alive 커넥션을 재사용하고, 빈 종료시 풀과 idle 정리 스레드를 함께 종료한다
+*/
+public class PooledFeignClient implements Client, Closeable {
+
+    private final CloseableHttpClient httpClient;
+    private final Client delegate;
+
+    public PooledFeignClient(Pool pool) {
+        this.httpClient = createHttpClient(pool);
+        this.delegate = new ApacheHttp5Client(httpClient);
+    }
+
+    @Override
+    public Response execute(Request request, Options options) throws IOException {
+        return delegate.execute(request, options);
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private static CloseableHttpClient createHttpClient(Pool pool) {
+        PoolingHttpClientConnectionManager connectionManager =
+            PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxTotal())
+                .setMaxConnPerRoute(pool.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setTimeToLive(timeValue(pool.getTimeToLive()))
+                    .setValidateAfterInactivity(timeValue(pool.getValidateAfterInactivity()))
+                    .build())
+                .build();
+
+        // 재시도는 feign Retryer 에서 처리하므로 HttpClient 자체 재시도는 사용하지 않는다
+        // 응답 압축 해제는 CompressingFeignClient 에서 처리하므로 HttpClient 의 Accept-Encoding 과 자동 해제는 사용하지 않는다
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(timeValue(pool.getIdleEviction()))
+            .disableAutomaticRetries()
+            .disableContentCompression()
+            .build();
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
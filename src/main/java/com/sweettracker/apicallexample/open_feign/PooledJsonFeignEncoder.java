@@ -0,0 +1,66 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.serialization.PooledJsonWriter;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+/*
+    feignClient 요청 body JSON 직렬화 (pooled-json)
+    SpringEncoder 는 HttpMessageConverter 를 거쳐 크기가 32 byte 부터 두 배씩 늘어나는 ByteArrayOutputStream 에 쓴 뒤 다시 복사한다
+    JSON body 는 PooledJsonWriter 로 pool 의 buffer 에 직렬화하여 정확한 크기의 배열 하나만 만들고, 그 배열을 그대로 전송 클라이언트에 넘긴다
+    Content-Type 이 없거나 JSON 인 객체 body 만 처리하며 form, multipart, byte[], String, Smile 은 delegate(SpringEncoder)가 처리한다
+*/
+public class PooledJsonFeignEncoder implements Encoder {
+
+    private final Encoder delegate;
+    private final PooledJsonWriter pooledJsonWriter;
+
+    public PooledJsonFeignEncoder(Encoder delegate, PooledJsonWriter pooledJsonWriter) {
+        this.delegate = delegate;
+        this.pooledJsonWriter = pooledJsonWriter;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        if (object == null || object instanceof byte[] || object instanceof CharSequence
+            || object instanceof MultipartFile || object instanceof MultipartFile[]) {
+            delegate.encode(object, bodyType, template);
+            return;
+        }
+        MediaType contentType = contentType(template);
+        if (contentType != null && !isJson(contentType)) {
+            delegate.encode(object, bodyType, template);
+            return;
+        }
+
+        byte[] body;
+        try {
+            body = pooledJsonWriter.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new EncodeException("요청 body JSON 직렬화 실패: " + e.getMessage(), e);
+        }
+        if (contentType == null) {
+            template.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        template.body(body, StandardCharsets.UTF_8);
+    }
+
+    private static MediaType contentType(RequestTemplate template) {
+        Collection<String> values = template.headers().getOrDefault(HttpHeaders.CONTENT_TYPE, List.of());
+        return values.isEmpty() ? null : MediaType.parseMediaType(values.iterator().next());
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+            || "json".equals(contentType.getSubtypeSuffix());
+    }
+}
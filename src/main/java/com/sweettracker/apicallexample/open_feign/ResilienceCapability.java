@@ -0,0 +1,52 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.resilience.BulkheadSettings;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import com.sweettracker.apicallexample.common.resilience.ResilienceRegistry;
+import com.sweettracker.apicallexample.common.resilience.ResilientCall;
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    feign 의 메서드별 MethodHandler 를 bulkhead + circuit breaker 로 감싼다
+    MethodHandler 는 retryer 를 포함하므로 재시도를 모두 마친 최종 결과가 circuit breaker 에 집계된다
+*/
+public class ResilienceCapability implements Capability {
+
+    // ResilienceRegistry 의 호출 방식 구분 (같은 이름의 http interface, async feign 클라이언트와 bulkhead, circuit breaker 를 공유하지 않는다)
+    public static final String CLIENT_TYPE = "feign";
+
+    private final String clientName;
+    private final ResilienceRegistry registry;
+    private final BulkheadSettings bulkheadSettings;
+    private final CircuitBreakerSettings circuitBreakerSettings;
+
+    public ResilienceCapability(String clientName, ResilienceRegistry registry,
+        BulkheadSettings bulkheadSettings, CircuitBreakerSettings circuitBreakerSettings) {
+        this.clientName = clientName;
+        this.registry = registry;
+        this.bulkheadSettings = bulkheadSettings;
+        this.circuitBreakerSettings = circuitBreakerSettings;
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            Map<Method, MethodHandler> wrapped = new LinkedHashMap<>();
+            dispatch.forEach((method, handler) -> {
+                if (method.isDefault()) {
+                    wrapped.put(method, handler);
+                    return;
+                }
+                ResilientCall call = registry.call(CLIENT_TYPE, clientName, method.getName(),
+                    bulkheadSettings, circuitBreakerSettings);
+                wrapped.put(method, args -> call.execute(() -> handler.invoke(args)));
+            });
+            return invocationHandlerFactory.create(target, wrapped);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.common.retry.Retrier;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+
+/*
+    retry budget 적립용 decorator
+    Retryer 는 실패한 요청만 전달받으므로 재시도 대상이 아닌 응답을 받을 때마다 여기서 budget 을 적립한다
+*/
+@RequiredArgsConstructor
+public class RetryBudgetFeignClient implements Client, Closeable {
+
+    private final Client delegate;
+    private final Retrier retrier;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(request, options);
+        if (!retrier.isRetryableStatus(response.status())) {
+            retrier.onSuccess();
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sweettracker.apicallexample.open_feign;
+
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import com.sweettracker.apicallexample.test_controller.UploadSessionStore;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.multipart.MultipartFile;
+
+/*
+    TestFeignClient 의 async 버전 (FeignAsyncClientConfig 에서 AsyncFeign 으로 생성한다)
+    JDK HttpClient 의 sendAsync 로 요청하므로 응답을 기다리는 동안 호출한 스레드를 잡지 않는다
+    에러 응답은 TestFeignClient 와 같이 ApiCallException 으로 future 가 실패한다
+*/
+public interface TestFeignAsyncClient {
+
+    @GetMapping("/test")
+    CompletableFuture<String> getTest(@RequestParam String username);
+
+    @PostMapping("/test/request-body")
+    CompletableFuture<String> postTest(@RequestBody PostTestRequest request);
+
+    @PostMapping("/test/request-body/batch")
+    CompletableFuture<List<BatchItemResult>> postTestBatch(@RequestBody List<PostTestRequest> requests);
+
+    @PostMapping("/test/form-data")
+    CompletableFuture<String> postTest2(
+        @RequestParam String username,
+        @RequestParam String password
+    );
+
+    @PostMapping(value = "/test/multi-part", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    CompletableFuture<String> postTest3(
+        @RequestPart MultipartFile file,
+        @RequestParam String username,
+        @RequestParam String password
+    );
+
+    @PostMapping("/test/upload-sessions")
+    CompletableFuture<UploadSessionResponse> beginUpload(@RequestBody BeginUploadRequest request);
+
+    @GetMapping("/test/upload-sessions/{sessionId}")
+    CompletableFuture<UploadSessionResponse> getUploadSession(@PathVariable String sessionId);
+
+    @PutMapping(value = "/test/upload-sessions/{sessionId}/chunks/{index}",
+        consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    CompletableFuture<Void> uploadChunk(
+        @PathVariable String sessionId,
+        @PathVariable int index,
+        @RequestHeader(UploadSessionStore.CHUNK_CHECKSUM_HEADER) String checksum,
+        @RequestBody byte[] chunk
+    );
+
+    @PostMapping("/test/upload-sessions/{sessionId}/commit")
+    CompletableFuture<UploadSessionResponse> commitUpload(@PathVariable String sessionId);
+}
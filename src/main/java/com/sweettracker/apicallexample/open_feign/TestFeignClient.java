@@ -1,24 +1,49 @@
 package com.sweettracker.apicallexample.open_feign;
 
+import com.sweettracker.apicallexample.common.coalesce.Coalesced;
+import com.sweettracker.apicallexample.common.serialization.BinaryMediaTypes;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
 import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import com.sweettracker.apicallexample.test_controller.UploadSessionStore;
+import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 
-@FeignClient(name = "test", url = "http://localhost:8080")
+@FeignClient(name = "test", url = "${api.test.url}")
 public interface TestFeignClient {
 
+    // 같은 username 으로 동시에 호출되면 하나의 요청으로 합친다
+    @Coalesced
     @GetMapping("/test")
     String getTest(@RequestParam String username);
 
     @PostMapping("/test/request-body")
     String postTest(@RequestBody PostTestRequest request);
 
+    // 단건 호출은 FeignRequestBodyBatcher 를 통해 자동으로 묶인다
+    @PostMapping("/test/request-body/batch")
+    List<BatchItemResult> postTestBatch(@RequestBody List<PostTestRequest> requests);
+
+    // 요청 body 를 Smile(binary) 로 직렬화한다 (Content-Type)
+    @PostMapping(value = "/test/request-body", consumes = BinaryMediaTypes.APPLICATION_SMILE_VALUE)
+    String postTestSmile(@RequestBody PostTestRequest request);
+
+    // 요청, 응답 body 를 모두 Smile 로 직렬화한다 (Content-Type, Accept)
+    @PostMapping(value = "/test/request-body/batch",
+        consumes = BinaryMediaTypes.APPLICATION_SMILE_VALUE, produces = BinaryMediaTypes.APPLICATION_SMILE_VALUE)
+    List<BatchItemResult> postTestBatchSmile(@RequestBody List<PostTestRequest> requests);
+
     /*
         feignClient 는 기본적으로 json 직렬화를 하기 때문이
         PostMapping formData 를 전송하려면 각각의 파라미터를 모두 지정해주어야한다
@@ -29,10 +54,33 @@ public interface TestFeignClient {
         @RequestParam String password
     );
 
+    /*
+        feignClient 는 요청 body 를 byte[] 로 인코딩하므로 파일 전체가 메모리에 올라간다
+        대용량 파일은 RestClientFileUploader 또는 WebClientFileUploader 를 사용한다
+    */
     @PostMapping(value = "/test/multi-part", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     String postTest3(
         @RequestPart MultipartFile file,
         @RequestParam String username,
         @RequestParam String password
     );
+
+    // chunk 업로드는 FeignChunkedUploader 를 통해 사용한다
+    @PostMapping("/test/upload-sessions")
+    UploadSessionResponse beginUpload(@RequestBody BeginUploadRequest request);
+
+    @GetMapping("/test/upload-sessions/{sessionId}")
+    UploadSessionResponse getUploadSession(@PathVariable String sessionId);
+
+    @PutMapping(value = "/test/upload-sessions/{sessionId}/chunks/{index}",
+        consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    void uploadChunk(
+        @PathVariable String sessionId,
+        @PathVariable int index,
+        @RequestHeader(UploadSessionStore.CHUNK_CHECKSUM_HEADER) String checksum,
+        @RequestBody byte[] chunk
+    );
+
+    @PostMapping("/test/upload-sessions/{sessionId}/commit")
+    UploadSessionResponse commitUpload(@PathVariable String sessionId);
 }
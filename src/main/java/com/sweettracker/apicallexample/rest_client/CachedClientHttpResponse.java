@@ -0,0 +1,42 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.cache.CachedResponse;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+// 캐시된 응답을 restClient 응답으로 변환한다 (커넥션을 사용하지 않으므로 close 할 자원이 없다)
+class CachedClientHttpResponse implements ClientHttpResponse {
+
+    private final CachedResponse cachedResponse;
+
+    CachedClientHttpResponse(CachedResponse cachedResponse) {
+        this.cachedResponse = cachedResponse;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatusCode.valueOf(cachedResponse.status());
+    }
+
+    @Override
+    public String getStatusText() {
+        return "";
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return cachedResponse.headers();
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(cachedResponse.body());
+    }
+
+    @Override
+    public void close() {
+    }
+}
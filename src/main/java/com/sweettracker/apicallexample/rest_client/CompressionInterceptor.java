@@ -0,0 +1,92 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+    restClient 용 요청 body 압축, 응답 해제 (client-compression)
+    - 압축 대상 요청 body 는 한 번만 압축하고 재시도에서는 같은 byte[] 를 다시 보낸다
+    - JDK HttpClient 는 응답 압축을 해제하지 않으므로 Accept-Encoding 을 보내고 body 를 stream 으로 해제한다
+    RetryInterceptor 바로 앞에 등록한다 (LoggingInterceptor 는 압축 전 body 를 기록한다)
+*/
+@RequiredArgsConstructor
+public class CompressionInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ContentCompression compression;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+        ClientHttpRequestExecution execution) throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, compression.getAcceptEncoding());
+        }
+
+        byte[] sent = body;
+        if (!headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+            && compression.shouldCompress(headers.getContentType(), body.length)) {
+            sent = compression.compress(body);
+            headers.set(HttpHeaders.CONTENT_ENCODING, compression.getEncoding());
+            headers.setContentLength(sent.length);
+        }
+
+        ClientHttpResponse response = execution.execute(request, sent);
+        String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        return contentEncoding == null ? response : new DecompressingResponse(response, contentEncoding);
+    }
+
+    private final class DecompressingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String contentEncoding;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        private DecompressingResponse(ClientHttpResponse delegate, String contentEncoding) {
+            this.delegate = delegate;
+            this.contentEncoding = contentEncoding;
+            // 해제한 body 의 길이는 알 수 없으므로 Content-Length 도 제거한다
+            HttpHeaders decoded = new HttpHeaders();
+            decoded.putAll(delegate.getHeaders());
+            decoded.remove(HttpHeaders.CONTENT_ENCODING);
+            decoded.remove(HttpHeaders.CONTENT_LENGTH);
+            this.headers = HttpHeaders.readOnlyHttpHeaders(decoded);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = compression.decompress(contentEncoding, delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
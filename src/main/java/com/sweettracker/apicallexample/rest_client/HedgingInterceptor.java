@@ -0,0 +1,192 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.hedge.RequestHedger;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+    restClient 용 hedging (GET, HEAD)
+    원래 요청은 호출한 스레드에서 그대로 실행하고, percentile 지연 안에 응답하지 않으면 budget 이 남은 경우
+    hedge 스레드(virtual thread)에서 requestFactory 로 같은 요청을 한 번 더 보낸 뒤 먼저 성공한 응답을 사용한다
+    - hedge 가 먼저 성공하면 원래 요청을 실행 중인 호출 스레드를 interrupt 하여 요청을 취소하고 hedge 응답을 반환한다
+    - 원래 요청이 먼저 끝나면 hedge 를 취소(interrupt)하고, 이미 받은 hedge 응답은 close 하여 커넥션을 반납한다
+    - 먼저 끝난 쪽이 실패하면 나머지를 기다린다
+    [ CAUTION ]
+    hedge 요청은 requestFactory 로 직접 보내므로 이 interceptor 뒤의 interceptor(exchange 로그, 요청 body 압축, 재시도)를 거치지 않는다
+    (GET, HEAD 만 hedge 하므로 압축할 요청 body 가 없고, hedge 자체가 재시도 역할을 한다)
+*/
+public class HedgingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final RequestHedger hedger;
+    private final ClientHttpRequestFactory requestFactory;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService hedgeExecutor;
+
+    public HedgingInterceptor(RequestHedger hedger, ClientHttpRequestFactory requestFactory) {
+        this.hedger = hedger;
+        this.requestFactory = requestFactory;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rest-client-hedge-timer").daemon(true).factory());
+        this.hedgeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rest-client-hedge-", 0).factory());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+        ClientHttpRequestExecution execution) throws IOException {
+        if (!RequestHedger.isHedgeable(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+
+        long delayNanos = hedger.onRequest();
+        Race race = new Race(request);
+        ScheduledFuture<?> hedgeTimer = timer.schedule(race::startHedge, delayNanos, TimeUnit.NANOSECONDS);
+        long start = System.nanoTime();
+        ClientHttpResponse response = null;
+        IOException primaryError = null;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            primaryError = e;
+        } catch (RuntimeException e) {
+            race.finishPrimary();
+            race.abandonHedge();
+            throw e;
+        } finally {
+            hedgeTimer.cancel(false);
+            hedger.record(System.nanoTime() - start);
+        }
+
+        race.finishPrimary();
+        if (response != null) {
+            race.abandonHedge();
+            return response;
+        }
+        // 원래 요청이 실패했거나 hedge 가 먼저 성공하여 취소된 경우 hedge 응답을 사용한다 (hedge 가 없으면 원래 에러)
+        ClientHttpResponse hedgeResponse = race.awaitHedge(primaryError);
+        hedger.onHedgeWon();
+        return hedgeResponse;
+    }
+
+    /*
+        원래 요청(호출 스레드)과 hedge 요청(hedge 스레드) 사이의 상태, this 로 동기화한다
+    */
+    private final class Race {
+
+        private final HttpRequest request;
+        private final Thread caller = Thread.currentThread();
+        private boolean primaryRunning = true;
+        private boolean interruptedByHedge;
+        private boolean abandoned;
+        private Future<?> hedgeTask;
+        private boolean hedgeDone;
+        private ClientHttpResponse hedgeResponse;
+        private IOException hedgeError;
+
+        private Race(HttpRequest request) {
+            this.request = request;
+        }
+
+        // timer 스레드 : 원래 요청이 아직 진행 중이고 budget 이 남은 경우만 hedge 한다
+        private synchronized void startHedge() {
+            if (primaryRunning && hedger.tryHedge()) {
+                hedgeTask = hedgeExecutor.submit(this::runHedge);
+            }
+        }
+
+        // hedge 스레드
+        private void runHedge() {
+            long start = System.nanoTime();
+            ClientHttpResponse response = null;
+            IOException error = null;
+            try {
+                ClientHttpRequest hedgeRequest = requestFactory.createRequest(request.getURI(), request.getMethod());
+                hedgeRequest.getHeaders().putAll(request.getHeaders());
+                response = hedgeRequest.execute();
+            } catch (IOException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                error = new IOException(e);
+            } finally {
+                hedger.record(System.nanoTime() - start);
+            }
+            complete(response, error);
+        }
+
+        private synchronized void complete(ClientHttpResponse response, IOException error) {
+            hedgeDone = true;
+            if (abandoned) {
+                close(response);
+                return;
+            }
+            hedgeResponse = response;
+            hedgeError = error;
+            if (response != null && primaryRunning) {
+                interruptedByHedge = true;
+                caller.interrupt();
+            }
+            notifyAll();
+        }
+
+        // 호출 스레드 : hedge 가 원래 요청을 취소하려고 설정한 interrupt 는 지운다
+        private void finishPrimary() {
+            boolean interrupted;
+            synchronized (this) {
+                primaryRunning = false;
+                interrupted = interruptedByHedge;
+            }
+            if (interrupted) {
+                Thread.interrupted();
+            }
+        }
+
+        // 원래 요청의 응답을 사용하므로 hedge 는 취소하고 이미 받은 응답은 close 한다
+        private synchronized void abandonHedge() {
+            abandoned = true;
+            if (hedgeResponse != null) {
+                close(hedgeResponse);
+                hedgeResponse = null;
+            } else if (hedgeTask != null && !hedgeDone) {
+                hedgeTask.cancel(true);
+            }
+        }
+
+        // hedge 가 없거나 실패하면 원래 요청의 에러를 던진다
+        private synchronized ClientHttpResponse awaitHedge(IOException primaryError) throws IOException {
+            if (hedgeTask == null) {
+                throw primaryError;
+            }
+            try {
+                while (!hedgeDone) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                abandonHedge();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("hedging 대기 중 interrupt 되었습니다.");
+            }
+            if (hedgeResponse == null) {
+                primaryError.addSuppressed(hedgeError);
+                throw primaryError;
+            }
+            return hedgeResponse;
+        }
+    }
+
+    private static void close(ClientHttpResponse response) {
+        if (response != null) {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger.Direction;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+    restClient 용 요청/응답 로그 (ExchangeLogger)
+    logging -> compression -> retry 순서로 CompressionInterceptor, RetryInterceptor 보다 바깥에 등록한다
+    - 재시도를 포함한 호출 전체를 한 건으로 기록한다 (마지막 응답의 status)
+    - 요청 body 는 압축 전, 응답 body 는 압축 해제 후의 내용을 기록한다
+*/
+@RequiredArgsConstructor
+public class LoggingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String CLIENT = "restClient";
+
+    private final ExchangeLogger exchangeLogger;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+        ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            log(request, body, 0, System.nanoTime() - start, e);
+            throw e;
+        }
+        log(request, body, response.getStatusCode().value(), System.nanoTime() - start, null);
+        return response;
+    }
+
+    private void log(HttpRequest request, byte[] body, int status, long durationNanos, Throwable error) {
+        if (!exchangeLogger.isSampled(error != null || status >= 400)) {
+            return;
+        }
+        exchangeLogger.exchange(Direction.OUTBOUND, CLIENT, request.getMethod().name(), request.getURI().toString(),
+            status, durationNanos, request.getHeaders(), exchangeLogger.isBodyEnabled() ? body : null, error);
+    }
+}
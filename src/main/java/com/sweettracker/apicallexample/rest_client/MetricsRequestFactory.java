@@ -0,0 +1,88 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.ApiCallObservationHandler;
+import com.sweettracker.apicallexample.common.metrics.UriTemplates;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+    restClient 용 ApiCallMetrics 기록 (requestFactory 를 감싼다)
+    interceptor chain 은 재시도 시 RetryInterceptor 뒤의 interceptor 를 다시 거치지 않으므로 chain 끝의 requestFactory 에서
+    요청(시도) 하나하나의 응답 header 수신까지의 시간을 기록한다 (WebClient 의 MetricsFilter, feignClient 의 MetricsFeignClient 와 같은 기준)
+    URI 템플릿은 restClient 의 observation 에서 가져온다 (ApiCallObservationHandler)
+*/
+public class MetricsRequestFactory implements ClientHttpRequestFactory {
+
+    private static final String CLIENT = "restClient";
+
+    private final ClientHttpRequestFactory delegate;
+    private final ApiCallMetrics metrics;
+    private final ObservationRegistry observationRegistry;
+
+    public MetricsRequestFactory(ClientHttpRequestFactory delegate, ApiCallMetrics metrics,
+        ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new MetricsRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private final class MetricsRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+
+        private MetricsRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            String method = delegate.getMethod().name();
+            String uri = UriTemplates.path(ApiCallObservationHandler.currentUriTemplate(observationRegistry));
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            int status;
+            try {
+                response = delegate.execute();
+                status = response.getStatusCode().value();
+            } catch (IOException | RuntimeException e) {
+                metrics.recordFailure(CLIENT, method, uri, ApiCallMetrics.OUTCOME_IO_ERROR, System.nanoTime() - start);
+                throw e;
+            }
+            metrics.record(CLIENT, method, uri, status, System.nanoTime() - start);
+            return response;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
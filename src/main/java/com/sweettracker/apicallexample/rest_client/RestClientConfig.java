@@ -0,0 +1,102 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.compression.ContentCompression;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.common.h2c.H2cProperties;
+import com.sweettracker.apicallexample.common.hedge.RequestHedgers;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.ApiCallObservationHandler;
+import com.sweettracker.apicallexample.common.retry.Retriers;
+import com.sweettracker.apicallexample.common.serialization.PooledJsonWriter;
+import io.micrometer.observation.ObservationRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class RestClientConfig {
+
+    @Bean
+    RestClient testRestClient(@Value("${api.test.url}") String baseUrl, Environment environment,
+        ApiCallExceptionFactory apiCallExceptionFactory,
+        H2cProperties h2cProperties,
+        ObjectProvider<ResponseCache> responseCache,
+        ObjectProvider<RequestHedgers> requestHedgers,
+        ObjectProvider<ContentCompression> contentCompression,
+        ObjectProvider<PooledJsonWriter> pooledJsonWriter,
+        Retriers retriers,
+        ApiCallMetrics apiCallMetrics,
+        ExchangeLogger exchangeLogger,
+        MappingJackson2SmileHttpMessageConverter smileConverter,
+        @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        // JDK HttpClient 기본값(HTTP_2)은 http:// 요청마다 Upgrade: h2c 를 시도하므로 h2c 를 사용하지 않으면 HTTP/1.1 로 고정한다
+        // h2c.enabled=true 이면 첫 요청에서 upgrade 한 커넥션 하나에 이후 요청을 모두 multiplexing 한다
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+            .version(h2cProperties.isEnabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1));
+
+        JdkClientHttpRequestFactory requestFactory;
+        // spring.threads.virtual.enabled=true 인 경우 요청 body 전송과 응답 처리도 virtual thread 에서 실행한다
+        if (Threading.VIRTUAL.isActive(environment)) {
+            Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+            requestFactory = new JdkClientHttpRequestFactory(
+                httpClientBuilder.executor(executor).build(), executor);
+        } else {
+            requestFactory = new JdkClientHttpRequestFactory(httpClientBuilder.build());
+        }
+        requestFactory.setReadTimeout(Duration.ofSeconds(10));
+
+        // 요청(시도)별 응답 시간 api.client.requests (URI 템플릿은 observation context 에서 가져온다)
+        // 캐시 재검증, hedge 요청은 감싸지 않은 requestFactory 로 보내므로 기록하지 않는다
+        ObservationRegistry observationRegistry = ApiCallObservationHandler.registry();
+        RestClient.Builder builder = RestClient.builder()
+            .baseUrl(baseUrl)
+            .requestFactory(new MetricsRequestFactory(requestFactory, apiCallMetrics, observationRegistry))
+            .defaultHeader("key", "val")
+            // application/x-jackson-smile 은 spring.jackson.* 설정이 적용된 converter 빈을 사용한다
+            .messageConverters(converters -> {
+                converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+                converters.add(smileConverter);
+                // pooled-json.enabled=true 인 경우 JsonGenerator 내부 buffer 를 pool 에서 재사용한다
+                // (요청 body 는 interceptor 가 buffering 하는 stream 에 바로 쓰므로 출력 buffer 는 따로 두지 않는다)
+                pooledJsonWriter.ifAvailable(writer -> converters.replaceAll(converter ->
+                    converter instanceof MappingJackson2HttpMessageConverter
+                        ? new MappingJackson2HttpMessageConverter(writer.getObjectMapper())
+                        : converter));
+            })
+            .observationRegistry(observationRegistry)
+            .defaultStatusHandler(HttpStatusCode::isError, (request, response) -> {
+                throw apiCallExceptionFactory.create(null, request, response);
+            });
+        // response-cache.enabled=true 인 경우 GET 응답 캐시
+        responseCache.ifAvailable(cache -> builder.requestInterceptor(
+            new RestClientResponseCacheInterceptor(cache, requestFactory, taskExecutor)));
+        // hedging.enabled=true 인 경우 느린 GET 요청을 한 번 더 보낸다 (캐시 interceptor 안쪽)
+        // 원래 요청은 호출 스레드에서 실행하고 hedge 요청만 virtual thread 에서 아래 interceptor 를 거치지 않고 보낸다
+        requestHedgers.ifAvailable(hedgers -> builder.requestInterceptor(
+            new HedgingInterceptor(hedgers.get("test"), requestFactory)));
+        // 호출별 로그 (exchange-log)
+        builder.requestInterceptor(new LoggingInterceptor(exchangeLogger));
+        // client-compression.enabled=true 인 경우 요청 body 압축, 응답 해제 (hedge 요청은 압축하지 않는다)
+        contentCompression.ifAvailable(compression -> builder.requestInterceptor(
+            new CompressionInterceptor(compression)));
+        // retry.* 설정의 재시도 (execution 을 반복 호출하므로 마지막 interceptor 로 등록한다)
+        builder.requestInterceptor(new RetryInterceptor(retriers.get("test")));
+        return builder.build();
+    }
+}
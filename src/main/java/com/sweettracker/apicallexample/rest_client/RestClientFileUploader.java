@@ -0,0 +1,44 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+/*
+    /test/multi-part/stream 스트리밍 업로드 (blocking)
+    testRestClient 의 JdkClientHttpRequestFactory 는 요청 body 를 버퍼링하지 않으므로
+    FormHttpMessageConverter 가 파일을 고정 크기 버퍼로 읽으면서 바로 소켓에 쓴다
+    [ CAUTION ]
+    feignClient 는 요청 body 를 byte[] 로만 다루기 때문에 대용량 파일은 이 클래스를 사용한다
+    interceptor 가 있으면 요청 body 를 메모리에 버퍼링하므로 interceptor 를 제거한 클라이언트를 사용한다
+*/
+@Component
+public class RestClientFileUploader {
+
+    private final RestClient testRestClient;
+
+    public RestClientFileUploader(RestClient testRestClient) {
+        this.testRestClient = testRestClient.mutate()
+            .requestInterceptors(List::clear)
+            .build();
+    }
+
+    public String upload(Path file, String username, String password) {
+        MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
+        formData.add("username", username);
+        formData.add("password", password);
+        formData.add("file", new FileSystemResource(file));
+
+        return testRestClient.post()
+            .uri("/test/multi-part/stream")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(formData)
+            .retrieve()
+            .body(String.class);
+    }
+}
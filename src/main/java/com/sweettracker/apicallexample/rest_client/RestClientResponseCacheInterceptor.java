@@ -0,0 +1,107 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.cache.CachedResponse;
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.cache.ResponseCache.Lookup;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.Executor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.util.StreamUtils;
+
+/*
+    restClient 용 ResponseCache 연동
+    stale 응답을 반환한 뒤의 재검증은 요청이 끝난 후 실행되므로 interceptor chain 대신
+    requestFactory 로 새 요청을 만들어 executor 에서 실행한다
+*/
+@Slf4j
+@RequiredArgsConstructor
+public class RestClientResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ResponseCache responseCache;
+    private final ClientHttpRequestFactory requestFactory;
+    private final Executor executor;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+        ClientHttpRequestExecution execution) throws IOException {
+        Lookup lookup = responseCache.lookup(request.getMethod(), request.getURI(), request.getHeaders());
+        if (lookup == null) {
+            return execution.execute(request, body);
+        }
+
+        switch (lookup.state()) {
+            case FRESH:
+                return new CachedClientHttpResponse(lookup.cached());
+            case STALE:
+                if (responseCache.startRevalidation(lookup)) {
+                    HttpHeaders headers = conditionalHeaders(request.getHeaders(), lookup.etag());
+                    executor.execute(() -> revalidate(request.getURI(), headers, lookup));
+                }
+                return new CachedClientHttpResponse(lookup.cached());
+            default:
+                break;
+        }
+
+        HttpHeaders headers = conditionalHeaders(request.getHeaders(), lookup.etag());
+        HttpRequest conditionalRequest = new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        ClientHttpResponse response = execution.execute(conditionalRequest, body);
+        CachedResponse cachedResponse = update(lookup, response);
+        return cachedResponse != null ? new CachedClientHttpResponse(cachedResponse) : response;
+    }
+
+    private void revalidate(URI uri, HttpHeaders headers, Lookup lookup) {
+        try {
+            ClientHttpRequest request = requestFactory.createRequest(uri, HttpMethod.GET);
+            request.getHeaders().putAll(headers);
+            try (ClientHttpResponse response = request.execute()) {
+                update(lookup, response);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("캐시 재검증에 실패했습니다. uri={}", uri, e);
+        } finally {
+            responseCache.endRevalidation(lookup);
+        }
+    }
+
+    // 200, 304 는 응답을 모두 읽고 닫은 뒤 캐시 응답을 반환하고 그 외 응답은 null (원본 응답을 그대로 사용)
+    private CachedResponse update(Lookup lookup, ClientHttpResponse response) throws IOException {
+        int status = response.getStatusCode().value();
+        if (status == 304 && lookup.cached() != null) {
+            HttpHeaders headers = response.getHeaders();
+            response.close();
+            return responseCache.update(lookup, status, headers, null);
+        }
+        if (status != 200) {
+            return null;
+        }
+        try (response) {
+            byte[] body = StreamUtils.copyToByteArray(response.getBody());
+            return responseCache.update(lookup, status, response.getHeaders(), body);
+        }
+    }
+
+    private static HttpHeaders conditionalHeaders(HttpHeaders requestHeaders, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(requestHeaders);
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return headers;
+    }
+}
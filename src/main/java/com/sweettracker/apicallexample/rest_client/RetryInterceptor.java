@@ -0,0 +1,69 @@
+package com.sweettracker.apicallexample.rest_client;
+
+import com.sweettracker.apicallexample.common.retry.Retrier;
+import com.sweettracker.apicallexample.common.retry.Retrier.Attempts;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+    restClient 용 재시도 (Retrier)
+    - 재시도 대상 status(429, 5xx 등)는 응답을 닫고 다시 요청하며, 재시도하지 않는 마지막 응답은 그대로 반환하여
+      defaultStatusHandler 가 ApiCallException 으로 변환하도록 한다
+    - I/O 에러도 재시도한다
+    [ CAUTION ]
+    execution 을 여러 번 호출하므로 마지막 interceptor 로 등록해야 한다 (뒤에 등록된 interceptor 는 첫 시도에만 적용된다)
+*/
+@RequiredArgsConstructor
+public class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Retrier retrier;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+        ClientHttpRequestExecution execution) throws IOException {
+        if (!retrier.isRetryableMethod(request.getMethod().name())) {
+            return execution.execute(request, body);
+        }
+
+        Attempts attempts = retrier.newAttempts();
+        while (true) {
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                long delayNanos = retrier.isRetryable(e) ? attempts.nextDelayNanos() : -1;
+                if (delayNanos < 0) {
+                    throw e;
+                }
+                sleep(delayNanos);
+                continue;
+            }
+
+            if (!retrier.isRetryableStatus(response.getStatusCode().value())) {
+                retrier.onSuccess();
+                return response;
+            }
+            long delayNanos = attempts.nextDelayNanos();
+            if (delayNanos < 0) {
+                return response;
+            }
+            response.close();
+            sleep(delayNanos);
+        }
+    }
+
+    private static void sleep(long delayNanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("재시도 대기 중 interrupt 되었습니다.");
+        }
+    }
+}
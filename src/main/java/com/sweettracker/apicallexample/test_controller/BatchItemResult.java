@@ -0,0 +1,18 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import org.springframework.http.ResponseEntity;
+
+// /test/request-body/batch 의 요청 순서별 처리 결과 (단건 /test/request-body 응답과 같은 status, body)
+public record BatchItemResult(
+    int status,
+    String body
+) {
+
+    public static BatchItemResult from(ResponseEntity<String> response) {
+        return new BatchItemResult(response.getStatusCode().value(), response.getBody());
+    }
+
+    public boolean isSuccess() {
+        return status >= 200 && status < 300;
+    }
+}
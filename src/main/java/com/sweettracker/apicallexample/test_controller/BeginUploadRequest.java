@@ -0,0 +1,9 @@
+package com.sweettracker.apicallexample.test_controller;
+
+public record BeginUploadRequest(
+    String filename,
+    long size,
+    int chunkSize
+) {
+
+}
@@ -1,14 +1,71 @@
 package com.sweettracker.apicallexample.test_controller;
 
+import com.sweettracker.apicallexample.common.compression.DecodedBodyTooLargeException;
+import org.apache.commons.fileupload2.core.FileUploadException;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class ControllerAdvice {
 
     @InitBinder
     public void initBInder(WebDataBinder binder) {
         binder.initDirectFieldAccess();
     }
+
+    // /test/multi-part/stream 처리 중 발생한 예외
+    @ExceptionHandler(FileUploadSizeException.class)
+    public ResponseEntity<String> fileUploadSizeException(FileUploadSizeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("업로드 가능한 크기를 초과했습니다.");
+    }
+
+    @ExceptionHandler(FileUploadException.class)
+    public ResponseEntity<String> fileUploadException(FileUploadException e) {
+        if (isDecodedBodyTooLarge(e)) {
+            return decodedBodyTooLarge();
+        }
+        return ResponseEntity.badRequest().body("잘못된 multipart 요청 입니다.");
+    }
+
+    // 압축된 요청 body 를 해제하는 도중 최대 크기를 넘은 경우 (RequestDecompressionFilter)
+    @ExceptionHandler(DecodedBodyTooLargeException.class)
+    public ResponseEntity<String> decodedBodyTooLargeException(DecodedBodyTooLargeException e) {
+        return decodedBodyTooLarge();
+    }
+
+    // @RequestBody 변환 중 해제 크기를 넘은 경우만 413, 그 외는 기본 처리(400)를 따른다
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> httpMessageNotReadableException(HttpMessageNotReadableException e) {
+        if (isDecodedBodyTooLarge(e)) {
+            return decodedBodyTooLarge();
+        }
+        throw e;
+    }
+
+    @ExceptionHandler(UploadSessionException.class)
+    public ResponseEntity<String> uploadSessionException(UploadSessionException e) {
+        return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+    }
+
+    private static ResponseEntity<String> decodedBodyTooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("압축 해제한 요청 body 가 최대 크기를 초과했습니다.");
+    }
+
+    private static boolean isDecodedBodyTooLarge(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DecodedBodyTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
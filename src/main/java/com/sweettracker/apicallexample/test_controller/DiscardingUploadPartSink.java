@@ -0,0 +1,16 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.io.OutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 파일 내용은 버리고 크기와 checksum 만 계산한다 (기본값)
+@Component
+@ConditionalOnProperty(value = "test-controller.upload.sink", havingValue = "discard", matchIfMissing = true)
+public class DiscardingUploadPartSink implements UploadPartSink {
+
+    @Override
+    public OutputStream open(String fieldName, String filename, String contentType) {
+        return OutputStream.nullOutputStream();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger.Direction;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/*
+    TestController 가 받은 요청 로그 (ExchangeLogger)
+    - header 는 기록 대상(isSampled)인 경우에만 복사한다
+    - exchange-log.body.enabled=true 인 경우에만 요청 body 를 max-size 까지 메모리에 복사해 둔다
+      (컨트롤러가 읽은 만큼만 복사되므로 stream 업로드도 max-size 이상 메모리를 사용하지 않는다)
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ExchangeLoggingFilter extends OncePerRequestFilter {
+
+    private static final String CLIENT = "testController";
+
+    private final ExchangeLogger exchangeLogger;
+
+    public ExchangeLoggingFilter(ExchangeLogger exchangeLogger) {
+        this.exchangeLogger = exchangeLogger;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest wrapped = exchangeLogger.isBodyEnabled()
+            ? new ContentCachingRequestWrapper(request, exchangeLogger.getMaxBodyBytes())
+            : request;
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(wrapped, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            log(wrapped, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, System.nanoTime() - start, e);
+            throw e;
+        }
+        log(wrapped, response.getStatus(), System.nanoTime() - start, null);
+    }
+
+    private void log(HttpServletRequest request, int status, long durationNanos, Throwable error) {
+        if (!exchangeLogger.isSampled(error != null || status >= 400)) {
+            return;
+        }
+        String uri = request.getQueryString() == null
+            ? request.getRequestURI()
+            : request.getRequestURI() + '?' + request.getQueryString();
+        byte[] body = request instanceof ContentCachingRequestWrapper caching
+            ? caching.getContentAsByteArray()
+            : null;
+        exchangeLogger.exchange(Direction.INBOUND, CLIENT, request.getMethod(), uri, status, durationNanos,
+            headers(request), body, error);
+    }
+
+    private static HttpHeaders headers(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.addAll(name, Collections.list(request.getHeaders(name)));
+        }
+        return headers;
+    }
+}
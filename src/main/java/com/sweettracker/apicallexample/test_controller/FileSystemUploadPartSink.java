@@ -0,0 +1,31 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// test-controller.upload.directory 에 파트를 그대로 기록한다
+@Component
+@ConditionalOnProperty(value = "test-controller.upload.sink", havingValue = "file")
+public class FileSystemUploadPartSink implements UploadPartSink {
+
+    private final Path directory;
+
+    public FileSystemUploadPartSink(
+        @Value("${test-controller.upload.directory:${java.io.tmpdir}/uploads}") Path directory)
+        throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public OutputStream open(String fieldName, String filename, String contentType)
+        throws IOException {
+        // 클라이언트가 보낸 파일명은 경로로 사용하지 않는다
+        return Files.newOutputStream(directory.resolve(UUID.randomUUID() + ".part"));
+    }
+}
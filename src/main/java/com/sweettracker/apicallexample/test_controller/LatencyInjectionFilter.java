@@ -0,0 +1,81 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+    부하 테스트용 지연 주입 필터
+    test-controller.injected-latency 만큼 요청 처리 스레드를 잡아두어 느린 downstream 을 흉내낸다 (0 이면 동작하지 않음)
+    test-controller.capacity 를 지정하면 동시에 capacity 건만 처리하고 나머지는 대기시켜
+    부하가 늘수록 응답 시간이 길어지는 downstream 을 흉내낸다 (0 이면 제한 없음)
+    test-controller.slow-ratio 비율의 요청은 slow-latency 만큼 지연시켜 일부 요청만 느린 꼬리 지연(tail latency)을 흉내낸다
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class LatencyInjectionFilter extends OncePerRequestFilter {
+
+    private final Duration latency;
+    private final Semaphore capacity;
+    private final double slowRatio;
+    private final Duration slowLatency;
+
+    public LatencyInjectionFilter(
+        @Value("${test-controller.injected-latency:0ms}") Duration latency,
+        @Value("${test-controller.capacity:0}") int capacity,
+        @Value("${test-controller.slow-ratio:0}") double slowRatio,
+        @Value("${test-controller.slow-latency:0ms}") Duration slowLatency) {
+        this.latency = latency;
+        this.capacity = capacity > 0 ? new Semaphore(capacity, true) : null;
+        this.slowRatio = slowRatio;
+        this.slowLatency = slowLatency;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return (latency.isZero() || latency.isNegative()) && slowRatio <= 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        if (capacity == null) {
+            sleep();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            sleep();
+            filterChain.doFilter(request, response);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    private void sleep() {
+        boolean slow = slowRatio > 0 && ThreadLocalRandom.current().nextDouble() < slowRatio;
+        try {
+            Thread.sleep(slow ? slowLatency : latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/*
+    reactive 서버 모드의 부하 테스트용 지연 주입 (LatencyInjectionFilter 와 같은 test-controller.* 설정)
+    스레드를 잡아두지 않고 Mono.delay 로 지연시키므로 지연 중인 요청 수만큼 스레드가 필요하지 않다
+    test-controller.capacity(동시 처리 수 제한)는 servlet 모드에서만 적용된다
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class LatencyInjectionHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final Duration latency;
+    private final double slowRatio;
+    private final Duration slowLatency;
+
+    public LatencyInjectionHandlerFilter(
+        @Value("${test-controller.injected-latency:0ms}") Duration latency,
+        @Value("${test-controller.slow-ratio:0}") double slowRatio,
+        @Value("${test-controller.slow-latency:0ms}") Duration slowLatency) {
+        this.latency = latency;
+        this.slowRatio = slowRatio;
+        this.slowLatency = slowLatency;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        boolean slow = slowRatio > 0 && ThreadLocalRandom.current().nextDouble() < slowRatio;
+        Duration delay = slow ? slowLatency : latency;
+        if (delay.isZero() || delay.isNegative()) {
+            return next.handle(request);
+        }
+        return Mono.delay(delay).then(Mono.defer(() -> next.handle(request)));
+    }
+}
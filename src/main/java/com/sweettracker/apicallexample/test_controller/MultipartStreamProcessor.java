@@ -0,0 +1,102 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+
+/*
+    multipart 요청을 MultipartFile 로 만들지 않고 도착하는 순서대로 파트를 읽는다
+    - 일반 필드 : MAX_FIELD_SIZE 까지만 읽는다
+    - 파일 파트 : BUFFER_SIZE 버퍼 하나로 읽으면서 크기와 CRC32C 를 계산하고 UploadPartSink 로 넘긴다
+    메모리 사용량은 파일 크기와 상관없이 요청당 BUFFER_SIZE 이며 임시 파일도 만들지 않는다
+    [ CAUTION ]
+    spring.servlet.multipart.resolve-lazily=true 이어야 DispatcherServlet 이 먼저 요청 body 를 읽지 않는다
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class MultipartStreamProcessor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FIELD_SIZE = 8 * 1024;
+
+    private final UploadPartSink uploadPartSink;
+    private final long maxRequestSize;
+
+    public MultipartStreamProcessor(
+        UploadPartSink uploadPartSink,
+        @Value("${test-controller.upload.max-request-size:-1}") long maxRequestSize
+    ) {
+        this.uploadPartSink = uploadPartSink;
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    public Result process(HttpServletRequest request) throws IOException {
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload =
+            new JakartaServletFileUpload<>();
+        upload.setSizeMax(maxRequestSize);
+
+        Map<String, String> fields = new HashMap<>();
+        List<UploadedPart> files = new ArrayList<>();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        FileItemInputIterator iterator = upload.getItemIterator(request);
+        while (iterator.hasNext()) {
+            FileItemInput item = iterator.next();
+            try (InputStream inputStream = item.getInputStream()) {
+                if (item.isFormField()) {
+                    fields.put(item.getFieldName(), new String(
+                        inputStream.readNBytes(MAX_FIELD_SIZE), StandardCharsets.UTF_8));
+                } else {
+                    files.add(copy(item, inputStream, buffer));
+                }
+            }
+        }
+
+        PostTestRequest postTestRequest = PostTestRequest.builder()
+            .username(fields.get("username"))
+            .password(fields.get("password"))
+            .build();
+        return new Result(postTestRequest, files);
+    }
+
+    private UploadedPart copy(FileItemInput item, InputStream inputStream, byte[] buffer)
+        throws IOException {
+        CRC32C checksum = new CRC32C();
+        long size = 0;
+        try (OutputStream outputStream = uploadPartSink
+            .open(item.getFieldName(), item.getName(), item.getContentType())) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                checksum.update(buffer, 0, read);
+                outputStream.write(buffer, 0, read);
+                size += read;
+            }
+        }
+
+        UploadedPart part = new UploadedPart(item.getFieldName(), item.getName(), size,
+            HexFormat.of().toHexDigits((int) checksum.getValue()));
+        uploadPartSink.complete(part);
+        return part;
+    }
+
+    public record Result(PostTestRequest request, List<UploadedPart> files) {
+
+    }
+}
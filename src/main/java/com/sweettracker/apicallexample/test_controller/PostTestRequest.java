@@ -11,6 +11,7 @@ import lombok.ToString;
 public class PostTestRequest {
 
     private String username;
+    @ToString.Exclude
     private String password;
 
     @Builder
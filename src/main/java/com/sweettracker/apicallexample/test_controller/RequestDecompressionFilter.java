@@ -0,0 +1,270 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import com.sweettracker.apicallexample.common.compression.ContentCodings;
+import com.sweettracker.apicallexample.common.compression.DecodedBodyTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+    Content-Encoding(gzip, zstd)으로 압축된 요청 body 를 stream 으로 해제한다
+    - tomcat 은 요청 body 압축을 해제하지 않으므로 다른 filter 가 body 를 읽기 전에 request 를 감싼다
+    - form 요청은 tomcat 이 압축된 body 로 parameter 를 만들지 않도록 해제한 body 로 직접 parameter 를 만든다
+    - 지원하지 않는 Content-Encoding 은 415 로 응답한다
+    - 해제한 크기가 form 은 server.tomcat.max-http-form-post-size, 그 외는 test-controller.decompression.max-body-size 를 넘으면 413 으로 응답한다
+      (form 은 filter 에서 바로 413 으로, 그 외 body 는 읽는 도중 DecodedBodyTooLargeException 이 발생하여 ControllerAdvice 에서 413 으로 응답한다)
+    multipart 요청은 getInputStream 으로 직접 읽는 경우(/test/multi-part/stream)만 해제된다
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private final long maxBodySize;
+    private final long maxFormSize;
+
+    public RequestDecompressionFilter(
+        @Value("${test-controller.decompression.max-body-size:10MB}") DataSize maxBodySize,
+        @Value("${server.tomcat.max-http-form-post-size:2MB}") DataSize maxFormSize
+    ) {
+        this.maxBodySize = maxBodySize.toBytes();
+        this.maxFormSize = maxFormSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (!ContentCodings.isSupported(contentEncoding)) {
+            response.setHeader(HttpHeaders.ACCEPT_ENCODING, ContentCodings.acceptEncoding());
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+            return;
+        }
+        DecompressedRequest decompressed = new DecompressedRequest(request, contentEncoding,
+            maxBodySize, maxFormSize);
+        // tomcat 의 max-http-form-post-size 검사를 거치지 않으므로 form 은 chain 으로 넘기기 전에 크기를 확인한다
+        if (decompressed.isForm()) {
+            try {
+                decompressed.parseParameters();
+            } catch (DecodedBodyTooLargeException e) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+        }
+        filterChain.doFilter(decompressed, response);
+    }
+
+    private static final class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final String contentEncoding;
+        private final long maxSize;
+        private ServletInputStream inputStream;
+        private MultiValueMap<String, String> parameters;
+
+        private DecompressedRequest(HttpServletRequest request, String contentEncoding,
+            long maxBodySize, long maxFormSize) {
+            super(request);
+            this.contentEncoding = contentEncoding;
+            this.maxSize = isForm() ? maxFormSize : maxBodySize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new DecodingInputStream(
+                    ContentCodings.decode(contentEncoding, super.getInputStream(), maxSize));
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(DecompressedRequest::isHidden);
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public String getParameter(String name) {
+            return parameters().getFirst(name);
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            Map<String, String[]> map = new LinkedHashMap<>();
+            parameters().forEach((name, values) -> map.put(name, values.toArray(String[]::new)));
+            return Collections.unmodifiableMap(map);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters().keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            List<String> values = parameters().get(name);
+            return values != null ? values.toArray(String[]::new) : null;
+        }
+
+        // query string + (form 요청이면) 해제한 body, super.getParameter 는 압축된 body 를 읽으므로 사용하지 않는다
+        private MultiValueMap<String, String> parameters() {
+            if (parameters == null) {
+                try {
+                    parseParameters();
+                } catch (IOException e) {
+                    throw new IllegalStateException("압축된 form 요청을 읽을 수 없습니다.", e);
+                }
+            }
+            return parameters;
+        }
+
+        // form body 는 maxSize 까지만 해제한다 (넘으면 DecodedBodyTooLargeException)
+        private void parseParameters() throws IOException {
+            MultiValueMap<String, String> parsed = new LinkedMultiValueMap<>();
+            parse(getQueryString(), parsed);
+            if (isForm()) {
+                try (InputStream body = getInputStream()) {
+                    parse(new String(body.readAllBytes(), charset()), parsed);
+                }
+            }
+            parameters = parsed;
+        }
+
+        private boolean isForm() {
+            String contentType = getContentType();
+            return contentType != null
+                && MediaType.APPLICATION_FORM_URLENCODED.includes(MediaType.parseMediaType(contentType));
+        }
+
+        private void parse(String encoded, MultiValueMap<String, String> parsed) {
+            if (!StringUtils.hasLength(encoded)) {
+                return;
+            }
+            Charset charset = charset();
+            for (String pair : StringUtils.tokenizeToStringArray(encoded, "&")) {
+                int index = pair.indexOf('=');
+                if (index < 0) {
+                    parsed.add(URLDecoder.decode(pair, charset), "");
+                } else {
+                    parsed.add(URLDecoder.decode(pair.substring(0, index), charset),
+                        URLDecoder.decode(pair.substring(index + 1), charset));
+                }
+            }
+        }
+
+        private Charset charset() {
+            String encoding = getCharacterEncoding();
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class DecodingInputStream extends ServletInputStream {
+
+        private final InputStream decoded;
+        private boolean finished;
+
+        private DecodingInputStream(InputStream decoded) {
+            this.decoded = decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = decoded.read();
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = decoded.read(b, off, len);
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            decoded.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        // 해제 stream 은 blocking 으로만 읽는다
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("압축된 요청 body 는 non-blocking 으로 읽을 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import com.sweettracker.apicallexample.common.compression.ContentCodings;
+import com.sweettracker.apicallexample.common.compression.DecodedBodyTooLargeException;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+    reactive 서버 모드에서 Content-Encoding(gzip, zstd)으로 압축된 요청 body 를 해제한다 (RequestDecompressionFilter 와 같은 동작)
+    - 압축된 body 는 spring.codec.max-in-memory-size 까지만 모은다
+    - 해제는 event loop 를 잡지 않도록 boundedElastic 에서 하며 test-controller.decompression.max-body-size 까지만 해제한다
+    - 두 크기 중 하나라도 넘으면 413, 지원하지 않는 Content-Encoding 은 415 로 응답한다
+    - 해제한 body 로 요청을 다시 만들어 body, form, multipart 를 읽을 때 Content-Encoding 을 신경쓰지 않도록 한다
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class RequestDecompressionHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final int maxCompressedSize;
+    private final long maxBodySize;
+
+    public RequestDecompressionHandlerFilter(
+        @Value("${spring.codec.max-in-memory-size:256KB}") DataSize maxCompressedSize,
+        @Value("${test-controller.decompression.max-body-size:10MB}") DataSize maxBodySize
+    ) {
+        this.maxCompressedSize = (int) Math.min(maxCompressedSize.toBytes(), Integer.MAX_VALUE);
+        this.maxBodySize = maxBodySize.toBytes();
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String contentEncoding = request.headers().firstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding == null) {
+            return next.handle(request);
+        }
+        if (!ContentCodings.isSupported(contentEncoding)) {
+            return ServerResponse.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .header(HttpHeaders.ACCEPT_ENCODING, ContentCodings.acceptEncoding())
+                .build();
+        }
+        return DataBufferUtils.join(request.bodyToFlux(DataBuffer.class), maxCompressedSize)
+            .flatMap(body -> Mono.fromCallable(() -> decode(contentEncoding, body))
+                .subscribeOn(Schedulers.boundedElastic()))
+            .map(body -> ServerRequest.from(request)
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.CONTENT_ENCODING);
+                    headers.setContentLength(body.readableByteCount());
+                })
+                .body(Flux.just(body))
+                .build())
+            .defaultIfEmpty(request)
+            .flatMap(next::handle)
+            .onErrorResume(RequestDecompressionHandlerFilter::isTooLarge, e ->
+                ServerResponse.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .bodyValue("압축 해제한 요청 body 가 최대 크기를 초과했습니다."));
+    }
+
+    private DataBuffer decode(String contentEncoding, DataBuffer body) throws DecodedBodyTooLargeException {
+        try (InputStream in = ContentCodings.decode(contentEncoding, body.asInputStream(true), maxBodySize)) {
+            return DefaultDataBufferFactory.sharedInstance.wrap(in.readAllBytes());
+        } catch (DecodedBodyTooLargeException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ServerWebInputException("요청 body 압축 해제 실패", null, e);
+        }
+    }
+
+    // 압축된 body 가 maxCompressedSize 를 넘거나 (join) 해제한 body 가 maxBodySize 를 넘은 경우
+    private static boolean isTooLarge(Throwable e) {
+        return e instanceof DataBufferLimitException || e instanceof DecodedBodyTooLargeException;
+    }
+}
@@ -0,0 +1,10 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.util.List;
+
+public record StreamingUploadResponse(
+    String message,
+    List<UploadedPart> files
+) {
+
+}
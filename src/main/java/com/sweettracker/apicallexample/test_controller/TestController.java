@@ -1,23 +1,57 @@
 package com.sweettracker.apicallexample.test_controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequiredArgsConstructor
 public class TestController {
 
+    // 클라이언트 응답 캐시(ResponseCache) 확인용 : ETag 가 If-None-Match 와 같으면 304 로 응답한다
+    private static final CacheControl GET_TEST_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(10));
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final MultipartStreamProcessor multipartStreamProcessor;
+    private final UploadSessionStore uploadSessionStore;
+    private final RangeFileSender rangeFileSender;
+
     @GetMapping("/test")
     public ResponseEntity<String> getTest(String username) {
         if (ObjectUtils.isEmpty(username)) {
             return ResponseEntity.badRequest().body("사용자 이름은 필수값 입니다.");
         }
-        return ResponseEntity.ok("hello " + username);
+        String body = "hello " + username;
+        return ResponseEntity.ok()
+            .cacheControl(GET_TEST_CACHE_CONTROL)
+            .eTag(DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8)))
+            .body(body);
     }
 
     @PostMapping("/test/request-body")
@@ -31,6 +65,22 @@ public class TestController {
         return ResponseEntity.ok("hello " + request.getUsername());
     }
 
+    /*
+        /test/request-body 를 여러 건 묶어서 처리한다
+        항목별로 단건 API 와 같은 검증을 하고 요청 순서대로 결과를 응답한다 (일부 항목이 실패해도 전체는 200)
+    */
+    @PostMapping("/test/request-body/batch")
+    public ResponseEntity<?> postTestBatch(@RequestBody List<PostTestRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("한 번에 " + MAX_BATCH_SIZE + "건까지 요청할 수 있습니다.");
+        }
+        return ResponseEntity.ok(requests.stream()
+            .map(request -> request != null
+                ? BatchItemResult.from(postTest(request))
+                : new BatchItemResult(400, "요청 항목은 필수값 입니다."))
+            .toList());
+    }
+
     @PostMapping("/test/form-data")
     public ResponseEntity<String> postTest2(PostTestRequest request) {
         if (ObjectUtils.isEmpty(request.getUsername())) {
@@ -45,7 +95,6 @@ public class TestController {
     @PostMapping("/test/multi-part")
     public ResponseEntity<String> postTest3(
         @RequestPart MultipartFile file, PostTestRequest request) {
-        System.out.println("call");
         if (ObjectUtils.isEmpty(request.getUsername())) {
             return ResponseEntity.badRequest().body("사용자 이름은 필수값 입니다.");
         }
@@ -58,4 +107,83 @@ public class TestController {
         return ResponseEntity.ok("hello " + request.getUsername());
     }
 
+    /*
+        대용량 파일용 multipart 업로드
+        파트를 도착하는 순서대로 처리하고 모든 파트를 읽은 뒤에 필수값을 검증한다
+        spring.servlet.multipart.max-file-size 제한을 받지 않으며 test-controller.upload.max-request-size 로 제한한다
+    */
+    @PostMapping(value = "/test/multi-part/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> postTest3Stream(HttpServletRequest servletRequest) throws IOException {
+        MultipartStreamProcessor.Result result = multipartStreamProcessor.process(servletRequest);
+        PostTestRequest request = result.request();
+        if (ObjectUtils.isEmpty(request.getUsername())) {
+            return ResponseEntity.badRequest().body("사용자 이름은 필수값 입니다.");
+        }
+        if (ObjectUtils.isEmpty(request.getPassword())) {
+            return ResponseEntity.badRequest().body("사용자 비밀번호는 필수값 입니다.");
+        }
+        if (result.files().isEmpty()) {
+            return ResponseEntity.badRequest().body("파일은 필수값 입니다.");
+        }
+        return ResponseEntity.ok(
+            new StreamingUploadResponse("hello " + request.getUsername(), result.files()));
+    }
+
+    /*
+        chunk 단위 업로드 (begin -> PUT chunk N (병렬 가능) -> commit)
+        실패한 경우 세션을 조회하여 missingChunks 만 다시 전송한다
+    */
+    @PostMapping("/test/upload-sessions")
+    public ResponseEntity<UploadSessionResponse> beginUpload(
+        @RequestBody BeginUploadRequest request) {
+        return ResponseEntity.ok(uploadSessionStore.begin(request));
+    }
+
+    @GetMapping("/test/upload-sessions/{sessionId}")
+    public ResponseEntity<UploadSessionResponse> getUploadSession(@PathVariable String sessionId) {
+        return ResponseEntity.ok(uploadSessionStore.status(sessionId));
+    }
+
+    @PutMapping(value = "/test/upload-sessions/{sessionId}/chunks/{index}",
+        consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> uploadChunk(
+        @PathVariable String sessionId,
+        @PathVariable int index,
+        @RequestHeader(UploadSessionStore.CHUNK_CHECKSUM_HEADER) String checksum,
+        InputStream body
+    ) throws IOException {
+        uploadSessionStore.writeChunk(sessionId, index, checksum, body);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/test/upload-sessions/{sessionId}/commit")
+    public ResponseEntity<UploadSessionResponse> commitUpload(@PathVariable String sessionId)
+        throws IOException {
+        return ResponseEntity.ok(uploadSessionStore.commit(sessionId));
+    }
+
+    @DeleteMapping("/test/upload-sessions/{sessionId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String sessionId) {
+        uploadSessionStore.abort(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /*
+        파일 다운로드 (Range, If-Range 지원)
+        응답은 RangeFileSender 가 직접 작성하므로 파일이 있는 경우 null 을 반환한다
+    */
+    @GetMapping("/test/files/{filename}")
+    public ResponseEntity<String> download(
+        @PathVariable String filename,
+        HttpServletRequest servletRequest,
+        HttpServletResponse servletResponse
+    ) throws IOException {
+        Optional<Path> file = rangeFileSender.resolve(filename);
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("파일이 존재하지 않습니다.");
+        }
+        rangeFileSender.send(file.get(), servletRequest, servletResponse);
+        return null;
+    }
+
 }
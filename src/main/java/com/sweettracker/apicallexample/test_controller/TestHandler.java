@@ -0,0 +1,128 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.CacheControl;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/*
+    reactive 서버 모드(spring.profiles.active=reactive)의 TestController
+    /test, /test/request-body(batch), /test/form-data, /test/multi-part 를 TestController 와 같은 응답, 에러 메시지로 처리한다
+    요청 처리 스레드를 잡지 않도록 body, form, multipart 는 모두 Mono 로 읽는다
+*/
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class TestHandler {
+
+    private static final CacheControl GET_TEST_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(10));
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final ParameterizedTypeReference<List<PostTestRequest>> POST_TEST_REQUESTS =
+        new ParameterizedTypeReference<>() {
+        };
+
+    public Mono<ServerResponse> getTest(ServerRequest request) {
+        String username = request.queryParam("username").orElse(null);
+        if (ObjectUtils.isEmpty(username)) {
+            return ServerResponse.badRequest().bodyValue("사용자 이름은 필수값 입니다.");
+        }
+        String body = "hello " + username;
+        String eTag = DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8));
+        // If-None-Match 가 ETag 와 같으면 304 로 응답한다
+        return request.checkNotModified(eTag)
+            .map(Mono::just)
+            .orElseGet(() -> ServerResponse.ok()
+                .cacheControl(GET_TEST_CACHE_CONTROL)
+                .eTag(eTag)
+                .bodyValue(body));
+    }
+
+    public Mono<ServerResponse> postTest(ServerRequest request) {
+        return request.bodyToMono(PostTestRequest.class)
+            .switchIfEmpty(Mono.error(() -> new ServerWebInputException("요청 body 는 필수값 입니다.")))
+            .map(TestHandler::postTestResult)
+            .flatMap(result -> ServerResponse.status(result.status()).bodyValue(result.body()));
+    }
+
+    // 항목별로 단건 API 와 같은 검증을 하고 요청 순서대로 결과를 응답한다 (일부 항목이 실패해도 전체는 200)
+    public Mono<ServerResponse> postTestBatch(ServerRequest request) {
+        return request.bodyToMono(POST_TEST_REQUESTS)
+            .switchIfEmpty(Mono.error(() -> new ServerWebInputException("요청 body 는 필수값 입니다.")))
+            .flatMap(requests -> {
+                if (requests.size() > MAX_BATCH_SIZE) {
+                    return ServerResponse.badRequest()
+                        .bodyValue("한 번에 " + MAX_BATCH_SIZE + "건까지 요청할 수 있습니다.");
+                }
+                return ServerResponse.ok().bodyValue(requests.stream()
+                    .map(TestHandler::postTestResult)
+                    .toList());
+            });
+    }
+
+    // TestController 와 같이 query parameter 와 form body 를 모두 사용한다 (같은 이름은 query parameter 우선)
+    public Mono<ServerResponse> postTest2(ServerRequest request) {
+        return request.formData().flatMap(form -> {
+            String username = param(request, form.getFirst("username"), "username");
+            String password = param(request, form.getFirst("password"), "password");
+            if (ObjectUtils.isEmpty(username)) {
+                return ServerResponse.badRequest().bodyValue("사용자 이름은 필수값 입니다.");
+            }
+            if (ObjectUtils.isEmpty(password)) {
+                return ServerResponse.badRequest().bodyValue("비밀번호는 필수값 입니다.");
+            }
+            return ServerResponse.ok().bodyValue("hello " + username);
+        });
+    }
+
+    public Mono<ServerResponse> postTest3(ServerRequest request) {
+        return request.multipartData().flatMap(parts -> {
+            String username = param(request, fieldValue(parts, "username"), "username");
+            String password = param(request, fieldValue(parts, "password"), "password");
+            if (ObjectUtils.isEmpty(username)) {
+                return ServerResponse.badRequest().bodyValue("사용자 이름은 필수값 입니다.");
+            }
+            if (ObjectUtils.isEmpty(password)) {
+                return ServerResponse.badRequest().bodyValue("사용자 비밀번호는 필수값 입니다.");
+            }
+            if (!(parts.getFirst("file") instanceof FilePart)) {
+                return ServerResponse.badRequest().bodyValue("파일은 필수값 입니다.");
+            }
+            return ServerResponse.ok().bodyValue("hello " + username);
+        });
+    }
+
+    private static BatchItemResult postTestResult(PostTestRequest request) {
+        // batch 요청의 null 항목 ([null])
+        if (request == null) {
+            return new BatchItemResult(400, "요청 항목은 필수값 입니다.");
+        }
+        if (ObjectUtils.isEmpty(request.getUsername())) {
+            return new BatchItemResult(400, "사용자 이름은 필수값 입니다.");
+        }
+        if (ObjectUtils.isEmpty(request.getPassword())) {
+            return new BatchItemResult(400, "비밀번호는 필수값 입니다.");
+        }
+        return new BatchItemResult(200, "hello " + request.getUsername());
+    }
+
+    private static String param(ServerRequest request, String bodyValue, String name) {
+        return request.queryParam(name).orElse(bodyValue);
+    }
+
+    private static String fieldValue(MultiValueMap<String, Part> parts, String name) {
+        return parts.getFirst(name) instanceof FormFieldPart field ? field.value() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/*
+    reactive 서버 모드 (spring.profiles.active=reactive, application-reactive.yaml)
+    TestController 대신 WebFlux functional router 로 같은 API 를 Reactor Netty 서버에서 처리한다
+    업로드 세션, 파일 다운로드, /test/multi-part/stream 은 servlet 모드에서만 제공한다
+*/
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class TestRouter {
+
+    /*
+        spring-boot-starter-web 이 함께 있으면 reactive 모드에서도 Tomcat 이 먼저 선택되므로 Netty 서버를 직접 등록한다
+        server.port, server.compression 등은 ReactiveWebServerFactoryCustomizer 가 그대로 적용한다
+    */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> testRoutes(
+        TestHandler handler,
+        LatencyInjectionHandlerFilter latencyInjectionFilter,
+        RequestDecompressionHandlerFilter requestDecompressionFilter
+    ) {
+        return RouterFunctions.route()
+            .GET("/test", handler::getTest)
+            .POST("/test/request-body", handler::postTest)
+            .POST("/test/request-body/batch", handler::postTestBatch)
+            .POST("/test/form-data", handler::postTest2)
+            .POST("/test/multi-part", handler::postTest3)
+            // servlet 모드의 filter 순서와 같이 압축 해제 -> 지연 주입 순으로 적용한다 (먼저 추가한 filter 가 바깥쪽)
+            .filter(requestDecompressionFilter)
+            .filter(latencyInjectionFilter)
+            .build();
+    }
+}
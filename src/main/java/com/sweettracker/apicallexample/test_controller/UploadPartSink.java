@@ -0,0 +1,17 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+    스트리밍 multipart 업로드의 파일 파트 저장소
+    MultipartStreamProcessor 는 파트를 읽으면서 open 으로 받은 OutputStream 에 바로 기록하고
+    파트가 끝나면 크기와 checksum 을 complete 로 전달한다
+*/
+public interface UploadPartSink {
+
+    OutputStream open(String fieldName, String filename, String contentType) throws IOException;
+
+    default void complete(UploadedPart part) {
+    }
+}
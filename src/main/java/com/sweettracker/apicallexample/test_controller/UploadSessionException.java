@@ -0,0 +1,15 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class UploadSessionException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public UploadSessionException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.util.List;
+
+public record UploadSessionResponse(
+    String sessionId,
+    String filename,
+    long size,
+    int chunkSize,
+    int chunkCount,
+    List<Integer> missingChunks, // 아직 수신하지 못한 chunk 번호 (재개시 이 chunk 만 전송한다)
+    boolean committed
+) {
+
+}
@@ -0,0 +1,283 @@
+package com.sweettracker.apicallexample.test_controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/*
+    chunk 단위 업로드 세션 저장소
+    세션마다 파일 하나를 열어두고 chunk 를 (index * chunkSize) 위치에 바로 기록하므로
+    chunk 를 병렬로 받을 수 있고 commit 시점에 파일을 다시 합칠 필요가 없다
+    chunk 는 CRC32C(X-Chunk-Checksum 헤더)가 일치할 때만 수신 완료로 기록되며
+    실패한 chunk 는 같은 위치에 다시 기록된다
+    - 기록을 시작하면 수신 완료에서 제외하므로 이미 받은 chunk 를 잘못 재전송하면 다시 받을 때까지 commit 할 수 없다
+    - 같은 chunk 를 동시에 기록하거나, 기록 중인 chunk 가 있을 때 commit 하면 409 로 응답한다
+    - 기록 중에 abort(또는 만료)되면 기록이 끝난 뒤 파일을 정리하고 기록 요청은 404 로 응답한다
+    - 만료된 세션은 begin, status, chunk 기록, commit 요청 시 정리한다 (sessionTtl 과 10초 중 짧은 간격으로 한 번)
+*/
+@Component
+public class UploadSessionStore {
+
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-Checksum";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_CHUNK_COUNT = 100_000;
+    private static final long MAX_PURGE_INTERVAL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final Duration sessionTtl;
+    private final long purgeIntervalNanos;
+    private final AtomicLong lastPurgeNanos = new AtomicLong(System.nanoTime());
+
+    public UploadSessionStore(
+        @Value("${test-controller.upload.directory:${java.io.tmpdir}/uploads}") Path directory,
+        @Value("${test-controller.upload.session-ttl:1h}") Duration sessionTtl
+    ) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.sessionTtl = sessionTtl;
+        this.purgeIntervalNanos = Math.min(sessionTtl.toNanos(), MAX_PURGE_INTERVAL_NANOS);
+    }
+
+    public UploadSessionResponse begin(BeginUploadRequest request) {
+        if (request.size() <= 0 || request.chunkSize() <= 0) {
+            throw new UploadSessionException(HttpStatus.BAD_REQUEST, "파일 크기와 chunk 크기는 0 보다 커야 합니다.");
+        }
+        long chunkCount = (request.size() + request.chunkSize() - 1) / request.chunkSize();
+        if (chunkCount > MAX_CHUNK_COUNT) {
+            throw new UploadSessionException(HttpStatus.BAD_REQUEST, "chunk 개수가 너무 많습니다.");
+        }
+        purgeExpired();
+
+        String sessionId = UUID.randomUUID().toString();
+        UploadSession session = new UploadSession(sessionId, request.filename(), request.size(),
+            request.chunkSize(), (int) chunkCount, directory.resolve(sessionId + ".upload"));
+        sessions.put(sessionId, session);
+        return session.toResponse();
+    }
+
+    public UploadSessionResponse status(String sessionId) {
+        return get(sessionId).toResponse();
+    }
+
+    public void writeChunk(String sessionId, int index, String checksum, InputStream body)
+        throws IOException {
+        UploadSession session = get(sessionId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new UploadSessionException(HttpStatus.BAD_REQUEST, "존재하지 않는 chunk 입니다.");
+        }
+
+        session.beginWrite(index);
+        boolean verified = false;
+        try {
+            write(session, index, checksum, body);
+            verified = true;
+        } finally {
+            session.endWrite(index, verified);
+        }
+        session.touch();
+    }
+
+    public UploadSessionResponse commit(String sessionId) throws IOException {
+        UploadSession session = get(sessionId);
+        if (session.close(true)) {
+            sessions.remove(sessionId, session);
+            session.channel.force(false);
+            session.channel.close();
+            session.committed = true;
+        }
+        return session.toResponse();
+    }
+
+    public void abort(String sessionId) {
+        UploadSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.discard();
+        }
+    }
+
+    private void write(UploadSession session, int index, String checksum, InputStream body) throws IOException {
+        long position = (long) index * session.chunkSize;
+        long expectedSize = Math.min(session.chunkSize, session.size - position);
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (session.closed) {
+                throw new UploadSessionException(HttpStatus.NOT_FOUND, "업로드 세션이 존재하지 않습니다.");
+            }
+            if (written + read > expectedSize) {
+                throw new UploadSessionException(HttpStatus.BAD_REQUEST, "chunk 크기가 올바르지 않습니다.");
+            }
+            crc.update(buffer, 0, read);
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+            while (byteBuffer.hasRemaining()) {
+                written += session.channel.write(byteBuffer, position + written);
+            }
+        }
+
+        if (written != expectedSize) {
+            throw new UploadSessionException(HttpStatus.BAD_REQUEST, "chunk 크기가 올바르지 않습니다.");
+        }
+        if (!HexFormat.of().toHexDigits((int) crc.getValue()).equalsIgnoreCase(checksum)) {
+            throw new UploadSessionException(HttpStatus.BAD_REQUEST, "chunk checksum 이 일치하지 않습니다.");
+        }
+    }
+
+    private UploadSession get(String sessionId) {
+        purgeExpired();
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new UploadSessionException(HttpStatus.NOT_FOUND, "업로드 세션이 존재하지 않습니다.");
+        }
+        session.touch();
+        return session;
+    }
+
+    // 요청마다 전체 세션을 순회하지 않도록 purgeIntervalNanos 에 한 번만 정리한다
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        long last = lastPurgeNanos.get();
+        if (now - last < purgeIntervalNanos || !lastPurgeNanos.compareAndSet(last, now)) {
+            return;
+        }
+        long expiredBefore = now - sessionTtl.toNanos();
+        sessions.values().removeIf(session -> {
+            if (session.lastAccessNanos - expiredBefore < 0) {
+                session.discard();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static final class UploadSession {
+
+        private final String id;
+        private final String filename;
+        private final long size;
+        private final int chunkSize;
+        private final int chunkCount;
+        private final Path path;
+        private final FileChannel channel;
+        private final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        // 기록 중인 chunk, closed 와 함께 this 로 동기화한다
+        private final Set<Integer> writing = new HashSet<>();
+        private volatile long lastAccessNanos = System.nanoTime();
+        private volatile boolean closed;
+        private volatile boolean committed;
+
+        private UploadSession(String id, String filename, long size, int chunkSize,
+            int chunkCount, Path path) {
+            this.id = id;
+            this.filename = filename;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunkCount = chunkCount;
+            this.path = path;
+            try {
+                this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+
+        // 기록을 시작한 chunk 는 검증이 끝날 때까지 수신 완료에서 제외한다
+        private synchronized void beginWrite(int index) {
+            if (closed) {
+                throw new UploadSessionException(HttpStatus.NOT_FOUND, "업로드 세션이 존재하지 않습니다.");
+            }
+            if (!writing.add(index)) {
+                throw new UploadSessionException(HttpStatus.CONFLICT, "같은 chunk 를 기록 중입니다.");
+            }
+            received.remove(index);
+        }
+
+        // 기록 중에 abort 된 경우 마지막으로 끝난 기록이 파일을 정리한다
+        private synchronized void endWrite(int index, boolean verified) {
+            writing.remove(index);
+            if (closed) {
+                if (writing.isEmpty()) {
+                    delete();
+                }
+                return;
+            }
+            if (verified) {
+                received.add(index);
+            }
+        }
+
+        /*
+            이후의 chunk 기록을 막는다 (이미 닫혔으면 false)
+            commit 은 기록 중인 chunk, 받지 못한 chunk 가 없어야 하며
+            abort 는 기록 중인 chunk 가 있으면 endWrite 에서 파일을 정리한다
+        */
+        private synchronized boolean close(boolean commit) {
+            if (closed) {
+                return false;
+            }
+            if (commit) {
+                if (!writing.isEmpty()) {
+                    throw new UploadSessionException(HttpStatus.CONFLICT, "기록 중인 chunk 가 있습니다.");
+                }
+                if (!missingChunks().isEmpty()) {
+                    throw new UploadSessionException(HttpStatus.CONFLICT, "업로드되지 않은 chunk 가 있습니다.");
+                }
+            }
+            closed = true;
+            return true;
+        }
+
+        private List<Integer> missingChunks() {
+            return IntStream.range(0, chunkCount)
+                .filter(index -> !received.contains(index))
+                .boxed()
+                .toList();
+        }
+
+        private synchronized void discard() {
+            if (close(false) && writing.isEmpty()) {
+                delete();
+            }
+        }
+
+        private void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private UploadSessionResponse toResponse() {
+            return new UploadSessionResponse(id, filename, size, chunkSize, chunkCount,
+                missingChunks(), committed);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.sweettracker.apicallexample.test_controller;
+
+public record UploadedPart(
+    String name,
+    String filename,
+    long size,
+    String checksum // CRC32C (hex)
+) {
+
+}
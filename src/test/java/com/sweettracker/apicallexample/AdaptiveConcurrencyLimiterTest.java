@@ -0,0 +1,346 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiter;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiter.Permit;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyLimiters;
+import com.sweettracker.apicallexample.common.resilience.AdaptiveConcurrencyProperties;
+import com.sweettracker.apicallexample.common.resilience.AimdLimit;
+import com.sweettracker.apicallexample.common.resilience.CallNotPermittedException;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker.State;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import com.sweettracker.apicallexample.common.resilience.GradientLimit;
+import com.sweettracker.apicallexample.common.resilience.LimitAlgorithm;
+import com.sweettracker.apicallexample.common.resilience.ResilientCall;
+import com.sweettracker.apicallexample.common.resilience.VegasLimit;
+import com.sweettracker.apicallexample.http_interface.AdaptiveConcurrencyFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/*
+    adaptive concurrency limit 의 거부, 대기, 반납과 알고리즘별 limit 조정을 확인한다
+    알고리즘은 RTT 를 직접 넘겨 계산하므로 실제 시간에 영향을 받지 않는다
+*/
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = Duration.ofMillis(10).toNanos();
+    private static final ClientRequest REQUEST = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/test"))
+        .build();
+
+    AdaptiveConcurrencyProperties properties;
+    AdaptiveConcurrencyLimiters limiters;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdaptiveConcurrencyProperties();
+        properties.setAlgorithm(AdaptiveConcurrencyProperties.Algorithm.AIMD);
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        limiters = new AdaptiveConcurrencyLimiters(properties,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    @Nested
+    @DisplayName("limit 거부와 circuit breaker 테스트")
+    class Describe_circuit_breaker {
+
+        @Test
+        @DisplayName("[success] limit 을 초과하여 거부된 호출은 circuit breaker 의 실패로 집계하지 않는지 확인한다.")
+        void success() {
+            // given : 실패 한 건이면 OPEN 으로 전환하는 circuit breaker
+            CircuitBreakerSettings settings = new CircuitBreakerSettings();
+            settings.setMinimumNumberOfCalls(1);
+            CircuitBreaker circuitBreaker = new CircuitBreaker("test", settings);
+            ResilientCall resilientCall = new ResilientCall(null, circuitBreaker);
+            AdaptiveConcurrencyLimiter limiter = limiters.get("test");
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+
+            // when : LimitingFeignClient 처럼 limit 을 얻지 못하면 거부한다
+            for (int i = 0; i < 10; i++) {
+                assertThrows(CallNotPermittedException.class, () -> resilientCall.execute(() -> {
+                    if (limiter.tryAcquire() == null) {
+                        throw limiters.rejected(limiter);
+                    }
+                    return "call";
+                }));
+            }
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("limit 획득, 대기 테스트")
+    class Describe_acquire {
+
+        @Test
+        @DisplayName("[error] limit 만큼 사용 중이면 바로 거부하는지 확인한다.")
+        void error_try_acquire() {
+            // given
+            AdaptiveConcurrencyLimiter limiter = limiters.get("test");
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+
+            // when
+            Permit permit = limiter.tryAcquire();
+
+            // then
+            assertThat(permit).isNull();
+            assertThat(limiter.getInFlight()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("[error] max-wait 동안 반납되지 않으면 대기 후 거부하는지 확인한다.")
+        void error_max_wait() {
+            // given
+            AdaptiveConcurrencyLimiter limiter = limiters.get("test");
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            long start = System.nanoTime();
+
+            // when
+            Permit permit = limiter.acquire(Duration.ofMillis(50));
+
+            // then
+            assertThat(permit).isNull();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+            assertThat(limiter.getInFlight()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("[success] 대기 중에 반납되면 max-wait 이 지나기 전에 획득하는지 확인한다.")
+        void success_max_wait() throws Exception {
+            // given
+            AdaptiveConcurrencyLimiter limiter = limiters.get("test");
+            Permit first = limiter.tryAcquire();
+            limiter.tryAcquire();
+            CompletableFuture<Permit> waiting = CompletableFuture.supplyAsync(
+                () -> limiter.acquire(Duration.ofSeconds(5)));
+
+            // when
+            Thread.sleep(50);
+            first.onIgnore();
+
+            // then
+            assertThat(waiting.get(1, TimeUnit.SECONDS)).isNotNull();
+            assertThat(limiter.getInFlight()).isEqualTo(2);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("limit 반납 테스트")
+    class Describe_release {
+
+        AdaptiveConcurrencyLimiter limiter;
+
+        @BeforeEach
+        void setUp() {
+            limiter = new AdaptiveConcurrencyLimiter("test", new AimdLimit(properties), 10);
+        }
+
+        @Test
+        @DisplayName("[success] drop 된 호출은 반납하면서 limit 을 backoffRatio 만큼 줄이는지 확인한다.")
+        void success_dropped() {
+            // when
+            limiter.tryAcquire().onDropped();
+
+            // then
+            assertThat(limiter.getInFlight()).isZero();
+            assertThat(limiter.getLimit()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("[success] 취소된 호출은 limit 을 바꾸지 않고 반납만 하는지 확인한다.")
+        void success_ignore() {
+            // when
+            limiter.tryAcquire().onIgnore();
+
+            // then
+            assertThat(limiter.getInFlight()).isZero();
+            assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("[success] 같은 permit 을 여러 번 반납해도 한 번만 반납하는지 확인한다.")
+        void success_release_once() {
+            // given
+            limiter.tryAcquire();
+            Permit permit = limiter.tryAcquire();
+
+            // when
+            permit.onDropped();
+            permit.onIgnore();
+            permit.onSuccess();
+
+            // then
+            assertThat(limiter.getInFlight()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("[success] WebClient 요청이 실패하면 반납하면서 limit 을 줄이는지 확인한다.")
+        void success_filter_error() {
+            // given
+            AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(limiters, limiter);
+
+            // when
+            assertThrows(IllegalStateException.class, () -> filter.filter(REQUEST,
+                request -> Mono.<ClientResponse>error(new IllegalStateException(new IOException("timeout")))).block());
+
+            // then
+            assertThat(limiter.getInFlight()).isZero();
+            assertThat(limiter.getLimit()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("[success] WebClient 요청이 취소되면 limit 을 바꾸지 않고 반납하는지 확인한다.")
+        void success_filter_cancel() {
+            // given
+            AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(limiters, limiter);
+            Disposable subscription = filter.filter(REQUEST, request -> Mono.never()).subscribe();
+            assertThat(limiter.getInFlight()).isEqualTo(1);
+
+            // when
+            subscription.dispose();
+
+            // then
+            assertThat(limiter.getInFlight()).isZero();
+            assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("AIMD limit 조정 테스트")
+    class Describe_aimd {
+
+        LimitAlgorithm algorithm;
+
+        @BeforeEach
+        void setUp() {
+            properties.setMaxLimit(20);
+            algorithm = new AimdLimit(properties);
+        }
+
+        @Test
+        @DisplayName("[success] limit 근처까지 사용 중이면 1 씩 늘리고, 한가하면 유지하는지 확인한다.")
+        void success() {
+            assertThat(algorithm.update(10, RTT, 5, false)).isEqualTo(11);
+            assertThat(algorithm.update(10, RTT, 4, false)).isEqualTo(10);
+            assertThat(algorithm.update(20, RTT, 20, false)).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("[error] drop 되면 backoffRatio 를 곱해서 줄이고 minLimit 아래로는 줄이지 않는지 확인한다.")
+        void error_dropped() {
+            assertThat(algorithm.update(10, RTT, 10, true)).isEqualTo(9);
+            assertThat(algorithm.update(1, RTT, 1, true)).isEqualTo(1);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("Vegas limit 조정 테스트")
+    class Describe_vegas {
+
+        LimitAlgorithm algorithm;
+
+        @BeforeEach
+        void setUp() {
+            properties.getVegas().setProbeInterval(4);
+            algorithm = new VegasLimit(properties);
+            // 최소 RTT 측정
+            assertThat(algorithm.update(10, RTT, 10, false)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("[success] RTT 가 최소 RTT 와 같으면(대기열 없음) limit 을 늘리는지 확인한다.")
+        void success() {
+            assertThat(algorithm.update(10, RTT, 10, false)).isEqualTo(11);
+        }
+
+        @Test
+        @DisplayName("[success] 추정 대기열이 alpha 이상 beta 이하면 limit 을 유지하는지 확인한다.")
+        void success_between() {
+            // queue = 10 * (1 - 10ms / 20ms) = 5
+            assertThat(algorithm.update(10, RTT * 2, 10, false)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("[error] 추정 대기열이 beta 를 넘으면 limit 을 줄이는지 확인한다.")
+        void error() {
+            // queue = 10 * (1 - 10ms / 100ms) = 9
+            assertThat(algorithm.update(10, RTT * 10, 10, false)).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("[success] probeInterval 마다 최소 RTT 를 다시 측정하여 느려진 RTT 를 기준으로 삼는지 확인한다.")
+        void success_probe() {
+            // given
+            algorithm.update(10, RTT * 10, 10, false);
+            algorithm.update(9, RTT * 10, 9, false);
+
+            // when : 4번째 sample 에서 최소 RTT 를 100ms 로 다시 측정한다
+            int probed = algorithm.update(8, RTT * 10, 8, false);
+
+            // then
+            assertThat(probed).isEqualTo(8);
+            assertThat(algorithm.update(8, RTT * 10, 8, false)).isEqualTo(9);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("gradient limit 조정 테스트")
+    class Describe_gradient {
+
+        LimitAlgorithm algorithm;
+
+        @BeforeEach
+        void setUp() {
+            algorithm = new GradientLimit(properties);
+            // 장기, 최근 평균 RTT 의 초기값
+            assertThat(algorithm.update(100, RTT, 100, false)).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("[success] RTT 가 유지되면 sqrt(limit) 만큼의 여유를 smoothing 비율로 늘리는지 확인한다.")
+        void success() {
+            // 100 * 0.8 + (100 * 1.0 + 10) * 0.2 = 102
+            assertThat(algorithm.update(100, RTT, 100, false)).isEqualTo(102);
+        }
+
+        @Test
+        @DisplayName("[success] 한가하면 limit 을 유지하는지 확인한다.")
+        void success_not_saturated() {
+            assertThat(algorithm.update(100, RTT, 10, false)).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("[error] 최근 RTT 가 장기 평균보다 크게 늘어나면 limit 을 줄이는지 확인한다.")
+        void error() {
+            // gradient = max(0.5, 1.5 * 1.015 / 5.5) = 0.5 -> 100 * 0.8 + (100 * 0.5 + 10) * 0.2 = 92
+            assertThat(algorithm.update(100, RTT * 10, 100, false)).isEqualTo(92);
+        }
+    }
+}
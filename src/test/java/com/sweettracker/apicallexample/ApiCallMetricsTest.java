@@ -0,0 +1,110 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.common.metrics.ApiCallMetrics;
+import com.sweettracker.apicallexample.common.metrics.ApiCallObservationHandler;
+import com.sweettracker.apicallexample.common.retry.Retrier;
+import com.sweettracker.apicallexample.common.retry.RetryProperties;
+import com.sweettracker.apicallexample.rest_client.MetricsRequestFactory;
+import com.sweettracker.apicallexample.rest_client.RetryInterceptor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClient;
+
+/*
+    api.client.requests 의 uri tag 값이 상한을 넘어 늘어나지 않는지 확인한다
+    restClient 도 WebClient, feignClient 와 같이 재시도를 포함한 요청(시도)마다 기록하는지 확인한다
+*/
+public class ApiCallMetricsTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ApiCallMetrics metrics = new ApiCallMetrics(meterRegistry);
+
+    @Nested
+    @DisplayName("uri tag 상한 테스트")
+    class Describe_uri_tag {
+
+        @Test
+        @DisplayName("[success] 상한 이하의 uri 는 그대로 tag 로 기록하는지 확인한다.")
+        void success() {
+            // when
+            metrics.record("restClient", "GET", "/test", 200, 1_000_000);
+            metrics.recordFailure("restClient", "GET", null, ApiCallMetrics.OUTCOME_IO_ERROR, 1_000_000);
+
+            // then
+            assertThat(meterRegistry.get(ApiCallMetrics.METRIC_NAME).tag("uri", "/test").timer().count())
+                .isEqualTo(1);
+            assertThat(meterRegistry.get(ApiCallMetrics.METRIC_NAME).tag("uri", ApiCallMetrics.NONE).timer().count())
+                .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("[error] 원본 URL 처럼 서로 다른 uri 가 상한을 넘으면 이후 uri 는 NONE 으로 기록하는지 확인한다.")
+        void error_unbounded_uri() {
+            // given
+            int calls = ApiCallMetrics.MAX_URI_TAGS + 50;
+
+            // when
+            for (int i = 0; i < calls; i++) {
+                metrics.record("webClient", "GET", "/test/users/" + i, 200, 1_000_000);
+            }
+            metrics.record("webClient", "GET", "/test/users/0", 200, 1_000_000);
+
+            // then
+            assertThat(meterRegistry.get(ApiCallMetrics.METRIC_NAME).timers())
+                .hasSize(ApiCallMetrics.MAX_URI_TAGS + 1);
+            Timer none = meterRegistry.get(ApiCallMetrics.METRIC_NAME).tag("uri", ApiCallMetrics.NONE).timer();
+            assertThat(none.count()).isEqualTo(50);
+            assertThat(meterRegistry.get(ApiCallMetrics.METRIC_NAME).tag("uri", "/test/users/0").timer().count())
+                .isEqualTo(2);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("restClient 요청(시도)별 기록 테스트")
+    class Describe_rest_client {
+
+        @Test
+        @DisplayName("[success] 재시도한 요청을 시도마다 URI 템플릿 tag 로 기록하는지 확인한다.")
+        void success() {
+            // given : 항상 503 으로 응답하므로 maxAttempts(3) 번 시도한다
+            RetryProperties properties = new RetryProperties();
+            properties.setBaseDelay(Duration.ofMillis(1));
+            properties.setMaxDelay(Duration.ofMillis(1));
+            properties.getBudget().setMaxTokens(1000);
+            ClientHttpRequestFactory requestFactory = (uri, method) -> {
+                MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+                request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE));
+                return request;
+            };
+            ObservationRegistry observationRegistry = ApiCallObservationHandler.registry();
+            RestClient restClient = RestClient.builder()
+                .baseUrl("http://localhost")
+                .requestFactory(new MetricsRequestFactory(requestFactory, metrics, observationRegistry))
+                .observationRegistry(observationRegistry)
+                .requestInterceptor(new RetryInterceptor(new Retrier("test", properties, meterRegistry)))
+                .build();
+
+            // when
+            Integer status = restClient.get()
+                .uri("/test?username={username}", "test")
+                .exchange((request, response) -> response.getStatusCode().value());
+
+            // then
+            assertThat(status).isEqualTo(503);
+            assertThat(meterRegistry.get(ApiCallMetrics.METRIC_NAME).tag("client", "restClient").tag("uri", "/test")
+                .tag("status", "5xx").timer().count()).isEqualTo(3);
+        }
+    }
+}
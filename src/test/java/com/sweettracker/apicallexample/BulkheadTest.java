@@ -0,0 +1,156 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sweettracker.apicallexample.common.resilience.Bulkhead;
+import com.sweettracker.apicallexample.common.resilience.BulkheadSettings;
+import com.sweettracker.apicallexample.common.resilience.CallNotPermittedException;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker.State;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import com.sweettracker.apicallexample.common.resilience.ResilientCall;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/*
+    bulkhead 의 동시 호출 수 제한과, 호출이 성공, 실패, 취소 어느 쪽으로 끝나도 허용 건수를 반납하는지 확인한다
+*/
+public class BulkheadTest {
+
+    Bulkhead bulkhead;
+    CircuitBreaker circuitBreaker;
+    ResilientCall resilientCall;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadSettings bulkheadSettings = new BulkheadSettings();
+        bulkheadSettings.setMaxConcurrentCalls(1);
+        bulkhead = new Bulkhead("test", bulkheadSettings);
+        // 실패 한 건이면 OPEN 으로 전환한다
+        CircuitBreakerSettings circuitBreakerSettings = new CircuitBreakerSettings();
+        circuitBreakerSettings.setMinimumNumberOfCalls(1);
+        circuitBreaker = new CircuitBreaker("test", circuitBreakerSettings);
+        resilientCall = new ResilientCall(bulkhead, circuitBreaker);
+    }
+
+    @Nested
+    @DisplayName("동시 호출 수 제한 테스트")
+    class Describe_limit {
+
+        @Test
+        @DisplayName("[error] 동시 호출 수를 초과하면 호출하지 않고 거부하는지 확인한다.")
+        void error() {
+            // given
+            Sinks.One<String> pending = Sinks.one();
+            Disposable first = resilientCall.executeMono(pending::asMono).subscribe();
+
+            // when
+            CallNotPermittedException exception = assertThrows(CallNotPermittedException.class, () ->
+                resilientCall.execute(() -> "second"));
+
+            // then
+            assertThat(exception.getName()).isEqualTo("test");
+            assertThat(bulkhead.availableCalls()).isZero();
+            first.dispose();
+        }
+
+        @Test
+        @DisplayName("[success] 앞선 호출이 끝나면 다음 호출을 허용하는지 확인한다.")
+        void success() throws Throwable {
+            // given
+            resilientCall.execute(() -> "first");
+
+            // when
+            Object result = resilientCall.execute(() -> "second");
+
+            // then
+            assertThat(result).isEqualTo("second");
+            assertThat(bulkhead.availableCalls()).isEqualTo(1);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("허용 건수 반납 테스트")
+    class Describe_release {
+
+        @Test
+        @DisplayName("[success] 동기 호출이 실패해도 허용 건수를 반납하는지 확인한다.")
+        void success_execute_error() {
+            // when
+            assertThrows(IOException.class, () -> resilientCall.execute(() -> {
+                throw new IOException("timeout");
+            }));
+
+            // then
+            assertThat(bulkhead.availableCalls()).isEqualTo(1);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        }
+
+        @Test
+        @DisplayName("[success] Mono 호출이 실패해도 허용 건수를 반납하는지 확인한다.")
+        void success_mono_error() {
+            // when
+            assertThrows(IllegalStateException.class, () ->
+                resilientCall.executeMono(() -> Mono.error(new IllegalStateException("timeout"))).block());
+
+            // then
+            assertThat(bulkhead.availableCalls()).isEqualTo(1);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        }
+
+        @Test
+        @DisplayName("[success] Mono 호출이 취소되면 결과를 집계하지 않고 허용 건수를 반납하는지 확인한다.")
+        void success_mono_cancel() {
+            // given
+            Disposable subscription = resilientCall.executeMono(Mono::never).subscribe();
+            assertThat(bulkhead.availableCalls()).isZero();
+
+            // when
+            subscription.dispose();
+
+            // then
+            assertThat(bulkhead.availableCalls()).isEqualTo(1);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("[success] CompletableFuture 호출이 실패해도 허용 건수를 반납하는지 확인한다.")
+        void success_future_error() {
+            // given
+            CompletableFuture<String> pending = new CompletableFuture<>();
+            CompletableFuture<String> result = resilientCall.executeAsync(() -> pending);
+            assertThat(bulkhead.availableCalls()).isZero();
+
+            // when
+            pending.completeExceptionally(new IOException("timeout"));
+
+            // then
+            assertThrows(CompletionException.class, result::join);
+            assertThat(bulkhead.availableCalls()).isEqualTo(1);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        }
+
+        @Test
+        @DisplayName("[error] circuit breaker 가 거부한 호출은 확보한 허용 건수를 바로 반납하는지 확인한다.")
+        void error_circuit_breaker_open() {
+            // given
+            circuitBreaker.onResult(0, true);
+
+            // when
+            assertThrows(CallNotPermittedException.class, () -> resilientCall.execute(() -> "call"));
+
+            // then
+            assertThat(bulkhead.availableCalls()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker.State;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/*
+    circuit breaker 의 임계값, 상태 전환, HALF_OPEN 허용 건수를 확인한다
+    시각은 테스트에서 직접 진행하고 호출 시간은 onResult 에 직접 넘기므로 실제 시간에 영향을 받지 않는다
+*/
+public class CircuitBreakerTest {
+
+    private static final Duration WAIT_IN_OPEN = Duration.ofSeconds(10);
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    AtomicLong now = new AtomicLong(1_000);
+    CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setSlidingWindowSize(10);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallDurationThreshold(Duration.ofSeconds(1));
+        settings.setSlowCallRateThreshold(50);
+        settings.setWaitDurationInOpenState(WAIT_IN_OPEN);
+        settings.setPermittedCallsInHalfOpenState(2);
+        circuitBreaker = new CircuitBreaker("test", settings, now::get);
+    }
+
+    @Nested
+    @DisplayName("CLOSED 상태의 임계값 테스트")
+    class Describe_threshold {
+
+        @Test
+        @DisplayName("[success] 실패율이 임계값 미만이면 CLOSED 를 유지하는지 확인한다.")
+        void success() {
+            // when
+            record(FAST, false, 3);
+            record(FAST, true, 1);
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        }
+
+        @Test
+        @DisplayName("[success] 최소 호출 수 전에는 모두 실패해도 CLOSED 를 유지하는지 확인한다.")
+        void success_minimum_number_of_calls() {
+            // when
+            record(FAST, true, 3);
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("[error] 실패율이 임계값 이상이면 OPEN 으로 전환하고 호출을 거부하는지 확인한다.")
+        void error_failure_rate() {
+            // when
+            record(FAST, false, 2);
+            record(FAST, true, 2);
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+            assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        }
+
+        @Test
+        @DisplayName("[error] 성공한 호출이라도 느린 호출 비율이 임계값 이상이면 OPEN 으로 전환하는지 확인한다.")
+        void error_slow_call_rate() {
+            // when
+            record(FAST, false, 2);
+            record(SLOW, false, 2);
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        }
+
+        @Test
+        @DisplayName("[success] sliding window 밖으로 밀려난 실패는 실패율에서 빠지는지 확인한다.")
+        void success_sliding_window() {
+            // given
+            record(FAST, true, 1);
+            record(FAST, false, 9);
+
+            // when : window(10건)의 첫 실패를 성공으로 덮어쓴 뒤 실패 4건 (4/10 = 40%)
+            record(FAST, false, 1);
+            record(FAST, true, 4);
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("OPEN -> HALF_OPEN -> CLOSED 전환 테스트")
+    class Describe_transition {
+
+        @BeforeEach
+        void open() {
+            record(FAST, true, 4);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        }
+
+        @Test
+        @DisplayName("[success] 대기 시간이 지나면 HALF_OPEN 으로 전환하고 허용한 호출이 모두 성공하면 CLOSED 로 전환하는지 확인한다.")
+        void success() {
+            // given
+            advance(WAIT_IN_OPEN.minusNanos(1));
+            assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+            advance(Duration.ofNanos(1));
+
+            // when
+            boolean first = circuitBreaker.tryAcquirePermission();
+            State halfOpen = circuitBreaker.getState();
+            boolean second = circuitBreaker.tryAcquirePermission();
+            record(FAST, false, 2);
+
+            // then
+            assertThat(first).isTrue();
+            assertThat(second).isTrue();
+            assertThat(halfOpen).isEqualTo(State.HALF_OPEN);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+            // CLOSED 로 전환하면 이전 실패 기록은 비운다
+            record(FAST, true, 1);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("[error] HALF_OPEN 에서는 허용 건수를 넘는 호출을 거부하는지 확인한다.")
+        void error_half_open_permits() {
+            // given
+            advance(WAIT_IN_OPEN);
+
+            // when
+            boolean first = circuitBreaker.tryAcquirePermission();
+            boolean second = circuitBreaker.tryAcquirePermission();
+            boolean third = circuitBreaker.tryAcquirePermission();
+
+            // then
+            assertThat(first).isTrue();
+            assertThat(second).isTrue();
+            assertThat(third).isFalse();
+            assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        }
+
+        @Test
+        @DisplayName("[success] HALF_OPEN 에서 허용한 호출의 결과가 오지 않으면 대기 시간 후 다시 허용하는지 확인한다.")
+        void success_half_open_permits_expired() {
+            // given
+            advance(WAIT_IN_OPEN);
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.tryAcquirePermission();
+
+            // when
+            advance(WAIT_IN_OPEN);
+
+            // then
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        }
+
+        @Test
+        @DisplayName("[error] HALF_OPEN 에서 호출이 실패하거나 느리면 다시 OPEN 으로 전환하는지 확인한다.")
+        void error_half_open_failure() {
+            // given
+            advance(WAIT_IN_OPEN);
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.tryAcquirePermission();
+            record(FAST, false, 1);
+
+            // when
+            record(SLOW, false, 1);
+
+            // then
+            assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+            assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        }
+    }
+
+    private void record(long durationNanos, boolean failure, int times) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.onResult(durationNanos, failure);
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
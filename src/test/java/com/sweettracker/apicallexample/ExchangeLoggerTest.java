@@ -0,0 +1,231 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogProperties;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger.Direction;
+import com.sweettracker.apicallexample.common.serialization.BinaryMediaTypes;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/*
+    exchange 로그에 header(key), 요청 body, query string 의 민감 정보가 남지 않는지 확인한다 (JSON 은 값만 ***, Smile 은 body 내용 제외)
+    ring buffer 는 요청 순서대로 기록하고, 가득 차면 요청 스레드를 기다리게 하지 않고 버리는지 확인한다
+*/
+public class ExchangeLoggerTest {
+
+    private static final String PASSWORD = "secret-1234";
+
+    Logger exchangeLog = (Logger) LoggerFactory.getLogger("exchange");
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    ExchangeLogProperties properties;
+    ExchangeLogger exchangeLogger;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        exchangeLog.addAppender(appender);
+        properties = new ExchangeLogProperties();
+        properties.setSampleRate(1.0);
+        properties.setPermitsPerSecond(10_000);
+        properties.getBody().setEnabled(true);
+        exchangeLogger = new ExchangeLogger(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exchangeLogger.destroy();
+        exchangeLog.detachAppender(appender);
+    }
+
+    @Nested
+    @DisplayName("요청 body 민감 정보 제거 테스트")
+    class Describe_body {
+
+        @Test
+        @DisplayName("[success] JSON body 의 password 값을 *** 로 기록하는지 확인한다.")
+        void success_json() throws Exception {
+            // given
+            byte[] body = ("{\"username\":\"test\",\"password\":\"" + PASSWORD + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+            // when
+            String message = log(MediaType.APPLICATION_JSON_VALUE, body);
+
+            // then
+            assertThat(message).contains("\"password\":\"***\"").doesNotContain(PASSWORD);
+        }
+
+        @Test
+        @DisplayName("[success] Smile body 는 내용 대신 Content-Type 과 크기만 기록하여 password 가 남지 않는지 확인한다.")
+        void success_smile() throws Exception {
+            // given
+            byte[] body = new ObjectMapper(new SmileFactory())
+                .writeValueAsBytes(Map.of("username", "test", "password", PASSWORD));
+
+            // when
+            String message = log(BinaryMediaTypes.APPLICATION_SMILE_VALUE, body);
+
+            // then
+            assertThat(message)
+                .contains("body=(" + BinaryMediaTypes.APPLICATION_SMILE_VALUE + ", " + body.length + " bytes)")
+                .doesNotContain(PASSWORD);
+        }
+
+        @Test
+        @DisplayName("[success] form body 의 password 값을 *** 로 기록하는지 확인한다.")
+        void success_form() throws Exception {
+            // given
+            byte[] body = ("username=test&password=" + PASSWORD).getBytes(StandardCharsets.UTF_8);
+
+            // when
+            String message = log(MediaType.APPLICATION_FORM_URLENCODED_VALUE, body);
+
+            // then
+            assertThat(message).contains("username=test&password=***").doesNotContain(PASSWORD);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("header, query string 민감 정보 제거 테스트")
+    class Describe_header {
+
+        @Test
+        @DisplayName("[success] key header 값과 query string 의 password 값을 *** 로 기록하는지 확인한다.")
+        void success() throws Exception {
+            // given
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("key", "secret-key");
+            headers.set("X-Request-Id", "request-1");
+
+            // when
+            exchange(headers, "/test?username=test&password=" + PASSWORD);
+            String message = awaitMessages(1).get(0);
+
+            // then
+            assertThat(message)
+                .contains("key: ***", "X-Request-Id: request-1", "/test?username=test&password=***")
+                .doesNotContain("secret-key", PASSWORD);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("ring buffer 테스트")
+    class Describe_ring_buffer {
+
+        @Test
+        @DisplayName("[success] 여러 건을 요청 순서대로 기록하는지 확인한다.")
+        void success_order() throws Exception {
+            // when
+            for (int i = 0; i < 100; i++) {
+                exchange(new HttpHeaders(), "/test/" + i);
+            }
+
+            // then
+            List<String> messages = awaitMessages(100);
+            for (int i = 0; i < 100; i++) {
+                assertThat(messages.get(i)).contains(" /test/" + i + " ");
+            }
+            assertThat(exchangeLogger.getDroppedCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("[error] ring buffer 가 가득 차면 기다리지 않고 버린 뒤 버린 건수를 기록하는지 확인한다.")
+        void error_full() throws Exception {
+            // given : ring buffer 2칸, 기록 스레드는 첫 로그를 기록하는 중에 멈춘다
+            exchangeLogger.destroy();
+            properties.setBufferSize(2);
+            exchangeLogger = new ExchangeLogger(properties);
+            BlockingAppender blockingAppender = new BlockingAppender();
+            blockingAppender.start();
+            exchangeLog.addAppender(blockingAppender);
+            try {
+                exchange(new HttpHeaders(), "/test/0");
+                assertThat(blockingAppender.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+                // when : /test/1 만 비어 있는 칸에 들어가고 /test/2 ~ /test/4 는 버린다
+                assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                    for (int i = 1; i < 5; i++) {
+                        exchange(new HttpHeaders(), "/test/" + i);
+                    }
+                });
+                long dropped = exchangeLogger.getDroppedCount();
+                blockingAppender.release.countDown();
+
+                // then
+                assertThat(dropped).isEqualTo(3);
+                List<String> messages = awaitMessages(3);
+                assertThat(messages.get(0)).contains(" /test/0 ");
+                assertThat(messages.get(1)).contains("3건");
+                assertThat(messages.get(2)).contains(" /test/1 ");
+            } finally {
+                blockingAppender.release.countDown();
+                exchangeLog.detachAppender(blockingAppender);
+            }
+        }
+    }
+
+    private String log(String contentType, byte[] body) throws InterruptedException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+        assertThat(exchangeLogger.isSampled(false)).isTrue();
+        exchangeLogger.exchange(Direction.OUTBOUND, "restClient", "POST", "/test", 200, 1_000_000, headers, body,
+            null);
+        return awaitMessages(1).get(0);
+    }
+
+    private void exchange(HttpHeaders headers, String uri) {
+        assertThat(exchangeLogger.isSampled(false)).isTrue();
+        exchangeLogger.exchange(Direction.OUTBOUND, "restClient", "GET", uri, 200, 1_000_000, headers, null, null);
+    }
+
+    // 기록 스레드가 count 건을 남길 때까지 기다린다
+    private List<String> awaitMessages(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (appender.list.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        List<ILoggingEvent> events = List.copyOf(appender.list);
+        assertThat(events).hasSize(count);
+        return events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    // 로그를 기록하는 동안 release 될 때까지 기록 스레드를 멈춘다
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
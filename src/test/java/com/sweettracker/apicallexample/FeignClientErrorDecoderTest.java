@@ -0,0 +1,155 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionProperties;
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogProperties;
+import com.sweettracker.apicallexample.common.logging.ExchangeLogger;
+import com.sweettracker.apicallexample.open_feign.FeignClientErrorDecoder;
+import com.sweettracker.apicallexample.open_feign.FeignErrorDecoderProperties;
+import com.sweettracker.apicallexample.open_feign.PathRuleMatcher;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/*
+    feign-error-decoder.paths 규칙(정확한 path, *, **, 끝의 /)과
+    규칙에 해당하지 않는 path 는 feign 기본 decoder 로 처리하는지 확인한다
+*/
+public class FeignClientErrorDecoderTest {
+
+    @Nested
+    @DisplayName("path 규칙 테스트")
+    class Describe_path_rule {
+
+        PathRuleMatcher matcher = PathRuleMatcher.compile(List.of("/test", "/users/*/orders", "/files/**"));
+
+        @Test
+        @DisplayName("[success] 와일드카드가 없는 규칙은 같은 path 만 일치하는지 확인한다.")
+        void success_exact() {
+            // then
+            assertThat(matcher.matches("/test")).isTrue();
+            assertThat(matcher.matches("/test/form-data")).isFalse();
+            assertThat(matcher.matches("/tes")).isFalse();
+        }
+
+        @Test
+        @DisplayName("[success] * 는 segment 하나와만 일치하는지 확인한다.")
+        void success_any_segment() {
+            // then
+            assertThat(matcher.matches("/users/1/orders")).isTrue();
+            assertThat(matcher.matches("/users/1/2/orders")).isFalse();
+            assertThat(matcher.matches("/users/orders")).isFalse();
+        }
+
+        @Test
+        @DisplayName("[success] ** 는 이후의 모든 segment 와 일치하는지 확인한다.")
+        void success_any_path() {
+            // then
+            assertThat(matcher.matches("/files")).isTrue();
+            assertThat(matcher.matches("/files/a")).isTrue();
+            assertThat(matcher.matches("/files/a/b/c")).isTrue();
+            assertThat(matcher.matches("/filesystem")).isFalse();
+        }
+
+        @Test
+        @DisplayName("[success] 끝의 / 는 정확한 path 규칙과 와일드카드 규칙 모두 무시하는지 확인한다.")
+        void success_trailing_slash() {
+            // then
+            assertThat(matcher.matches("/test/")).isTrue();
+            assertThat(matcher.matches("/users/1/orders/")).isTrue();
+            assertThat(PathRuleMatcher.compile(List.of("/test/")).matches("/test")).isTrue();
+        }
+
+        @Test
+        @DisplayName("[success] URL 에서 query 와 fragment 를 제외한 path 만 꺼내는지 확인한다.")
+        void success_extract_path() {
+            // then
+            assertThat(PathRuleMatcher.extractPath("http://localhost:8080/test?username=test#top"))
+                .isEqualTo("/test");
+            assertThat(PathRuleMatcher.extractPath("http://localhost:8080")).isEqualTo("/");
+        }
+    }
+
+
+    @Nested
+    @DisplayName("에러 응답 변환 테스트")
+    class Describe_decode {
+
+        ExchangeLogger exchangeLogger;
+        FeignClientErrorDecoder errorDecoder;
+
+        @BeforeEach
+        void setUp() {
+            FeignErrorDecoderProperties properties = new FeignErrorDecoderProperties();
+            properties.setPaths(List.of("/test", "/users/*/orders"));
+            exchangeLogger = new ExchangeLogger(new ExchangeLogProperties());
+            errorDecoder = new FeignClientErrorDecoder(properties,
+                new ApiCallExceptionFactory(new ApiCallExceptionProperties()), exchangeLogger);
+        }
+
+        @AfterEach
+        void tearDown() {
+            exchangeLogger.destroy();
+        }
+
+        @Test
+        @DisplayName("[success] 규칙에 해당하는 path 의 4xx 응답은 NonRetryableApiCallException 으로 변환하는지 확인한다.")
+        void success_non_retryable() {
+            // when
+            Exception exception = errorDecoder.decode("TestFeignClient#getTest()",
+                response("http://localhost/users/1/orders/?page=1", 404));
+
+            // then
+            assertThat(exception).isInstanceOf(NonRetryableApiCallException.class);
+            assertThat(((ApiCallException) exception).getPath()).isEqualTo("/users/1/orders/");
+            assertThat(((ApiCallException) exception).getBodyExcerpt()).isEqualTo("error body");
+        }
+
+        @Test
+        @DisplayName("[success] 규칙에 해당하는 path 의 5xx 응답은 ApiCallException 을 cause 로 갖는 RetryableException 인지 확인한다.")
+        void success_retryable() {
+            // when
+            Exception exception = errorDecoder.decode("TestFeignClient#getTest()",
+                response("http://localhost/test", 503));
+
+            // then
+            assertThat(exception).isInstanceOf(RetryableException.class);
+            assertThat(exception.getCause()).isInstanceOf(ApiCallException.class);
+        }
+
+        @Test
+        @DisplayName("[error] 규칙에 해당하지 않는 path 는 feign 기본 decoder 의 FeignException 을 반환하는지 확인한다.")
+        void error_default_decoder() {
+            // when
+            Exception exception = errorDecoder.decode("TestFeignClient#getTest()",
+                response("http://localhost/other", 404));
+
+            // then
+            assertThat(exception).isInstanceOf(FeignException.NotFound.class);
+        }
+    }
+
+    private static Response response(String url, int status) {
+        Request request = Request.create(Request.HttpMethod.GET, url, Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+            .status(status)
+            .reason("")
+            .headers(Map.of())
+            .body("error body", StandardCharsets.UTF_8)
+            .request(request)
+            .build();
+    }
+}
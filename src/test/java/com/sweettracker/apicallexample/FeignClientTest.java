@@ -3,11 +3,17 @@ package com.sweettracker.apicallexample;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
+import com.sweettracker.apicallexample.open_feign.TestFeignAsyncClient;
 import com.sweettracker.apicallexample.open_feign.TestFeignClient;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
 import com.sweettracker.apicallexample.test_controller.PostTestRequest;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -22,6 +28,9 @@ public class FeignClientTest {
     @Autowired
     TestFeignClient testFeignClient;
 
+    @Autowired
+    TestFeignAsyncClient testFeignAsyncClient;
+
     @Nested
     @DisplayName("feignClient 를 통한 GET API 호출 테스트")
     class Describe_feignClient_get {
@@ -51,6 +60,12 @@ public class FeignClientTest {
 
             // then
             assertThat(exception.getMessage()).contains("에러 발생");
+            assertThat(exception).isInstanceOfSatisfying(NonRetryableApiCallException.class, e -> {
+                assertThat(e.getStatus()).isEqualTo(400);
+                assertThat(e.getPath()).isEqualTo("/test");
+                assertThat(e.getBodyExcerpt()).isEqualTo("사용자 이름은 필수값 입니다.");
+                assertThat(e.getStackTrace()).isEmpty();
+            });
         }
     }
 
@@ -93,6 +108,44 @@ public class FeignClientTest {
     }
 
 
+    @Nested
+    @DisplayName("feignClient 를 통한 Smile(binary) request-body POST API 호출 테스트")
+    class Describe_feignClient_post_request_body_smile {
+
+        @Test
+        @DisplayName("[success] Smile 로 직렬화한 요청 body 를 서버가 읽어 응답하는지 확인한다.")
+        void success() {
+            // given
+            PostTestRequest request = PostTestRequest.builder()
+                .username("test")
+                .password("1234")
+                .build();
+
+            // when
+            String response = testFeignClient.postTestSmile(request);
+
+            // then
+            assertThat(response).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[success] batch 요청, 응답 body 를 모두 Smile 로 주고받는지 확인한다.")
+        void success_batch() {
+            // given
+            List<PostTestRequest> requests = List.of(
+                PostTestRequest.builder().username("user1").password("1234").build(),
+                PostTestRequest.builder().username("user2").build());
+
+            // when
+            List<BatchItemResult> results = testFeignClient.postTestBatchSmile(requests);
+
+            // then
+            assertThat(results).extracting(BatchItemResult::status).containsExactly(200, 400);
+            assertThat(results.get(0).body()).isEqualTo("hello user1");
+        }
+    }
+
+
     @Nested
     @DisplayName("feignClient 를 통한 form-data POST API 호출 테스트")
     class Describe_feignClient_post_form_data {
@@ -176,4 +229,46 @@ public class FeignClientTest {
             assertThat(exception.getMessage()).contains("에러 발생");
         }
     }
+
+
+    @Nested
+    @DisplayName("feign async 클라이언트를 통한 API 호출 테스트")
+    class Describe_feignClient_async {
+
+        @Test
+        @DisplayName("[success] api 호출에 성공할 때 future 가 body 값으로 완료되는지 확인한다.")
+        void success() {
+            // given
+            PostTestRequest request = PostTestRequest.builder()
+                .username("test")
+                .password("1234")
+                .build();
+
+            // when
+            CompletableFuture<String> getResponse = testFeignAsyncClient.getTest("12345");
+            CompletableFuture<String> postResponse = testFeignAsyncClient.postTest(request);
+
+            // then
+            assertThat(getResponse.join()).isEqualTo("hello 12345");
+            assertThat(postResponse.join()).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[error] api 호출 중 예외 발생시 future 가 동기 클라이언트와 같은 예외로 완료되는지 확인한다.")
+        void error() {
+            //given
+            String username = null;
+
+            // when
+            CompletionException exception = assertThrows(CompletionException.class, () ->
+                testFeignAsyncClient.getTest(username).join());
+
+            // then
+            assertThat(exception.getCause()).isInstanceOfSatisfying(NonRetryableApiCallException.class, e -> {
+                assertThat(e.getStatus()).isEqualTo(400);
+                assertThat(e.getPath()).isEqualTo("/test");
+                assertThat(e.getBodyExcerpt()).isEqualTo("사용자 이름은 필수값 입니다.");
+            });
+        }
+    }
 }
@@ -0,0 +1,224 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.common.hedge.HedgingProperties;
+import com.sweettracker.apicallexample.common.hedge.RequestHedger;
+import com.sweettracker.apicallexample.rest_client.HedgingInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+/*
+    restClient hedging 이 지연 이후에만 hedge 하고, budget 을 넘지 않으며, 진 쪽 요청을 취소하는지 확인한다
+    (표본이 모이기 전이므로 hedge 지연은 initialDelay 이다)
+*/
+public class HedgingInterceptorTest {
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+    private static final URI URI_TEST = URI.create("http://localhost/test?username=test");
+
+    SimpleMeterRegistry meterRegistry;
+    AtomicInteger hedgeRequests;
+    HedgingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setInitialDelay(HEDGE_DELAY);
+        // 요청 수로 적립되는 budget 없이 처음 적립된 token(10개)만 사용한다
+        properties.setBudgetPercent(0);
+        meterRegistry = new SimpleMeterRegistry();
+        hedgeRequests = new AtomicInteger();
+        RequestHedger hedger = new RequestHedger("test", properties, meterRegistry);
+        interceptor = new HedgingInterceptor(hedger, requestFactory(() -> response("hedge")));
+    }
+
+    @Nested
+    @DisplayName("hedge 요청 시점 테스트")
+    class Describe_hedge {
+
+        @Test
+        @DisplayName("[success] 원래 요청이 지연 안에 응답하면 hedge 하지 않는지 확인한다.")
+        void success_fast_primary() throws IOException {
+            // given
+            ClientHttpRequestExecution execution = (request, body) -> response("primary");
+
+            // when
+            ClientHttpResponse response = interceptor.intercept(request(), new byte[0], execution);
+
+            // then
+            assertThat(body(response)).isEqualTo("primary");
+            assertThat(hedgeRequests.get()).isZero();
+        }
+
+        @Test
+        @DisplayName("[success] 원래 요청이 지연을 넘기면 hedge 하고, 먼저 성공한 hedge 응답을 반환하며 원래 요청을 취소하는지 확인한다.")
+        void success_slow_primary() throws IOException {
+            // given
+            AtomicBoolean primaryCancelled = new AtomicBoolean();
+            ClientHttpRequestExecution execution = (request, body) -> {
+                sleep(Duration.ofSeconds(5), primaryCancelled);
+                return response("primary");
+            };
+            long start = System.nanoTime();
+
+            // when
+            ClientHttpResponse response = interceptor.intercept(request(), new byte[0], execution);
+
+            // then
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(HEDGE_DELAY)
+                .isLessThan(Duration.ofSeconds(5));
+            assertThat(body(response)).isEqualTo("hedge");
+            assertThat(hedgeRequests.get()).isEqualTo(1);
+            assertThat(primaryCancelled).isTrue();
+            // 취소하려고 설정한 interrupt 는 호출 스레드에 남지 않는다
+            assertThat(Thread.currentThread().isInterrupted()).isFalse();
+            assertThat(count("hedge-won")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("[success] 원래 요청이 실패하면 hedge 응답을 반환하는지 확인한다.")
+        void success_failed_primary() throws IOException {
+            // given
+            ClientHttpRequestExecution execution = (request, body) -> {
+                sleep(HEDGE_DELAY.multipliedBy(2), new AtomicBoolean());
+                throw new IOException("primary");
+            };
+
+            // when
+            ClientHttpResponse response = interceptor.intercept(request(), new byte[0], execution);
+
+            // then
+            assertThat(body(response)).isEqualTo("hedge");
+        }
+
+        @Test
+        @DisplayName("[error] budget 을 모두 사용하면 원래 요청이 느려도 hedge 하지 않는지 확인한다.")
+        void error_budget_exhausted() throws IOException {
+            // given : 처음 적립된 token 10개를 모두 사용한다
+            for (int i = 0; i < 10; i++) {
+                interceptor.intercept(request(), new byte[0], (request, body) -> {
+                    sleep(Duration.ofSeconds(5), new AtomicBoolean());
+                    return response("primary");
+                });
+            }
+            assertThat(hedgeRequests.get()).isEqualTo(10);
+
+            // when
+            ClientHttpResponse response = interceptor.intercept(request(), new byte[0], (request, body) -> {
+                sleep(HEDGE_DELAY.multipliedBy(3), new AtomicBoolean());
+                return response("primary");
+            });
+
+            // then
+            assertThat(body(response)).isEqualTo("primary");
+            assertThat(hedgeRequests.get()).isEqualTo(10);
+            assertThat(count("budget-exhausted")).isEqualTo(1);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("진 쪽 요청 취소 테스트")
+    class Describe_cancel {
+
+        @Test
+        @DisplayName("[success] hedge 이후 원래 요청이 먼저 응답하면 진행 중인 hedge 요청을 취소하는지 확인한다.")
+        void success() throws Exception {
+            // given
+            AtomicBoolean hedgeCancelled = new AtomicBoolean();
+            CountDownLatch hedgeStarted = new CountDownLatch(1);
+            CountDownLatch hedgeFinished = new CountDownLatch(1);
+            HedgingProperties properties = new HedgingProperties();
+            properties.setInitialDelay(HEDGE_DELAY);
+            HedgingInterceptor slowHedge = new HedgingInterceptor(new RequestHedger("test", properties, null),
+                requestFactory(() -> {
+                    hedgeStarted.countDown();
+                    try {
+                        sleep(Duration.ofSeconds(5), hedgeCancelled);
+                    } finally {
+                        hedgeFinished.countDown();
+                    }
+                    return response("hedge");
+                }));
+            ClientHttpRequestExecution execution = (request, body) -> {
+                try {
+                    hedgeStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return response("primary");
+            };
+
+            // when
+            ClientHttpResponse response = slowHedge.intercept(request(), new byte[0], execution);
+
+            // then
+            assertThat(body(response)).isEqualTo("primary");
+            assertThat(hedgeFinished.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(hedgeCancelled).isTrue();
+        }
+    }
+
+    private ClientHttpRequestFactory requestFactory(HedgeCall call) {
+        return (uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                hedgeRequests.incrementAndGet();
+                return call.execute();
+            }
+        };
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("hedging.requests").tag("result", result).counter().count();
+    }
+
+    private static MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI_TEST);
+    }
+
+    private static ClientHttpResponse response(String body) {
+        return new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    // 요청 대기 (interrupt 되면 취소된 것으로 기록하고 JdkClientHttpRequest 처럼 InterruptedIOException 을 던진다)
+    private static void sleep(Duration duration, AtomicBoolean cancelled) throws IOException {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface HedgeCall {
+
+        ClientHttpResponse execute() throws IOException;
+    }
+}
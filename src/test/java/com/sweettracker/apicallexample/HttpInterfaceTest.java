@@ -3,18 +3,37 @@ package com.sweettracker.apicallexample;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
+import com.sweettracker.apicallexample.http_interface.HttpInterfaceChunkedUploader;
+import com.sweettracker.apicallexample.http_interface.HttpInterfaceRequestBodyBatcher;
 import com.sweettracker.apicallexample.http_interface.TestHttpInterface;
+import com.sweettracker.apicallexample.test_controller.BatchItemResult;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
 import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 @SpringBootTest
 public class HttpInterfaceTest {
@@ -22,6 +41,12 @@ public class HttpInterfaceTest {
     @Autowired
     TestHttpInterface testHttpInterface;
 
+    @Autowired
+    HttpInterfaceChunkedUploader httpInterfaceChunkedUploader;
+
+    @Autowired
+    HttpInterfaceRequestBodyBatcher httpInterfaceRequestBodyBatcher;
+
     @Nested
     @DisplayName("httpInterface 를 통한 GET API 호출 테스트")
     class Describe_httpInterface_get {
@@ -93,6 +118,44 @@ public class HttpInterfaceTest {
     }
 
 
+    @Nested
+    @DisplayName("httpInterface 를 통한 Smile(binary) request-body POST API 호출 테스트")
+    class Describe_httpInterface_post_request_body_smile {
+
+        @Test
+        @DisplayName("[success] Smile 로 직렬화한 요청 body 를 서버가 읽어 응답하는지 확인한다.")
+        void success() {
+            // given
+            PostTestRequest request = PostTestRequest.builder()
+                .username("test")
+                .password("1234")
+                .build();
+
+            // when
+            String response = testHttpInterface.postTestSmile(request);
+
+            // then
+            assertThat(response).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[success] batch 요청, 응답 body 를 모두 Smile 로 주고받는지 확인한다.")
+        void success_batch() {
+            // given
+            List<PostTestRequest> requests = List.of(
+                PostTestRequest.builder().username("user1").password("1234").build(),
+                PostTestRequest.builder().username("user2").build());
+
+            // when
+            List<BatchItemResult> results = testHttpInterface.postTestBatchSmile(requests);
+
+            // then
+            assertThat(results).extracting(BatchItemResult::status).containsExactly(200, 400);
+            assertThat(results.get(0).body()).isEqualTo("hello user1");
+        }
+    }
+
+
     @Nested
     @DisplayName("httpInterface 를 통한 form-data POST API 호출 테스트")
     class Describe_httpInterface_post_form_data {
@@ -176,4 +239,161 @@ public class HttpInterfaceTest {
             assertThat(exception.getMessage()).contains("비밀번호는 필수값 입니다.");
         }
     }
+
+    @Nested
+    @DisplayName("httpInterface 를 통한 chunk 업로드 API 호출 테스트")
+    class Describe_httpInterface_chunked_upload {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("[success] chunk 를 병렬로 전송한 뒤 commit 에 성공하는지 확인한다.")
+        void success() throws IOException {
+            // given
+            Path file = createFile(3500);
+
+            // when
+            UploadSessionResponse response = httpInterfaceChunkedUploader.upload(file, 1024, 4);
+
+            // then
+            assertThat(response.committed()).isTrue();
+            assertThat(response.chunkCount()).isEqualTo(4);
+            assertThat(response.missingChunks()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("[success] 중단된 업로드를 재개할 때 누락된 chunk 만 전송하는지 확인한다.")
+        void resume() throws IOException {
+            // given
+            Path file = createFile(3500);
+            byte[] fileBytes = Files.readAllBytes(file);
+            UploadSessionResponse session = testHttpInterface.beginUpload(
+                new BeginUploadRequest("file.bin", fileBytes.length, 1024));
+            byte[] firstChunk = Arrays.copyOf(fileBytes, 1024);
+            testHttpInterface.uploadChunk(session.sessionId(), 0, checksum(firstChunk), firstChunk);
+
+            // when
+            UploadSessionResponse before = testHttpInterface.getUploadSession(session.sessionId());
+            UploadSessionResponse response = httpInterfaceChunkedUploader
+                .resume(session.sessionId(), file, 2);
+
+            // then
+            assertThat(before.missingChunks()).containsExactly(1, 2, 3);
+            assertThat(response.committed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("[error] checksum 이 일치하지 않는 chunk 는 거부하는지 확인한다.")
+        void error() {
+            // given
+            byte[] chunk = new byte[1024];
+            UploadSessionResponse session = testHttpInterface.beginUpload(
+                new BeginUploadRequest("file.bin", chunk.length, 1024));
+
+            // when
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testHttpInterface.uploadChunk(session.sessionId(), 0, "00000000", chunk));
+
+            // then
+            assertThat(exception.getMessage()).contains("checksum 이 일치하지 않습니다.");
+        }
+
+        private Path createFile(int size) throws IOException {
+            byte[] bytes = new byte[size];
+            ThreadLocalRandom.current().nextBytes(bytes);
+            return Files.write(tempDir.resolve("file.bin"), bytes);
+        }
+
+        private String checksum(byte[] bytes) {
+            CRC32C crc = new CRC32C();
+            crc.update(bytes);
+            return HexFormat.of().toHexDigits((int) crc.getValue());
+        }
+    }
+
+    @Nested
+    @DisplayName("httpInterface 를 통한 request-body batch 호출 테스트")
+    class Describe_httpInterface_request_body_batch {
+
+        @Test
+        @DisplayName("[success] 동시에 호출된 단건 요청이 묶여서 각자의 결과를 응답하는지 확인한다.")
+        void success() {
+            // given
+            List<CompletableFuture<String>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> httpInterfaceRequestBodyBatcher.postTest(PostTestRequest.builder()
+                    .username("user" + i)
+                    .password("1234")
+                    .build()))
+                .toList();
+
+            // when
+            List<String> responses = futures.stream().map(CompletableFuture::join).toList();
+
+            // then
+            assertThat(responses).containsExactlyElementsOf(
+                IntStream.range(0, 10).mapToObj(i -> "hello user" + i).toList());
+        }
+
+        @Test
+        @DisplayName("[error] 같은 batch 의 다른 요청과 상관없이 실패한 요청만 예외가 발생하는지 확인한다.")
+        void error() {
+            // given
+            CompletableFuture<String> success = httpInterfaceRequestBodyBatcher.postTest(
+                PostTestRequest.builder().username("test").password("1234").build());
+            CompletableFuture<String> failure = httpInterfaceRequestBodyBatcher.postTest(
+                PostTestRequest.builder().username("test").build());
+
+            // when
+            CompletionException exception = assertThrows(CompletionException.class, failure::join);
+
+            // then
+            assertThat(success.join()).isEqualTo("hello test");
+            assertThat(exception.getCause()).isInstanceOf(NonRetryableApiCallException.class);
+            assertThat(exception.getCause().getMessage()).contains("비밀번호는 필수값 입니다.");
+        }
+    }
+
+
+    @Nested
+    @DisplayName("httpInterface 의 Mono 반환 메서드 호출 테스트")
+    class Describe_httpInterface_async {
+
+        @Test
+        @DisplayName("[success] subscribe 시점에 호출하여 body 값을 응답하는지 확인한다.")
+        void success() {
+            // given
+            Mono<String> response = testHttpInterface.getTestAsync("12345");
+
+            // when, then
+            assertThat(response.block()).isEqualTo("hello 12345");
+        }
+
+        @Test
+        @DisplayName("[success] ResponseEntity 로 응답 header 를 함께 받는지 확인한다.")
+        void success_entity() {
+            // when
+            ResponseEntity<String> response = testHttpInterface.getTestEntityAsync("12345").block();
+
+            // then
+            assertThat(response.getBody()).isEqualTo("hello 12345");
+            assertThat(response.getHeaders().getETag()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("[error] api 호출 중 예외 발생시 Mono 가 예외로 종료되는지 확인한다.")
+        void error() {
+            // given
+            PostTestRequest request = PostTestRequest.builder()
+                .username("test")
+                .build();
+
+            // when
+            RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                testHttpInterface.postTestAsync(request).block());
+
+            // then
+            assertThat(exception.getMessage()).contains("비밀번호는 필수값 입니다.");
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.test_controller.RangeFileSender;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/*
+    파일 다운로드 Range 처리 (206, 416) 를 확인한다
+*/
+public class RangeFileSenderTest {
+
+    @TempDir
+    Path directory;
+
+    RangeFileSender rangeFileSender;
+
+    @BeforeEach
+    void setUp() {
+        rangeFileSender = new RangeFileSender(directory);
+    }
+
+    @Nested
+    @DisplayName("Range 요청 테스트")
+    class Describe_range {
+
+        @Test
+        @DisplayName("[success] 파일 안의 구간은 206 으로 해당 구간만 응답하는지 확인한다.")
+        void success() throws IOException {
+            // given
+            Path file = Files.writeString(directory.resolve("hello.txt"), "hello", StandardCharsets.UTF_8);
+
+            // when
+            MockHttpServletResponse response = send(file, "bytes=1-");
+
+            // then
+            assertThat(response.getStatus()).isEqualTo(206);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1-4/5");
+            assertThat(response.getContentAsString()).isEqualTo("ello");
+        }
+
+        @Test
+        @DisplayName("[error] 시작 위치가 파일 크기 이상이면 416 으로 응답하는지 확인한다.")
+        void error_start_after_end_of_file() throws IOException {
+            // given
+            Path file = Files.writeString(directory.resolve("hello.txt"), "hello", StandardCharsets.UTF_8);
+
+            // when
+            MockHttpServletResponse response = send(file, "bytes=5-");
+
+            // then
+            assertThat(response.getStatus()).isEqualTo(416);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */5");
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("[error] 빈 파일에 Range 를 요청하면 416 으로 응답하는지 확인한다.")
+        void error_empty_file() throws IOException {
+            // given
+            Path file = Files.createFile(directory.resolve("empty.txt"));
+
+            // when
+            MockHttpServletResponse response = send(file, "bytes=0-0");
+
+            // then
+            assertThat(response.getStatus()).isEqualTo(416);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */0");
+        }
+    }
+
+    private MockHttpServletResponse send(Path file, String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test/files/" + file.getFileName());
+        request.addHeader(HttpHeaders.RANGE, range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rangeFileSender.send(file, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sweettracker.apicallexample.common.compression.ContentCodings;
+import com.sweettracker.apicallexample.common.compression.DecodedBodyTooLargeException;
+import com.sweettracker.apicallexample.test_controller.RequestDecompressionFilter;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+/*
+    압축된 요청 body 를 해제할 때 최대 크기를 넘으면 읽기를 중단하는지 확인한다
+    (수 KB 의 gzip body 가 수십 MB 로 해제되는 decompression bomb)
+*/
+public class RequestDecompressionFilterTest {
+
+    RequestDecompressionFilter filter =
+        new RequestDecompressionFilter(DataSize.ofKilobytes(64), DataSize.ofKilobytes(16));
+
+    @Nested
+    @DisplayName("압축된 JSON 요청 body 해제 테스트")
+    class Describe_json_body {
+
+        @Test
+        @DisplayName("[success] 최대 크기 이하인 body 를 해제하여 읽는지 확인한다.")
+        void success() throws Exception {
+            // given
+            byte[] body = "{\"username\":\"test\",\"password\":\"1234\"}".getBytes(StandardCharsets.UTF_8);
+            MockHttpServletRequest request = compressedRequest(MediaType.APPLICATION_JSON_VALUE, body);
+            AtomicReference<byte[]> read = new AtomicReference<>();
+
+            // when
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                    read.set(req.getInputStream().readAllBytes());
+                }
+            });
+
+            // then
+            assertThat(read.get()).isEqualTo(body);
+        }
+
+        @Test
+        @DisplayName("[error] 압축률이 높은 body 가 최대 크기를 넘게 해제되면 읽는 도중 예외가 발생하는지 확인한다.")
+        void error() throws Exception {
+            // given : 10MB 의 0 을 gzip 으로 압축하면 10KB 정도가 된다
+            MockHttpServletRequest request = compressedRequest(MediaType.APPLICATION_JSON_VALUE,
+                new byte[10 * 1024 * 1024]);
+            assertThat(request.getContentAsByteArray().length).isLessThan(64 * 1024);
+            AtomicReference<HttpServletRequest> decompressed = new AtomicReference<>();
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest req, ServletResponse res) {
+                    decompressed.set((HttpServletRequest) req);
+                }
+            });
+
+            // when
+            DecodedBodyTooLargeException exception = assertThrows(DecodedBodyTooLargeException.class, () -> {
+                try (InputStream body = decompressed.get().getInputStream()) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+            });
+
+            // then
+            assertThat(exception.getMaxSize()).isEqualTo(64 * 1024);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("압축된 form 요청 body 해제 테스트")
+    class Describe_form_body {
+
+        @Test
+        @DisplayName("[success] 해제한 body 로 parameter 를 만드는지 확인한다.")
+        void success() throws Exception {
+            // given
+            MockHttpServletRequest request = compressedRequest(MediaType.APPLICATION_FORM_URLENCODED_VALUE,
+                "username=test&password=1234".getBytes(StandardCharsets.UTF_8));
+            AtomicReference<String> username = new AtomicReference<>();
+
+            // when
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest req, ServletResponse res) {
+                    username.set(req.getParameter("username"));
+                }
+            });
+
+            // then
+            assertThat(username.get()).isEqualTo("test");
+        }
+
+        @Test
+        @DisplayName("[error] form 최대 크기를 넘게 해제되면 chain 으로 넘기지 않고 413 으로 응답하는지 확인한다.")
+        void error() throws Exception {
+            // given
+            byte[] form = ("username=test&password=" + "0".repeat(10 * 1024 * 1024))
+                .getBytes(StandardCharsets.UTF_8);
+            MockHttpServletRequest request = compressedRequest(MediaType.APPLICATION_FORM_URLENCODED_VALUE, form);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            // when
+            filter.doFilter(request, response, chain);
+
+            // then
+            assertThat(response.getStatus()).isEqualTo(413);
+            assertThat(chain.getRequest()).isNull();
+        }
+    }
+
+    private static MockHttpServletRequest compressedRequest(String contentType, byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encoder = ContentCodings.encode(ContentCodings.GZIP, -1, out)) {
+            encoder.write(body);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test/request-body");
+        request.setContentType(contentType);
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP);
+        request.setContent(out.toByteArray());
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.common.resilience.Bulkhead;
+import com.sweettracker.apicallexample.common.resilience.BulkheadSettings;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreaker.State;
+import com.sweettracker.apicallexample.common.resilience.CircuitBreakerSettings;
+import com.sweettracker.apicallexample.common.resilience.ResilienceRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/*
+    이름이 같은 클라이언트라도 호출 방식(feign, httpInterface ...)이 다르면 bulkhead, circuit breaker 와 설정을 공유하지 않는지 확인한다
+*/
+public class ResilienceRegistryTest {
+
+    SimpleMeterRegistry meterRegistry;
+    ResilienceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        registry = new ResilienceRegistry(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Nested
+    @DisplayName("클라이언트 구분 테스트")
+    class Describe_client_type {
+
+        @Test
+        @DisplayName("[success] 같은 이름의 두 클라이언트가 각자의 설정으로 bulkhead, circuit breaker 를 따로 만드는지 확인한다.")
+        void success() {
+            // given
+            BulkheadSettings feignBulkhead = bulkhead(10);
+            BulkheadSettings httpInterfaceBulkhead = bulkhead(3);
+            CircuitBreakerSettings circuitBreaker = circuitBreaker();
+
+            // when
+            registry.call("feign", "test", "getTest", feignBulkhead, circuitBreaker);
+            registry.call("httpInterface", "test", "getTest", httpInterfaceBulkhead, circuitBreaker);
+
+            // then
+            Bulkhead feign = registry.getBulkhead("feign", "test");
+            Bulkhead httpInterface = registry.getBulkhead("httpInterface", "test");
+            assertThat(feign).isNotSameAs(httpInterface);
+            assertThat(feign.availableCalls()).isEqualTo(10);
+            assertThat(httpInterface.availableCalls()).isEqualTo(3);
+            assertThat(registry.getCircuitBreaker("feign", "test", "getTest"))
+                .isNotSameAs(registry.getCircuitBreaker("httpInterface", "test", "getTest"));
+            assertThat(meterRegistry.get("resilience.bulkhead.available-calls").gauges()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("[success] 한 클라이언트의 실패가 같은 이름의 다른 클라이언트 circuit breaker 를 OPEN 하지 않는지 확인한다.")
+        void success_isolated_failure() {
+            // given
+            CircuitBreakerSettings settings = circuitBreaker();
+            registry.call("feign", "test", "getTest", bulkhead(10), settings);
+            registry.call("httpInterface", "test", "getTest", bulkhead(10), settings);
+
+            // when
+            CircuitBreaker feign = registry.getCircuitBreaker("feign", "test", "getTest");
+            feign.onResult(0, true);
+
+            // then
+            assertThat(feign.getState()).isEqualTo(State.OPEN);
+            assertThat(registry.getCircuitBreaker("httpInterface", "test", "getTest").getState())
+                .isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("[success] 같은 클라이언트의 메서드는 bulkhead 를 공유하고 circuit breaker 는 메서드마다 만드는지 확인한다.")
+        void success_same_client() {
+            // when
+            registry.call("feign", "test", "getTest", bulkhead(10), circuitBreaker());
+            registry.call("feign", "test", "postTest", bulkhead(5), circuitBreaker());
+
+            // then
+            assertThat(registry.getBulkhead("feign", "test").availableCalls()).isEqualTo(10);
+            assertThat(registry.getCircuitBreaker("feign", "test", "getTest"))
+                .isNotSameAs(registry.getCircuitBreaker("feign", "test", "postTest"));
+        }
+    }
+
+    private static BulkheadSettings bulkhead(int maxConcurrentCalls) {
+        BulkheadSettings settings = new BulkheadSettings();
+        settings.setMaxConcurrentCalls(maxConcurrentCalls);
+        return settings;
+    }
+
+    // 실패 한 건이면 OPEN 으로 전환한다
+    private static CircuitBreakerSettings circuitBreaker() {
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setMinimumNumberOfCalls(1);
+        return settings;
+    }
+}
@@ -0,0 +1,233 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sweettracker.apicallexample.common.cache.CachedResponse;
+import com.sweettracker.apicallexample.common.cache.ResponseCache;
+import com.sweettracker.apicallexample.common.cache.ResponseCache.Lookup;
+import com.sweettracker.apicallexample.common.cache.ResponseCache.State;
+import com.sweettracker.apicallexample.common.cache.ResponseCacheProperties;
+import com.sweettracker.apicallexample.common.cache.ResponseCacheProperties.Endpoint;
+import com.sweettracker.apicallexample.common.serialization.BinaryMediaTypes;
+import com.sweettracker.apicallexample.open_feign.CachingFeignClient;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/*
+    ResponseCache 의 ttl(Cache-Control), 캐시 대상, key(Accept) 와 CachingFeignClient 의 ETag 재검증을 확인한다
+    만료 시각은 System.currentTimeMillis 기준이므로 호출 전후 시각 사이에 있는지로 확인한다
+*/
+public class ResponseCacheTest {
+
+    private static final URI URI_TEST = URI.create("http://localhost/test?username=test");
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final byte[] BODY = "hello test".getBytes(StandardCharsets.UTF_8);
+
+    ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setPath("/test");
+        endpoint.setTtl(TTL);
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEndpoints(List.of(endpoint));
+        responseCache = new ResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Nested
+    @DisplayName("Cache-Control ttl 테스트")
+    class Describe_ttl {
+
+        @Test
+        @DisplayName("[success] max-age 가 endpoint ttl 보다 짧으면 max-age 로 만료 시각을 정하는지 확인한다.")
+        void success_max_age() {
+            // given
+            Lookup lookup = lookup(HttpMethod.GET, MediaType.APPLICATION_JSON);
+            HttpHeaders headers = responseHeaders();
+            headers.setCacheControl("max-age=5");
+
+            // when
+            long before = System.currentTimeMillis();
+            CachedResponse response = responseCache.update(lookup, 200, headers, BODY);
+            long after = System.currentTimeMillis();
+
+            // then
+            assertThat(response.expiresAt()).isBetween(before + 5_000, after + 5_000);
+            assertThat(lookup(HttpMethod.GET, MediaType.APPLICATION_JSON).state()).isEqualTo(State.FRESH);
+        }
+
+        @Test
+        @DisplayName("[success] Cache-Control 이 없으면 endpoint ttl 로 만료 시각을 정하는지 확인한다.")
+        void success_endpoint_ttl() {
+            // given
+            Lookup lookup = lookup(HttpMethod.GET, MediaType.APPLICATION_JSON);
+
+            // when
+            long before = System.currentTimeMillis();
+            CachedResponse response = responseCache.update(lookup, 200, responseHeaders(), BODY);
+            long after = System.currentTimeMillis();
+
+            // then
+            assertThat(response.expiresAt()).isBetween(before + TTL.toMillis(), after + TTL.toMillis());
+        }
+
+        @Test
+        @DisplayName("[error] no-store 응답은 저장하지 않는지 확인한다.")
+        void error_no_store() {
+            // given
+            HttpHeaders headers = responseHeaders();
+            headers.setCacheControl("no-store");
+
+            // when
+            responseCache.update(lookup(HttpMethod.GET, MediaType.APPLICATION_JSON), 200, headers, BODY);
+
+            // then
+            Lookup lookup = lookup(HttpMethod.GET, MediaType.APPLICATION_JSON);
+            assertThat(lookup.state()).isEqualTo(State.MISS);
+            assertThat(lookup.cached()).isNull();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("캐시 대상과 key 테스트")
+    class Describe_key {
+
+        @Test
+        @DisplayName("[error] GET 이 아닌 요청은 캐시 대상이 아닌지 확인한다.")
+        void error_non_get() {
+            // then
+            assertThat(lookup(HttpMethod.POST, MediaType.APPLICATION_JSON)).isNull();
+            assertThat(responseCache.lookup(HttpMethod.GET, URI.create("http://localhost/other"), new HttpHeaders()))
+                .isNull();
+        }
+
+        @Test
+        @DisplayName("[success] 같은 URI 라도 Accept 가 다르면 다른 응답으로 저장하는지 확인한다.")
+        void success_accept() {
+            // given
+            responseCache.update(lookup(HttpMethod.GET, MediaType.APPLICATION_JSON), 200, responseHeaders(), BODY);
+
+            // when
+            Lookup json = lookup(HttpMethod.GET, MediaType.APPLICATION_JSON);
+            Lookup smile = lookup(HttpMethod.GET, BinaryMediaTypes.APPLICATION_SMILE);
+
+            // then
+            assertThat(json.state()).isEqualTo(State.FRESH);
+            assertThat(smile.state()).isEqualTo(State.MISS);
+            assertThat(json.key()).isNotEqualTo(smile.key());
+        }
+
+        @Test
+        @DisplayName("[error] Vary 가 key 에 없는 요청 헤더를 가리키면 저장하지 않는지 확인한다.")
+        void error_vary() {
+            // given
+            HttpHeaders headers = responseHeaders();
+            headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.AUTHORIZATION));
+
+            // when
+            responseCache.update(lookup(HttpMethod.GET, MediaType.APPLICATION_JSON), 200, headers, BODY);
+
+            // then
+            assertThat(lookup(HttpMethod.GET, MediaType.APPLICATION_JSON).cached()).isNull();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("feignClient 캐시 연동 테스트")
+    class Describe_feign {
+
+        List<Request> requests = new ArrayList<>();
+
+        @Test
+        @DisplayName("[success] 만료된 응답은 If-None-Match 로 재검증하고 304 이면 캐시된 body 를 반환하는지 확인한다.")
+        void success_revalidate() throws IOException {
+            // given : no-cache 응답은 ETag 와 함께 저장하고 매번 재검증한다
+            CachingFeignClient client = client(HttpStatus.OK, HttpStatus.NOT_MODIFIED);
+            client.execute(request(Request.HttpMethod.GET), options()).close();
+
+            // when
+            Response response = client.execute(request(Request.HttpMethod.GET), options());
+
+            // then
+            assertThat(requests).hasSize(2);
+            assertThat(requests.get(0).headers()).doesNotContainKey(HttpHeaders.IF_NONE_MATCH);
+            assertThat(requests.get(1).headers().get(HttpHeaders.IF_NONE_MATCH)).containsExactly("\"v1\"");
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(Util.toByteArray(response.body().asInputStream())).isEqualTo(BODY);
+        }
+
+        @Test
+        @DisplayName("[error] GET 이 아닌 요청은 캐시하지 않고 매번 delegate 로 요청하는지 확인한다.")
+        void error_non_get() throws IOException {
+            // given
+            CachingFeignClient client = client(HttpStatus.OK, HttpStatus.OK);
+
+            // when
+            client.execute(request(Request.HttpMethod.POST), options()).close();
+            client.execute(request(Request.HttpMethod.POST), options()).close();
+
+            // then
+            assertThat(requests).hasSize(2);
+        }
+
+        // 순서대로 응답하는 delegate (200 응답은 ETag "v1", no-cache)
+        private CachingFeignClient client(HttpStatus... statuses) {
+            return new CachingFeignClient((request, options) -> {
+                requests.add(request);
+                int status = statuses[requests.size() - 1].value();
+                return Response.builder()
+                    .status(status)
+                    .reason("")
+                    .headers(Map.<String, Collection<String>>of(
+                        HttpHeaders.ETAG, List.of("\"v1\""),
+                        HttpHeaders.CACHE_CONTROL, List.of("no-cache")))
+                    .body(status == 200 ? BODY : null)
+                    .request(request)
+                    .build();
+            }, responseCache, Runnable::run);
+        }
+
+        private static Request request(Request.HttpMethod method) {
+            return Request.create(method, URI_TEST.toString(),
+                Map.of(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE)), null,
+                StandardCharsets.UTF_8, null);
+        }
+
+        private static Request.Options options() {
+            return new Request.Options();
+        }
+    }
+
+    private Lookup lookup(HttpMethod method, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        return responseCache.lookup(method, URI_TEST, headers);
+    }
+
+    private static HttpHeaders responseHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
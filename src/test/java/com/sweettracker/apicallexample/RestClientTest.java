@@ -3,11 +3,14 @@ package com.sweettracker.apicallexample;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
 import com.sweettracker.apicallexample.test_controller.PostTestRequest;
 import java.time.Duration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.client.ClientHttpRequestFactories;
 import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
@@ -21,6 +24,9 @@ import org.springframework.web.client.RestClient;
 @SpringBootTest
 public class RestClientTest {
 
+    @Autowired
+    ApiCallExceptionFactory apiCallExceptionFactory;
+
     ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
         .withConnectTimeout(Duration.ofSeconds(1))
         .withReadTimeout(Duration.ofSeconds(2));
@@ -65,7 +71,7 @@ public class RestClientTest {
                 .retrieve()
                 // 상태값에 따른 예외 처리
                 .onStatus(HttpStatusCode::isError, (req, res) -> {
-                    throw new RuntimeException("예외 발생");
+                    throw apiCallExceptionFactory.create("예외 발생", req, res);
                 })
                 .body(String.class));
 
@@ -116,7 +122,7 @@ public class RestClientTest {
                     .body(request)
                     .retrieve()
                     .onStatus(HttpStatusCode::isError, (req, res) -> {
-                        throw new RuntimeException("예외 발생");
+                        throw apiCallExceptionFactory.create("예외 발생", req, res);
                     })
                     .body(String.class)); // response type
 
@@ -164,7 +170,7 @@ public class RestClientTest {
                     .body(formData)
                     .retrieve()
                     .onStatus(HttpStatusCode::isError, (req, res) -> {
-                        throw new RuntimeException("오류 발생");
+                        throw apiCallExceptionFactory.create("오류 발생", req, res);
                     })
                     .body(String.class));
 
@@ -216,7 +222,7 @@ public class RestClientTest {
                     .body(formData)
                     .retrieve()
                     .onStatus(HttpStatusCode::isError, (req, res) -> {
-                        throw new RuntimeException("오류 발생");
+                        throw apiCallExceptionFactory.create("오류 발생", req, res);
                     })
                     .body(String.class));
 
@@ -224,4 +230,45 @@ public class RestClientTest {
             assertThat(exception.getMessage()).contains("오류 발생");
         }
     }
+
+
+    // RestClientConfig 의 testRestClient 빈 (캐시, hedging, 로그, 압축, 재시도 interceptor 와 에러 변환 포함)
+    @Nested
+    @DisplayName("testRestClient 빈을 통한 API 호출 테스트")
+    class Describe_testRestClient {
+
+        @Autowired
+        RestClient testRestClient;
+
+        @Test
+        @DisplayName("[success] interceptor chain 을 거쳐 body 값을 응답하는지 확인한다.")
+        void success() {
+            // when
+            String response = testRestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/test")
+                    .queryParam("username", "12345")
+                    .build())
+                .retrieve()
+                .body(String.class);
+
+            // then
+            assertThat(response).isEqualTo("hello 12345");
+        }
+
+        @Test
+        @DisplayName("[error] 4xx 응답은 재시도하지 않고 NonRetryableApiCallException 으로 변환하는지 확인한다.")
+        void error() {
+            // when
+            NonRetryableApiCallException exception = assertThrows(NonRetryableApiCallException.class, () ->
+                testRestClient.get()
+                    .uri("/test")
+                    .retrieve()
+                    .body(String.class));
+
+            // then
+            assertThat(exception.getStatus()).isEqualTo(400);
+            assertThat(exception.getBodyExcerpt()).isEqualTo("사용자 이름은 필수값 입니다.");
+        }
+    }
 }
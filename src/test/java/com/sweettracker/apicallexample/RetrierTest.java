@@ -0,0 +1,302 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sweettracker.apicallexample.common.exception.ApiCallException;
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
+import com.sweettracker.apicallexample.common.exception.RetryableApiCallException;
+import com.sweettracker.apicallexample.common.retry.Retrier;
+import com.sweettracker.apicallexample.common.retry.Retrier.Attempts;
+import com.sweettracker.apicallexample.common.retry.RetryProperties;
+import com.sweettracker.apicallexample.http_interface.RetryFilter;
+import com.sweettracker.apicallexample.open_feign.FeignRetryer;
+import com.sweettracker.apicallexample.rest_client.RetryInterceptor;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+/*
+    재시도 대기 시간(decorrelated jitter), 시도 횟수, budget 과 클라이언트별 재시도 대상 분류를 확인한다
+*/
+public class RetrierTest {
+
+    private static final Duration BASE_DELAY = Duration.ofMillis(1);
+    private static final Duration MAX_DELAY = Duration.ofMillis(20);
+    private static final URI URI_TEST = URI.create("http://localhost/test");
+
+    RetryProperties properties;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RetryProperties();
+        properties.setBaseDelay(BASE_DELAY);
+        properties.setMaxDelay(MAX_DELAY);
+        properties.getBudget().setMaxTokens(1000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Nested
+    @DisplayName("재시도 대기 시간, 횟수, budget 테스트")
+    class Describe_attempts {
+
+        @Test
+        @DisplayName("[success] 대기 시간이 baseDelay 이상, 이전 delay 의 3배 미만, maxDelay 이하인지 확인한다.")
+        void success_jitter_bounds() {
+            // given
+            properties.setMaxAttempts(10);
+            Retrier retrier = retrier();
+
+            for (int call = 0; call < 100; call++) {
+                // when
+                Attempts attempts = retrier.newAttempts();
+                long previous = BASE_DELAY.toNanos();
+                for (int retry = 0; retry < 9; retry++) {
+                    long delay = attempts.nextDelayNanos();
+
+                    // then
+                    assertThat(delay).isGreaterThanOrEqualTo(BASE_DELAY.toNanos())
+                        .isLessThanOrEqualTo(MAX_DELAY.toNanos())
+                        .isLessThan(Math.max(BASE_DELAY.toNanos() + 1, previous * 3));
+                    previous = delay;
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("[error] 최초 요청을 포함하여 maxAttempts 번 시도하면 더 이상 재시도하지 않는지 확인한다.")
+        void error_max_attempts() {
+            // given
+            Attempts attempts = retrier().newAttempts();
+
+            // when
+            long first = attempts.nextDelayNanos();
+            long second = attempts.nextDelayNanos();
+            long third = attempts.nextDelayNanos();
+
+            // then
+            assertThat(first).isNotNegative();
+            assertThat(second).isNotNegative();
+            assertThat(third).isEqualTo(-1);
+            assertThat(attempts.getAttempt()).isEqualTo(3);
+            assertThat(count("attempts-exhausted")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("[error] budget 을 모두 사용하면 시도 횟수가 남아도 재시도하지 않고, 성공 응답으로 다시 적립되는지 확인한다.")
+        void error_budget_exhausted() {
+            // given : 재시도 token 2개, 성공 응답 1건당 0.5개 적립
+            properties.getBudget().setMaxTokens(2);
+            properties.getBudget().setRatio(0.5);
+            Retrier retrier = retrier();
+            assertThat(retrier.newAttempts().nextDelayNanos()).isNotNegative();
+            assertThat(retrier.newAttempts().nextDelayNanos()).isNotNegative();
+
+            // when
+            long exhausted = retrier.newAttempts().nextDelayNanos();
+            retrier.onSuccess();
+            retrier.onSuccess();
+            long deposited = retrier.newAttempts().nextDelayNanos();
+
+            // then
+            assertThat(exhausted).isEqualTo(-1);
+            assertThat(count("budget-exhausted")).isEqualTo(1);
+            assertThat(deposited).isNotNegative();
+        }
+
+        @Test
+        @DisplayName("[success] 재시도 가능한 에러와 method 만 재시도 대상으로 분류하는지 확인한다.")
+        void success_retryable() {
+            // given
+            Retrier retrier = retrier();
+
+            // then
+            assertThat(retrier.isRetryable(apiCallException(503))).isTrue();
+            assertThat(retrier.isRetryable(new IllegalStateException(new IOException("reset")))).isTrue();
+            assertThat(retrier.isRetryable(apiCallException(404))).isFalse();
+            assertThat(retrier.isRetryable(new IllegalStateException("bug"))).isFalse();
+            assertThat(retrier.isRetryableMethod("GET")).isTrue();
+            assertThat(retrier.isRetryableMethod("POST")).isFalse();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("restClient 재시도 테스트")
+    class Describe_rest_client {
+
+        @Test
+        @DisplayName("[success] 재시도 대상 status 는 maxAttempts 까지 다시 요청하고 마지막 응답을 반환하는지 확인한다.")
+        void success() throws IOException {
+            // given
+            AtomicInteger calls = new AtomicInteger();
+            ClientHttpRequestExecution execution = (request, body) -> {
+                calls.incrementAndGet();
+                return new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE);
+            };
+
+            // when
+            ClientHttpResponse response = new RetryInterceptor(retrier())
+                .intercept(new MockClientHttpRequest(HttpMethod.GET, URI_TEST), new byte[0], execution);
+
+            // then
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        @Test
+        @DisplayName("[error] 4xx 응답과 재시도할 수 없는 예외는 다시 요청하지 않는지 확인한다.")
+        void error_non_retryable() throws IOException {
+            // given
+            AtomicInteger calls = new AtomicInteger();
+            RetryInterceptor interceptor = new RetryInterceptor(retrier());
+
+            // when
+            ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI_TEST),
+                new byte[0], (request, body) -> {
+                    calls.incrementAndGet();
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND);
+                });
+            assertThrows(NonRetryableApiCallException.class, () ->
+                interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI_TEST), new byte[0],
+                    (request, body) -> {
+                        calls.incrementAndGet();
+                        throw (NonRetryableApiCallException) apiCallException(400);
+                    }));
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(calls.get()).isEqualTo(2);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("WebClient 재시도 테스트")
+    class Describe_web_client {
+
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI_TEST).build();
+
+        @Test
+        @DisplayName("[success] 재시도 대상 status 는 maxAttempts 까지 다시 요청하는지 확인한다.")
+        void success() {
+            // given
+            AtomicInteger calls = new AtomicInteger();
+
+            // when
+            ClientResponse response = new RetryFilter(retrier()).filter(request, req -> Mono.fromSupplier(() -> {
+                calls.incrementAndGet();
+                return ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+            })).block();
+
+            // then
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        @Test
+        @DisplayName("[error] 4xx 응답은 다시 요청하지 않는지 확인한다.")
+        void error_non_retryable() {
+            // given
+            AtomicInteger calls = new AtomicInteger();
+
+            // when
+            ClientResponse response = new RetryFilter(retrier()).filter(request, req -> Mono.fromSupplier(() -> {
+                calls.incrementAndGet();
+                return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+            })).block();
+
+            // then
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(response.statusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("feign 재시도 테스트")
+    class Describe_feign {
+
+        @Test
+        @DisplayName("[success] 재시도 가능한 에러는 maxAttempts 전까지 예외 없이 재시도하는지 확인한다.")
+        void success() {
+            // given
+            FeignRetryer retryer = new FeignRetryer(retrier());
+            RetryableException exception = retryableException(Request.HttpMethod.GET, apiCallException(503));
+
+            // when
+            retryer.continueOrPropagate(exception);
+            retryer.continueOrPropagate(exception);
+            ApiCallException propagated = assertThrows(ApiCallException.class, () ->
+                retryer.continueOrPropagate(exception));
+
+            // then : 모두 실패하면 RetryableException 이 아닌 원래 ApiCallException 을 던진다
+            assertThat(propagated).isSameAs(exception.getCause());
+        }
+
+        @Test
+        @DisplayName("[error] 재시도하지 않는 method 는 바로 원래 ApiCallException 을 던지는지 확인한다.")
+        void error_non_retryable_method() {
+            // given
+            RetryableException exception = retryableException(Request.HttpMethod.POST, apiCallException(503));
+
+            // when
+            ApiCallException propagated = assertThrows(ApiCallException.class, () ->
+                new FeignRetryer(retrier()).continueOrPropagate(exception));
+
+            // then
+            assertThat(propagated).isSameAs(exception.getCause());
+        }
+
+        @Test
+        @DisplayName("[error] NEVER_RETRY 는 재시도하지 않고 원래 ApiCallException 을 던지는지 확인한다.")
+        void error_never_retry() {
+            // given
+            RetryableException exception = retryableException(Request.HttpMethod.GET, apiCallException(503));
+
+            // when
+            ApiCallException propagated = assertThrows(ApiCallException.class, () ->
+                FeignRetryer.NEVER_RETRY.continueOrPropagate(exception));
+
+            // then
+            assertThat(propagated).isInstanceOf(RetryableApiCallException.class).isSameAs(exception.getCause());
+        }
+    }
+
+    private Retrier retrier() {
+        return new Retrier("test", properties, meterRegistry);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("retry.calls").tag("result", result).counter().count();
+    }
+
+    private static ApiCallException apiCallException(int status) {
+        return ApiCallException.of("error", status, "/test", null, false);
+    }
+
+    private static RetryableException retryableException(Request.HttpMethod method, ApiCallException cause) {
+        Request request = Request.create(method, URI_TEST.toString(), Map.of(), null, StandardCharsets.UTF_8, null);
+        return new RetryableException(cause.getStatus(), cause.getMessage(), method, cause, (Long) null, request);
+    }
+}
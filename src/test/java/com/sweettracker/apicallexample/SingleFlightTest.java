@@ -0,0 +1,218 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sweettracker.apicallexample.common.coalesce.Coalesced;
+import com.sweettracker.apicallexample.common.coalesce.CoalescingBeanPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/*
+    @Coalesced 메서드의 동시 호출이 하나의 downstream 호출로 합쳐지는지 확인한다
+    downstream 은 release 될 때까지 응답하지 않는 가짜 클라이언트이며 single-flight.calls 로 모든 호출자가 합류했는지 확인한다
+*/
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    SimpleMeterRegistry meterRegistry;
+    FakeClient downstream;
+    TestClient client;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        downstream = new FakeClient();
+        client = (TestClient) new CoalescingBeanPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class))
+            .postProcessAfterInitialization(downstream, "testClient");
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        downstream.release.countDown();
+        executor.close();
+    }
+
+    @Nested
+    @DisplayName("blocking 호출 합치기 테스트")
+    class Describe_blocking {
+
+        @Test
+        @DisplayName("[success] 같은 인자의 동시 호출은 downstream 을 한 번만 호출하고 같은 결과를 받는지 확인한다.")
+        void success() throws Exception {
+            // given
+            List<Future<String>> results = callConcurrently("user");
+
+            // when
+            downstream.release.countDown();
+
+            // then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("hello user");
+            }
+            assertThat(downstream.calls.get()).isEqualTo(1);
+            assertThat(meterRegistry.get("single-flight.executions").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("[success] 인자가 다른 동시 호출은 합치지 않는지 확인한다.")
+        void success_different_arguments() throws Exception {
+            // given
+            Future<String> first = executor.submit(() -> client.getTest("user1"));
+            Future<String> second = executor.submit(() -> client.getTest("user2"));
+
+            // when : 합쳐지면 downstream 호출이 2건이 되지 않는다
+            await(() -> downstream.calls.get() == 2);
+            downstream.release.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hello user1");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("hello user2");
+        }
+
+        @Test
+        @DisplayName("[error] downstream 예외는 대기 중인 모든 호출자가 받고, 이후 호출은 다시 실행되는지 확인한다.")
+        void error() throws Exception {
+            // given
+            downstream.error = new IllegalStateException("downstream error");
+            List<Future<String>> results = callConcurrently("user");
+
+            // when
+            downstream.release.countDown();
+
+            // then
+            for (Future<String> result : results) {
+                ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                    result.get(5, TimeUnit.SECONDS));
+                assertThat(exception.getCause()).isSameAs(downstream.error);
+            }
+            assertThat(downstream.calls.get()).isEqualTo(1);
+            downstream.error = null;
+            assertThat(client.getTest("user")).isEqualTo("hello user");
+            assertThat(downstream.calls.get()).isEqualTo(2);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("Mono 호출 합치기 테스트")
+    class Describe_mono {
+
+        @Test
+        @DisplayName("[success] 완료 전에 subscribe 한 같은 인자의 호출은 downstream 을 한 번만 호출하는지 확인한다.")
+        void success() {
+            // given
+            Sinks.One<String> response = Sinks.one();
+            downstream.mono = response;
+            List<String> received = new ArrayList<>();
+            Mono<String> first = client.getTestAsync("user");
+            Mono<String> second = client.getTestAsync("user");
+            first.subscribe(received::add);
+            second.subscribe(received::add);
+
+            // when
+            response.tryEmitValue("hello user");
+
+            // then
+            assertThat(received).containsExactly("hello user", "hello user");
+            assertThat(downstream.calls.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("[success] 완료된 뒤에 subscribe 하면 결과를 재사용하지 않고 다시 호출하는지 확인한다.")
+        void success_after_completion() {
+            // given
+            downstream.mono = null;
+            assertThat(client.getTestAsync("user").block()).isEqualTo("hello user");
+
+            // when
+            String result = client.getTestAsync("user").block();
+
+            // then
+            assertThat(result).isEqualTo("hello user");
+            assertThat(downstream.calls.get()).isEqualTo(2);
+        }
+    }
+
+    // CALLERS 개의 호출이 모두 합류할 때까지 기다린다 (leader 는 release 전까지 응답하지 않는다)
+    private List<Future<String>> callConcurrently(String username) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> client.getTest(username)));
+        }
+        await(() -> meterRegistry.find("single-flight.calls").counter() != null
+            && meterRegistry.get("single-flight.calls").counter().count() == CALLERS);
+        // 호출 수 집계 후 in-flight 호출에 합류하기까지의 간격
+        Thread.sleep(100);
+        return results;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    public interface TestClient {
+
+        @Coalesced
+        String getTest(String username);
+
+        @Coalesced
+        Mono<String> getTestAsync(String username);
+    }
+
+    // release 될 때까지 응답하지 않는 downstream
+    private static final class FakeClient implements TestClient {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile RuntimeException error;
+        private Sinks.One<String> mono;
+
+        @Override
+        public String getTest(String username) {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (error != null) {
+                throw error;
+            }
+            return "hello " + username;
+        }
+
+        @Override
+        public Mono<String> getTestAsync(String username) {
+            calls.incrementAndGet();
+            return mono != null ? mono.asMono() : Mono.just("hello " + username);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.sweettracker.apicallexample;
+
+import com.sweettracker.apicallexample.common.compression.ContentCodings;
+import com.sweettracker.apicallexample.test_controller.LatencyInjectionHandlerFilter;
+import com.sweettracker.apicallexample.test_controller.PostTestRequest;
+import com.sweettracker.apicallexample.test_controller.RequestDecompressionHandlerFilter;
+import com.sweettracker.apicallexample.test_controller.TestHandler;
+import com.sweettracker.apicallexample.test_controller.TestRouter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+
+/*
+    reactive 서버 모드(TestRouter)가 TestController 와 같은 응답, 에러 메시지를 주는지 확인한다
+    서버를 띄우지 않고 router 에 바로 요청한다
+*/
+public class TestRouterTest {
+
+    WebTestClient webTestClient = WebTestClient.bindToRouterFunction(new TestRouter().testRoutes(
+            new TestHandler(),
+            new LatencyInjectionHandlerFilter(Duration.ZERO, 0, Duration.ZERO),
+            new RequestDecompressionHandlerFilter(DataSize.ofKilobytes(256), DataSize.ofKilobytes(64))))
+        .build();
+
+    @Nested
+    @DisplayName("reactive 서버 모드 GET API 테스트")
+    class Describe_router_get {
+
+        @Test
+        @DisplayName("[success] username 으로 응답하고 ETag 가 같으면 304 로 응답하는지 확인한다.")
+        void success() {
+            // when
+            String eTag = webTestClient.get().uri("/test?username=12345")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("hello 12345")
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+            // then
+            webTestClient.get().uri("/test?username=12345")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+        }
+
+        @Test
+        @DisplayName("[error] username 이 없으면 TestController 와 같은 메시지로 응답하는지 확인한다.")
+        void error() {
+            webTestClient.get().uri("/test")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("사용자 이름은 필수값 입니다.");
+        }
+    }
+
+
+    @Nested
+    @DisplayName("reactive 서버 모드 request-body POST API 테스트")
+    class Describe_router_post_request_body {
+
+        @Test
+        @DisplayName("[success] body 값을 응답하는지 확인한다.")
+        void success() {
+            webTestClient.post().uri("/test/request-body")
+                .bodyValue(PostTestRequest.builder().username("test").password("1234").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[success] gzip 으로 압축된 요청 body 를 해제하여 처리하는지 확인한다.")
+        void success_gzip() throws IOException {
+            // given
+            byte[] body = gzip("{\"username\":\"test\",\"password\":\"1234\"}".getBytes(StandardCharsets.UTF_8));
+
+            // when, then
+            webTestClient.post().uri("/test/request-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[error] 압축률이 높은 body 가 최대 크기를 넘게 해제되면 413 으로 응답하는지 확인한다.")
+        void error_decompression_bomb() throws IOException {
+            // given : 10MB 의 0 을 gzip 으로 압축하면 10KB 정도가 된다
+            byte[] body = gzip(new byte[10 * 1024 * 1024]);
+
+            // when, then
+            webTestClient.post().uri("/test/request-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        @Test
+        @DisplayName("[error] 압축된 body 가 max-in-memory-size 를 넘으면 모두 받지 않고 413 으로 응답하는지 확인한다.")
+        void error_compressed_too_large() throws IOException {
+            // given : 압축되지 않는 random byte 는 gzip 으로 압축해도 크기가 줄지 않는다
+            byte[] random = new byte[512 * 1024];
+            ThreadLocalRandom.current().nextBytes(random);
+            byte[] body = gzip(random);
+
+            // when, then
+            webTestClient.post().uri("/test/request-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        @Test
+        @DisplayName("[error] 비밀번호가 없으면 TestController 와 같은 메시지로 응답하는지 확인한다.")
+        void error() {
+            webTestClient.post().uri("/test/request-body")
+                .bodyValue(PostTestRequest.builder().username("test").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("비밀번호는 필수값 입니다.");
+        }
+
+        @Test
+        @DisplayName("[error] batch 요청의 null 항목은 전체 요청을 실패시키지 않고 해당 항목만 400 으로 응답하는지 확인한다.")
+        void error_batch_null_item() {
+            webTestClient.post().uri("/test/request-body/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[null, {\"username\":\"test\",\"password\":\"1234\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(400)
+                .jsonPath("$[0].body").isEqualTo("요청 항목은 필수값 입니다.")
+                .jsonPath("$[1].status").isEqualTo(200);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("reactive 서버 모드 form-data POST API 테스트")
+    class Describe_router_post_form_data {
+
+        @Test
+        @DisplayName("[success] query parameter, form body 값을 모두 사용하는지 확인한다.")
+        void success() {
+            webTestClient.post().uri("/test/form-data?username=test")
+                .body(BodyInserters.fromFormData("password", "1234"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[error] username 이 없으면 TestController 와 같은 메시지로 응답하는지 확인한다.")
+        void error() {
+            webTestClient.post().uri("/test/form-data")
+                .body(BodyInserters.fromFormData("password", "1234"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("사용자 이름은 필수값 입니다.");
+        }
+    }
+
+
+    @Nested
+    @DisplayName("reactive 서버 모드 multi-part POST API 테스트")
+    class Describe_router_post_multi_part {
+
+        @Test
+        @DisplayName("[success] 파일과 username, password 를 받아 응답하는지 확인한다.")
+        void success() {
+            // given
+            MultipartBodyBuilder builder = new MultipartBodyBuilder();
+            builder.part("file", new ByteArrayResource("hello".getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public String getFilename() {
+                    return "hello.txt";
+                }
+            });
+            builder.part("username", "test");
+            builder.part("password", "1234");
+
+            // when, then
+            webTestClient.post().uri("/test/multi-part")
+                .body(BodyInserters.fromMultipartData(builder.build()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("hello test");
+        }
+
+        @Test
+        @DisplayName("[error] 파일이 없으면 TestController 와 같은 메시지로 응답하는지 확인한다.")
+        void error() {
+            // given
+            MultipartBodyBuilder builder = new MultipartBodyBuilder();
+            builder.part("username", "test");
+            builder.part("password", "1234");
+
+            // when, then
+            webTestClient.post().uri("/test/multi-part")
+                .body(BodyInserters.fromMultipartData(builder.build()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("파일은 필수값 입니다.");
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encoder = ContentCodings.encode(ContentCodings.GZIP, -1, out)) {
+            encoder.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,287 @@
+package com.sweettracker.apicallexample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sweettracker.apicallexample.common.upload.ChunkedFileUploader;
+import com.sweettracker.apicallexample.common.upload.ChunkedUploadException;
+import com.sweettracker.apicallexample.test_controller.BeginUploadRequest;
+import com.sweettracker.apicallexample.test_controller.UploadSessionException;
+import com.sweettracker.apicallexample.test_controller.UploadSessionResponse;
+import com.sweettracker.apicallexample.test_controller.UploadSessionStore;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+/*
+    chunk 업로드 세션이 검증에 실패한 재전송, 기록 중 commit/abort 에도 손상된 파일을 완료로 처리하지 않는지 확인한다
+    만료된 세션의 정리와 ChunkedFileUploader 의 재전송 횟수 제한도 확인한다
+*/
+public class UploadSessionStoreTest {
+
+    private static final byte[] CHUNK_0 = "aaaa".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHUNK_1 = "bb".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    UploadSessionStore store;
+    String sessionId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new UploadSessionStore(directory, Duration.ofHours(1));
+        sessionId = store.begin(new BeginUploadRequest("hello.txt", 6, 4)).sessionId();
+    }
+
+    @Nested
+    @DisplayName("이미 받은 chunk 의 재전송 테스트")
+    class Describe_retransmit {
+
+        @Test
+        @DisplayName("[success] 같은 chunk 를 올바르게 다시 보내면 완료로 유지되는지 확인한다.")
+        void success() throws IOException {
+            // given
+            store.writeChunk(sessionId, 0, checksum(CHUNK_0), new ByteArrayInputStream(CHUNK_0));
+            store.writeChunk(sessionId, 1, checksum(CHUNK_1), new ByteArrayInputStream(CHUNK_1));
+
+            // when
+            store.writeChunk(sessionId, 0, checksum(CHUNK_0), new ByteArrayInputStream(CHUNK_0));
+            UploadSessionResponse response = store.commit(sessionId);
+
+            // then
+            assertThat(response.committed()).isTrue();
+            assertThat(Files.readString(directory.resolve(sessionId + ".upload"))).isEqualTo("aaaabb");
+        }
+
+        @Test
+        @DisplayName("[error] checksum 이 틀린 재전송은 chunk 를 받지 않은 상태로 되돌려 commit 할 수 없는지 확인한다.")
+        void error_checksum() throws IOException {
+            // given
+            store.writeChunk(sessionId, 0, checksum(CHUNK_0), new ByteArrayInputStream(CHUNK_0));
+            store.writeChunk(sessionId, 1, checksum(CHUNK_1), new ByteArrayInputStream(CHUNK_1));
+            byte[] corrupted = "zzzz".getBytes(StandardCharsets.UTF_8);
+
+            // when
+            UploadSessionException exception = assertThrows(UploadSessionException.class, () ->
+                store.writeChunk(sessionId, 0, checksum(CHUNK_0), new ByteArrayInputStream(corrupted)));
+
+            // then
+            assertThat(exception.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(store.status(sessionId).missingChunks()).containsExactly(0);
+            assertThat(assertThrows(UploadSessionException.class, () -> store.commit(sessionId)).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+        }
+
+        @Test
+        @DisplayName("[error] 크기가 틀린 재전송도 chunk 를 받지 않은 상태로 되돌리는지 확인한다.")
+        void error_size() throws IOException {
+            // given
+            store.writeChunk(sessionId, 0, checksum(CHUNK_0), new ByteArrayInputStream(CHUNK_0));
+            byte[] truncated = "zz".getBytes(StandardCharsets.UTF_8);
+
+            // when
+            assertThrows(UploadSessionException.class, () ->
+                store.writeChunk(sessionId, 0, checksum(truncated), new ByteArrayInputStream(truncated)));
+
+            // then
+            assertThat(store.status(sessionId).missingChunks()).containsExactly(0, 1);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("chunk 기록 중 commit, abort 테스트")
+    class Describe_close_while_writing {
+
+        @Test
+        @DisplayName("[error] 기록 중인 chunk 가 있으면 commit 이 409 로 실패하는지 확인한다.")
+        void error_commit() throws Exception {
+            // given
+            store.writeChunk(sessionId, 1, checksum(CHUNK_1), new ByteArrayInputStream(CHUNK_1));
+            BlockingInputStream body = new BlockingInputStream(CHUNK_0);
+            CompletableFuture<Void> write = CompletableFuture.runAsync(() -> writeChunk(0, CHUNK_0, body));
+            body.awaitRead();
+
+            // when
+            UploadSessionException exception = assertThrows(UploadSessionException.class, () ->
+                store.commit(sessionId));
+            body.release();
+            write.join();
+
+            // then
+            assertThat(exception.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(store.commit(sessionId).committed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("[error] 기록 중에 abort 되면 기록이 404 로 실패하고 파일이 정리되는지 확인한다.")
+        void error_abort() throws Exception {
+            // given
+            BlockingInputStream body = new BlockingInputStream(CHUNK_0);
+            CompletableFuture<Void> write = CompletableFuture.runAsync(() -> writeChunk(0, CHUNK_0, body));
+            body.awaitRead();
+
+            // when
+            store.abort(sessionId);
+            body.release();
+            CompletionException exception = assertThrows(CompletionException.class, write::join);
+
+            // then
+            assertThat(exception.getCause()).isInstanceOfSatisfying(UploadSessionException.class, e ->
+                assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+            assertThat(directory.resolve(sessionId + ".upload")).doesNotExist();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("만료된 세션 정리 테스트")
+    class Describe_expire {
+
+        @Test
+        @DisplayName("[error] ttl 동안 요청이 없던 세션은 begin 없이도 조회 시 정리되어 404 로 응답하는지 확인한다.")
+        void error() throws Exception {
+            // given
+            UploadSessionStore shortLivedStore = new UploadSessionStore(directory, Duration.ofMillis(50));
+            String expiredId = shortLivedStore.begin(new BeginUploadRequest("hello.txt", 6, 4)).sessionId();
+            Thread.sleep(200);
+
+            // when
+            UploadSessionException exception = assertThrows(UploadSessionException.class, () ->
+                shortLivedStore.status(expiredId));
+
+            // then
+            assertThat(exception.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(directory.resolve(expiredId + ".upload")).doesNotExist();
+        }
+    }
+
+
+    @Nested
+    @DisplayName("ChunkedFileUploader 재전송 횟수 테스트")
+    class Describe_uploader_resume {
+
+        @Test
+        @DisplayName("[error] 전송이 성공해도 서버가 계속 chunk 를 받지 못했다고 응답하면 정해진 횟수 후 실패하는지 확인한다.")
+        void error() throws IOException {
+            // given : status 는 항상 chunk 0 을 받지 못했다고 응답한다
+            Path file = Files.write(directory.resolve("hello.txt"), CHUNK_0);
+            AtomicInteger uploads = new AtomicInteger();
+            ChunkedFileUploader uploader = new ChunkedFileUploader(Runnable::run) {
+                @Override
+                protected UploadSessionResponse begin(BeginUploadRequest request) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                protected UploadSessionResponse status(String sessionId) {
+                    return new UploadSessionResponse(sessionId, "hello.txt", 4, 4, 1, List.of(0), false);
+                }
+
+                @Override
+                protected void uploadChunk(String sessionId, int index, String checksum, byte[] chunk) {
+                    uploads.incrementAndGet();
+                }
+
+                @Override
+                protected UploadSessionResponse commit(String sessionId) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+
+            // when
+            ChunkedUploadException exception = assertThrows(ChunkedUploadException.class, () ->
+                uploader.resume("session", file, 1));
+
+            // then
+            assertThat(uploads.get()).isEqualTo(3);
+            assertThat(exception.getSessionId()).isEqualTo("session");
+            assertThat(exception.getCause()).hasMessageContaining("missingChunks=[0]");
+        }
+    }
+
+    private void writeChunk(int index, byte[] chunk, InputStream body) {
+        try {
+            store.writeChunk(sessionId, index, checksum(chunk), body);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static String checksum(byte[] chunk) {
+        CRC32C crc = new CRC32C();
+        crc.update(chunk);
+        return HexFormat.of().toHexDigits((int) crc.getValue());
+    }
+
+    // 첫 read 이후 release 될 때까지 다음 read 를 멈추는 body (기록 중인 상태를 만든다)
+    private static final class BlockingInputStream extends InputStream {
+
+        private final byte[] data;
+        private final CountDownLatch read = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private int position;
+
+        private BlockingInputStream(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position == 0) {
+                read.countDown();
+                await(released);
+            }
+            if (position >= data.length) {
+                return -1;
+            }
+            int n = Math.min(len, data.length - position);
+            System.arraycopy(data, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        void awaitRead() throws IOException {
+            await(read);
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        private static void await(CountDownLatch latch) throws IOException {
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IOException("timeout");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.sweettracker.apicallexample;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.sweettracker.apicallexample.common.exception.ApiCallExceptionFactory;
+import com.sweettracker.apicallexample.common.exception.NonRetryableApiCallException;
 import com.sweettracker.apicallexample.test_controller.PostTestRequest;
 import java.time.Duration;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpStatusCode;
@@ -17,11 +20,13 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 @SpringBootTest
 public class WebClientTest {
 
+    @Autowired
+    ApiCallExceptionFactory apiCallExceptionFactory;
+
     WebClient webClient = WebClient.builder()
         .baseUrl("http://localhost:8080")
         .defaultHeader("key", "val")
@@ -60,10 +65,7 @@ public class WebClientTest {
                 .uri("/test")
                 .retrieve()
                 // 상태값에 따른 예외 처리
-                .onStatus(HttpStatusCode::isError,
-                    res -> res.bodyToMono(String.class).flatMap(body ->
-                        Mono.error(new RuntimeException(body)))
-                )
+                .onStatus(HttpStatusCode::isError, apiCallExceptionFactory::create)
                 .bodyToMono(String.class)
                 .timeout(Duration.ofSeconds(5))
                 .onErrorMap(TimeoutException.class, ex -> new RuntimeException("TimeOut"))
@@ -115,10 +117,7 @@ public class WebClientTest {
                 .bodyValue(request)
                 .retrieve()
                 // 상태값에 따른 예외 처리
-                .onStatus(HttpStatusCode::isError,
-                    res -> res.bodyToMono(String.class).flatMap(body ->
-                        Mono.error(new RuntimeException(body)))
-                )
+                .onStatus(HttpStatusCode::isError, apiCallExceptionFactory::create)
                 .bodyToMono(String.class)
                 .timeout(Duration.ofSeconds(5))
                 .onErrorMap(TimeoutException.class, ex -> new RuntimeException("TimeOut"))
@@ -173,10 +172,7 @@ public class WebClientTest {
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .body(BodyInserters.fromFormData(formData))
                 .retrieve()
-                .onStatus(HttpStatusCode::isError,
-                    res -> res.bodyToMono(String.class).flatMap(body ->
-                        Mono.error(new RuntimeException(body)))
-                )
+                .onStatus(HttpStatusCode::isError, apiCallExceptionFactory::create)
                 .bodyToMono(String.class)
                 .timeout(Duration.ofSeconds(5))
                 .onErrorMap(TimeoutException.class, ex -> new RuntimeException("TimeOut"))
@@ -229,10 +225,7 @@ public class WebClientTest {
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(BodyInserters.fromMultipartData(formData))
                 .retrieve()
-                .onStatus(HttpStatusCode::isError,
-                    res -> res.bodyToMono(String.class).flatMap(body ->
-                        Mono.error(new RuntimeException(body)))
-                )
+                .onStatus(HttpStatusCode::isError, apiCallExceptionFactory::create)
                 .bodyToMono(String.class)
                 .timeout(Duration.ofSeconds(5))
                 .onErrorMap(TimeoutException.class, ex -> new RuntimeException("TimeOut"))
@@ -242,4 +235,47 @@ public class WebClientTest {
             assertThat(exception.getMessage()).contains("사용자 이름은 필수값 입니다.");
         }
     }
+
+
+    // HttpInterfaceConfig 의 testWebClient 빈 (캐시, 재시도, hedging, 동시 호출 제한, 압축, 로그, metrics filter 와 에러 변환 포함)
+    @Nested
+    @DisplayName("testWebClient 빈을 통한 API 호출 테스트")
+    class Describe_testWebClient {
+
+        @Autowired
+        WebClient testWebClient;
+
+        @Test
+        @DisplayName("[success] filter chain 을 거쳐 body 값을 응답하는지 확인한다.")
+        void success() {
+            // when
+            String response = testWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/test")
+                    .queryParam("username", "12345")
+                    .build())
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+
+            // then
+            assertThat(response).isEqualTo("hello 12345");
+        }
+
+        @Test
+        @DisplayName("[error] 4xx 응답은 재시도하지 않고 NonRetryableApiCallException 으로 변환하는지 확인한다.")
+        void error() {
+            // when
+            NonRetryableApiCallException exception = assertThrows(NonRetryableApiCallException.class, () ->
+                testWebClient.get()
+                    .uri("/test")
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block());
+
+            // then
+            assertThat(exception.getStatus()).isEqualTo(400);
+            assertThat(exception.getBodyExcerpt()).isEqualTo("사용자 이름은 필수값 입니다.");
+        }
+    }
 }